@@ -0,0 +1,75 @@
+package com.juandidev.barberiaback.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Lanza los benchmarks JMH y deja el resultado en JSON en {@code target/jmh/<commit>.json} para
+ * poder comparar ejecuciones entre commits.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec                       # todos
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.include=Jwt     # solo los que casen con la regex
+ * </pre>
+ *
+ * El commit se toma de {@code -Djmh.commit} (CI) o de {@code git rev-parse --short HEAD}; si el
+ * árbol tiene cambios sin confirmar se añade el sufijo {@code -dirty}.
+ */
+public final class JmhRunner {
+
+    private JmhRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String commit = System.getProperty("jmh.commit", gitCommit());
+        Path output = Path.of(System.getProperty("jmh.output-dir", "target/jmh")).resolve(commit + ".json");
+        Files.createDirectories(output.getParent());
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .resultFormat(ResultFormatType.JSON)
+                .result(output.toString());
+        if (args.length == 0) {
+            options.include(".*");
+        }
+        for (String include : args) {
+            options.include(include);
+        }
+
+        new Runner(options.build()).run();
+        System.out.println("Resultados JMH en " + output.toAbsolutePath());
+    }
+
+    private static String gitCommit() {
+        String commit = git("rev-parse", "--short", "HEAD");
+        if (commit.isEmpty()) {
+            return "unknown";
+        }
+        return git("status", "--porcelain").isEmpty() ? commit : commit + "-dirty";
+    }
+
+    private static String git(String... args) {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            try (InputStream output = process.getInputStream()) {
+                String result = new String(output.readAllBytes(), StandardCharsets.UTF_8).trim();
+                return process.waitFor() == 0 ? result : "";
+            }
+        } catch (IOException e) {
+            return "";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.juandidev.barberiaback.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de la respuesta de disponibilidad. El ObjectMapper se construye con
+ * Jackson2ObjectMapperBuilder, que aplica los mismos módulos y opciones por defecto que Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AvailableSlotSerializationBenchmark {
+
+    // 12 slots: jornada de 12 h con servicios de 60 min; 48: servicios de 15 min; 480: varios días y barberos
+    @Param({"12", "48", "480"})
+    private int slots;
+
+    private ObjectWriter writer;
+    private List<AvailableSlotDto> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, AvailableSlotDto.class));
+
+        LocalDate date = LocalDate.now().plusDays(1);
+        response = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            LocalTime start = LocalTime.of(9, 0).plusMinutes(15L * (i % 48));
+            LocalTime end = start.plusMinutes(15);
+            response.add(AvailableSlotDto.builder()
+                    .startTime(start)
+                    .endTime(end)
+                    .date(date)
+                    .startDateTime(LocalDateTime.of(date, start))
+                    .endDateTime(LocalDateTime.of(date, end))
+                    .durationMinutes(15)
+                    .barberId((long) (i / 48))
+                    .barberName("Barbero " + (i / 48))
+                    .available(true)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,91 @@
+package com.juandidev.barberiaback.service;
+
+import com.juandidev.barberiaback.dto.AppointmentDto;
+import com.juandidev.barberiaback.model.Appointment;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.model.Barber;
+import com.juandidev.barberiaback.model.Service;
+import com.juandidev.barberiaback.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mapeo entidad a DTO de AppointmentService.convertToDto sobre un listado, con las relaciones ya
+ * cargadas (como quedan tras el entity graph de los listados).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AppointmentDtoMappingBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int appointments;
+
+    private AppointmentService appointmentService;
+    private List<Appointment> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // convertToDto no usa colaboradores
+        appointmentService = new AppointmentService(null, null, null, null, null, null, null);
+
+        User barberUser = user(1L, "barbero", User.Role.BARBER);
+        Barber barber = Barber.builder().id(1L).user(barberUser).build();
+        Service service = Service.builder().id(1L).name("Corte clásico").duration(30).price(20.0).build();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+        page = new ArrayList<>(appointments);
+        for (int i = 0; i < appointments; i++) {
+            page.add(Appointment.builder()
+                    .id((long) i)
+                    .client(user(100L + i, "cliente" + i, User.Role.CLIENT))
+                    .barber(barber)
+                    .service(service)
+                    .startTime(start.plusMinutes(30L * i))
+                    .endTime(start.plusMinutes(30L * (i + 1)))
+                    .status(AppointmentStatus.CONFIRMED)
+                    .notes("Sin notas")
+                    .totalPrice(20.0)
+                    .createdAt(start.minusDays(2))
+                    .updatedAt(start.minusDays(1))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<AppointmentDto> convertPage() {
+        return page.stream()
+                .map(appointmentService::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    private static User user(Long id, String username, User.Role role) {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .email(username + "@barberia.com")
+                .firstName("Nombre")
+                .lastName(username)
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.juandidev.barberiaback.service;
+
+import com.juandidev.barberiaback.dto.AppointmentDto;
+import com.juandidev.barberiaback.dto.AvailableSlotDto;
+import com.juandidev.barberiaback.dto.WorkScheduleDto;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.model.DayOfWeek;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación y filtrado de slots de AvailabilityService para una jornada de 9:00 a 21:00.
+ * {@code durationMinutes} fija cuántos slots se generan (48 con 15 min, 12 con 60) y
+ * {@code appointments} cuántas citas se cruzan con cada slot al filtrar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AvailabilitySlotsBenchmark {
+
+    @Param({"15", "30", "60"})
+    private int durationMinutes;
+
+    @Param({"0", "8", "24"})
+    private int appointments;
+
+    private AvailabilityService availabilityService;
+    private WorkScheduleDto workSchedule;
+    private LocalDate date;
+    private List<AvailableSlotDto> potentialSlots;
+    private List<AppointmentDto> existingAppointments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Los métodos medidos no usan colaboradores
+        availabilityService = new AvailabilityService(null, null, null, null);
+        date = LocalDate.now().plusDays(1);
+        workSchedule = WorkScheduleDto.builder()
+                .barberId(1L)
+                .barberFullName("Barbero Benchmark")
+                .dayOfWeek(DayOfWeek.MONDAY)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(21, 0))
+                .active(true)
+                .build();
+
+        // Citas de 15 minutos repartidas por la jornada
+        existingAppointments = new ArrayList<>(appointments);
+        for (int i = 0; i < appointments; i++) {
+            LocalDateTime start = LocalDateTime.of(date, LocalTime.of(9, 0)).plusMinutes(30L * i);
+            existingAppointments.add(AppointmentDto.builder()
+                    .id((long) i)
+                    .barberId(1L)
+                    .startTime(start)
+                    .endTime(start.plusMinutes(15))
+                    .status(AppointmentStatus.CONFIRMED)
+                    .build());
+        }
+
+        potentialSlots = availabilityService.generatePotentialSlots(workSchedule, date, durationMinutes, 1L);
+    }
+
+    @Benchmark
+    public List<AvailableSlotDto> generatePotentialSlots() {
+        return availabilityService.generatePotentialSlots(workSchedule, date, durationMinutes, 1L);
+    }
+
+    @Benchmark
+    public List<AvailableSlotDto> filterAvailableSlots() {
+        return availabilityService.filterAvailableSlots(potentialSlots, existingAppointments);
+    }
+
+    @Benchmark
+    public List<AvailableSlotDto> generateAndFilter() {
+        List<AvailableSlotDto> slots = availabilityService.generatePotentialSlots(workSchedule, date, durationMinutes, 1L);
+        return availabilityService.filterAvailableSlots(slots, existingAppointments);
+    }
+}
@@ -0,0 +1,13 @@
+package com.juandidev.barberiaback.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Los métodos {@code @Async} usan el applicationTaskExecutor de Spring Boot, que pasa a
+ * hilos virtuales con {@code spring.threads.virtual.enabled=true}.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,34 @@
+package com.juandidev.barberiaback.config;
+
+import com.juandidev.barberiaback.datasource.ConnectionConcurrencyGuard;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Envuelve cada pool de Hikari en un {@link ConnectionConcurrencyGuard}. Se activa por defecto
+ * junto con los hilos virtuales (ver application.properties).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.concurrency-guard.enabled", havingValue = "true")
+public class ConnectionGuardConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionConcurrencyGuardPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    log.info("Limitando el acceso concurrente a '{}' a {} conexiones",
+                            beanName, pool.getMaximumPoolSize());
+                    return ConnectionConcurrencyGuard.forPool(pool);
+                }
+                return bean;
+            }
+        };
+    }
+}
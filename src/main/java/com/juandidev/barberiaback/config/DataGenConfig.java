@@ -0,0 +1,47 @@
+package com.juandidev.barberiaback.config;
+
+import com.juandidev.barberiaback.datagen.DataGenProperties;
+import com.juandidev.barberiaback.datagen.DataGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Perfil {@code datagen}: al arrancar vuelca el juego de datos sintético de {@link DataGenerator}
+ * y, salvo {@code app.datagen.exit-when-done=false}, cierra la aplicación. Ver
+ * application-datagen.properties para ejecutarlo.
+ */
+@Slf4j
+@Configuration
+@Profile("datagen")
+@EnableConfigurationProperties(DataGenProperties.class)
+public class DataGenConfig {
+
+    @Bean
+    public DataGenerator dataGenerator(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+                                       DataGenProperties properties) {
+        return new DataGenerator(jdbcTemplate, passwordEncoder, properties);
+    }
+
+    @Bean
+    public CommandLineRunner dataGenRunner(DataGenerator dataGenerator, DataGenProperties properties,
+                                           ConfigurableApplicationContext context) {
+        return args -> {
+            DataGenerator.Result result = dataGenerator.generate();
+            log.info("Datos sintéticos generados en {} s: clientes={} barberos={} servicios={} horarios={} " +
+                            "citas={} ({} citas/s)",
+                    result.elapsed().toSeconds(), result.clients(), result.barbers(), result.services(),
+                    result.schedules(), result.appointments(), Math.round(result.appointmentsPerSecond()));
+            if (properties.isExitWhenDone()) {
+                System.exit(SpringApplication.exit(context, () -> 0));
+            }
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package com.juandidev.barberiaback.config;
+
+import com.juandidev.barberiaback.ratelimit.TokenBucketRegistry;
+import com.juandidev.barberiaback.security.PasswordVerificationExecutor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Expone como métricas el estado interno de los componentes con colas o límites propios.
+ * Hikari, Tomcat, la JVM, las peticiones HTTP y los repositorios los instrumenta Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder passwordVerificationMetrics(PasswordVerificationExecutor executor) {
+        return registry -> {
+            Gauge.builder("barberia.auth.verification.active", executor, PasswordVerificationExecutor::getActiveCount)
+                    .description("Verificaciones BCrypt en curso")
+                    .register(registry);
+            Gauge.builder("barberia.auth.verification.queue", executor, PasswordVerificationExecutor::getQueueDepth)
+                    .description("Verificaciones BCrypt esperando un hilo del pool")
+                    .register(registry);
+            FunctionCounter.builder("barberia.auth.verification.completed", executor,
+                            PasswordVerificationExecutor::getCompletedCount)
+                    .register(registry);
+            FunctionCounter.builder("barberia.auth.verification.rejected", executor,
+                            PasswordVerificationExecutor::getRejectedCount)
+                    .description("Inicios de sesión rechazados con 503 por cola llena")
+                    .register(registry);
+            Gauge.builder("barberia.auth.verification.pool.size", executor, PasswordVerificationExecutor::getPoolSize)
+                    .description("Hilos del pool de verificación BCrypt")
+                    .register(registry);
+            Gauge.builder("barberia.auth.verification.queue.capacity", executor,
+                            PasswordVerificationExecutor::getQueueCapacity)
+                    .description("Verificaciones BCrypt que caben en cola antes de responder 503")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(ObjectProvider<TokenBucketRegistry> tokenBucketRegistry) {
+        return registry -> tokenBucketRegistry.ifAvailable(buckets ->
+                Gauge.builder("barberia.ratelimit.buckets", buckets, TokenBucketRegistry::size)
+                        .description("Claves (usuario o IP) con bucket de peticiones activo")
+                        .register(registry));
+    }
+}
@@ -0,0 +1,101 @@
+package com.juandidev.barberiaback.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.NativeDetector;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Metadatos de alcanzabilidad para la imagen nativa (perfil Maven {@code native}). Spring AOT ya
+ * registra los beans, los tipos de {@code @RequestBody}/respuesta de los controladores y las
+ * entidades gestionadas; aquí se añade lo que no puede deducir:
+ * <ul>
+ *   <li>JJWT 0.11.5 instancia por nombre su builder, su parser y el serializador Jackson;</li>
+ *   <li>DTOs y entidades (con sus enums anidados) completos, también los que solo viajan dentro
+ *   de colecciones o mapas de error;</li>
+ *   <li>Hibernate no puede generar proxies en tiempo de ejecución: el perfil native mejora las
+ *   entidades al compilar (hibernate-enhance-maven-plugin) para que las asociaciones LAZY de
+ *   Appointment se resuelvan sin proxies, y aquí se desactiva el proveedor de bytecode.</li>
+ * </ul>
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.BarberiaRuntimeHints.class)
+public class NativeHintsConfig {
+
+    private static final String BASE_PACKAGE = "com.juandidev.barberiaback";
+
+    @Bean
+    public HibernatePropertiesCustomizer nativeBytecodeProviderCustomizer() {
+        return properties -> {
+            if (NativeDetector.inNativeImage()) {
+                properties.put("hibernate.bytecode.provider", "none");
+            }
+        };
+    }
+
+    static class BarberiaRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final List<String> JJWT_TYPES = List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+            bindingRegistrar.registerReflectionHints(hints.reflection(),
+                    typesIn(BASE_PACKAGE + ".dto", classLoader).toArray(Class<?>[]::new));
+
+            for (Class<?> entity : typesIn(BASE_PACKAGE + ".model", classLoader)) {
+                hints.reflection().registerType(entity,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+        }
+
+        /**
+         * Clases del paquete y sus clases anidadas. Se ejecuta al procesar AOT, en la JVM, así que
+         * el escaneo del classpath no llega a la imagen.
+         */
+        private static List<Class<?>> typesIn(String basePackage, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+
+            List<Class<?>> types = new ArrayList<>();
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader);
+                types.add(type);
+                types.addAll(List.of(type.getDeclaredClasses()));
+            }
+            return types;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.juandidev.barberiaback.config;
+
+import com.juandidev.barberiaback.metrics.QueryCountFilter;
+import com.juandidev.barberiaback.metrics.QueryCountingIntegrator;
+import com.juandidev.barberiaback.metrics.QueryCountingStatementInspector;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Conteo de sentencias, entidades y colecciones por petición (ver QueryCounter y QueryCountFilter).
+ * El filtro va antes de Spring Security para incluir también la carga del usuario autenticado.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-count.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+            properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new QueryCountingIntegrator()));
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.query-count.headers:false}") boolean headers,
+            @Value("${app.query-count.warn-threshold:20}") int warnThreshold,
+            @Value("${app.query-count.streaming-paths:/appointments/export}") List<String> streamingPaths) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(
+                new QueryCountFilter(meterRegistry, headers, warnThreshold, streamingPaths));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,53 @@
+package com.juandidev.barberiaback.config;
+
+import com.juandidev.barberiaback.ratelimit.RateLimitFilter;
+import com.juandidev.barberiaback.ratelimit.RateLimitProperties;
+import com.juandidev.barberiaback.ratelimit.TokenBucketRegistry;
+import com.juandidev.barberiaback.security.JwtUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Limitación de peticiones. El filtro se declara aquí (y no como {@code @Component}) para que
+ * solo exista cuando está habilitado; SecurityConfig lo añade a la cadena de seguridad.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    private final RateLimitProperties properties;
+
+    public RateLimitConfig(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public TokenBucketRegistry tokenBucketRegistry() {
+        return new TokenBucketRegistry(properties.getLockStripes(), properties.getMaxBuckets());
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(JwtUtil jwtUtil) {
+        return new RateLimitFilter(tokenBucketRegistry(), jwtUtil, properties.getPolicies());
+    }
+
+    /**
+     * Evita que Spring Boot registre el filtro también en el contenedor de servlets.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:60000}")
+    public void evictIdleBuckets() {
+        tokenBucketRegistry().evictIdle();
+    }
+}
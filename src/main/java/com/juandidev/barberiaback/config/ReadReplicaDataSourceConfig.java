@@ -0,0 +1,77 @@
+package com.juandidev.barberiaback.config;
+
+import com.juandidev.barberiaback.datasource.ConnectionConcurrencyGuard;
+import com.juandidev.barberiaback.datasource.ReplicaDataSourceProperties;
+import com.juandidev.barberiaback.datasource.ReplicaLagMonitor;
+import com.juandidev.barberiaback.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource con réplicas de lectura. El primario se sigue configurando con spring.datasource.*
+ * y las réplicas con app.datasource.replica.instances[n].*.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                             ReplicaDataSourceProperties properties,
+                                                             @Value("${app.datasource.concurrency-guard.enabled:false}")
+                                                             boolean concurrencyGuard) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaDataSourceProperties.Instance> instances = properties.getInstances();
+
+        for (int i = 0; i < instances.size(); i++) {
+            ReplicaDataSourceProperties.Instance instance = instances.get(i);
+            String key = "replica-" + i;
+
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(key);
+            replica.setJdbcUrl(instance.getUrl());
+            replica.setUsername(instance.getUsername());
+            replica.setPassword(instance.getPassword());
+            replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replicas.put(key, concurrencyGuard ? ConnectionConcurrencyGuard.forPool(replica) : replica);
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               ReplicaDataSourceProperties properties) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, properties.getLagQuery(), properties.getMaxLag());
+    }
+}
@@ -1,6 +1,8 @@
 package com.juandidev.barberiaback.config;
 
+import com.juandidev.barberiaback.ratelimit.RateLimitFilter;
 import com.juandidev.barberiaback.security.JwtAuthenticationFilter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,11 +33,14 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final ObjectProvider<RateLimitFilter> rateLimitFilter;
 
     @Autowired
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, UserDetailsService userDetailsService,
+                          ObjectProvider<RateLimitFilter> rateLimitFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.userDetailsService = userDetailsService;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -47,8 +52,10 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // ✅ CORRECCIÓN: Quitamos el prefijo /api de los endpoints públicos
                         .requestMatchers("/auth/login", "/auth/register").permitAll()
-                        .requestMatchers("/auth/signup", "/auth/signin").permitAll()
+                        .requestMatchers("/auth/signup", "/auth/signin", "/auth/refresh").permitAll()
                         .requestMatchers("/health").permitAll()
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/h2-console/**").permitAll()
 
                         // Endpoints públicos para servicios, barberos y disponibilidad
@@ -76,6 +83,9 @@ public class SecurityConfig {
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
+        // Limitación de peticiones antes de autenticar (ver RateLimitConfig)
+        rateLimitFilter.ifAvailable(filter -> http.addFilterBefore(filter, JwtAuthenticationFilter.class));
+
         return http.build();
     }
 
@@ -0,0 +1,45 @@
+package com.juandidev.barberiaback.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.Filter;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Con {@code spring.main.lazy-initialization=true} (producción) solo se crea al arrancar el camino
+ * de la primera petición: filtros y cadena de seguridad, controladores con sus servicios y
+ * repositorios, DataSource y EntityManagerFactory. Los beans con tareas {@code @Scheduled} también
+ * se crean, porque un bean perezoso nunca registraría sus tareas. El resto (endpoints de Actuator
+ * que no sean health, conversores poco usados, etc.) se crea la primera vez que se pide.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.main.lazy-initialization", havingValue = "true")
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter criticalPathEagerInitialization() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && (
+                Filter.class.isAssignableFrom(beanType)
+                        || SecurityFilterChain.class.isAssignableFrom(beanType)
+                        || DataSource.class.isAssignableFrom(beanType)
+                        || EntityManagerFactory.class.isAssignableFrom(beanType)
+                        || AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+                        || hasScheduledMethods(beanType));
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType,
+                (ReflectionUtils.MethodFilter) method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class))
+                .isEmpty();
+    }
+}
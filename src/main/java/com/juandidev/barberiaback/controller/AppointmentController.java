@@ -18,6 +18,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -40,7 +45,8 @@ public class AppointmentController {
 
     @Operation(
         summary = "Obtener todas las citas",
-        description = "Obtiene la lista completa de citas en el sistema. Solo disponible para administradores y barberos.",
+        description = "Obtiene las citas del sistema paginadas por hora de inicio (page, size; 50 por defecto). " +
+                     "Los administradores ven todas; los barberos, solo las suyas.",
         security = @SecurityRequirement(name = "Bearer Authentication")
     )
     @ApiResponses(value = {
@@ -58,14 +64,17 @@ public class AppointmentController {
         ),
         @ApiResponse(
             responseCode = "403",
-            description = "Acceso denegado - Solo ADMIN y BARBER pueden ver todas las citas"
+            description = "Acceso denegado - Solo ADMIN y BARBER pueden listar citas"
         )
     })
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'BARBER')")
-    public ResponseEntity<List<AppointmentDto>> getAllAppointments() {
-        List<AppointmentDto> appointments = appointmentService.getAllAppointments();
-        return ResponseEntity.ok(appointments);
+    public ResponseEntity<PagedModel<AppointmentDto>> getAllAppointments(
+            @ParameterObject @PageableDefault(size = 50) Pageable pageable) {
+        User currentUser = getCurrentUser();
+        Page<AppointmentDto> appointments = appointmentService.getAllAppointments(
+                currentUser.getId(), currentUser.getRole(), pageable);
+        return ResponseEntity.ok(new PagedModel<>(appointments));
     }
 
     @Operation(
@@ -439,18 +448,64 @@ public class AppointmentController {
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyRole('ADMIN', 'BARBER')")
-    public ResponseEntity<List<AppointmentDto>> getAppointmentsByStatus(@PathVariable AppointmentStatus status) {
-        List<AppointmentDto> appointments = appointmentService.getAppointmentsByStatus(status);
-        return ResponseEntity.ok(appointments);
+    public ResponseEntity<PagedModel<AppointmentDto>> getAppointmentsByStatus(
+            @PathVariable AppointmentStatus status,
+            @ParameterObject @PageableDefault(size = 50) Pageable pageable) {
+        User currentUser = getCurrentUser();
+        Page<AppointmentDto> appointments = appointmentService.getAppointmentsByStatus(
+                status, currentUser.getId(), currentUser.getRole(), pageable);
+        return ResponseEntity.ok(new PagedModel<>(appointments));
     }
 
     @GetMapping("/date-range")
     @PreAuthorize("hasAnyRole('ADMIN', 'BARBER')")
-    public ResponseEntity<List<AppointmentDto>> getAppointmentsByDateRange(
+    public ResponseEntity<PagedModel<AppointmentDto>> getAppointmentsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<AppointmentDto> appointments = appointmentService.getAppointmentsByDateRange(startDate, endDate);
-        return ResponseEntity.ok(appointments);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @ParameterObject @PageableDefault(size = 50) Pageable pageable) {
+        User currentUser = getCurrentUser();
+        Page<AppointmentDto> appointments = appointmentService.getAppointmentsByDateRange(
+                startDate, endDate, currentUser.getId(), currentUser.getRole(), pageable);
+        return ResponseEntity.ok(new PagedModel<>(appointments));
+    }
+
+    @Operation(
+        summary = "Obtener citas archivadas",
+        description = "Obtiene las citas de meses ya archivados entre dos fechas, paginadas por hora de inicio " +
+                     "(page, size; 50 por defecto). Los clientes ven sus propias citas, los barberos las asignadas " +
+                     "a ellos y los administradores todas.",
+        security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de citas archivadas obtenida exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = AppointmentDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Rango de fechas inválido"
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Token JWT inválido o expirado"
+        )
+    })
+    @GetMapping("/history")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CLIENT', 'BARBER')")
+    public ResponseEntity<PagedModel<AppointmentDto>> getArchivedAppointments(
+            @Parameter(description = "Inicio del rango (ISO 8601)", example = "2024-01-01T00:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Fin del rango (ISO 8601)", example = "2024-01-31T23:59:59")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @ParameterObject @PageableDefault(size = 50) Pageable pageable) {
+        User currentUser = getCurrentUser();
+        Page<AppointmentDto> appointments = appointmentService.getArchivedAppointmentsForCurrentUser(
+                currentUser.getId(), currentUser.getRole(), startDate, endDate, pageable);
+        return ResponseEntity.ok(new PagedModel<>(appointments));
     }
 
     @GetMapping("/barber/{barberId}/conflicts")
@@ -0,0 +1,77 @@
+package com.juandidev.barberiaback.controller;
+
+import com.juandidev.barberiaback.exception.ExportInterruptedException;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.service.AppointmentExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/appointments/export")
+@RequiredArgsConstructor
+public class AppointmentExportController {
+
+    private static final int GZIP_BUFFER = 64 * 1024;
+
+    private final AppointmentExportService exportService;
+
+    /**
+     * Exporta las citas que empiezan entre from y to (incluidos) en CSV o NDJSON, filtrando
+     * opcionalmente por uno o varios estados. Se escribe directamente en la respuesta según se lee
+     * de la base de datos, comprimido con gzip si el cliente lo acepta.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportAppointments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<AppointmentStatus> status,
+            @RequestParam(defaultValue = "CSV") AppointmentExportService.Format format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        log.info("Solicitud de exportación {} de citas entre {} y {} (estados: {}, gzip: {})",
+                format, from, to, status, gzip);
+
+        try {
+            exportService.export(from, to, status, format, () -> {
+                response.setContentType(format.getContentType());
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(String.format("citas_%s_%s.%s", from, to, format.getExtension()))
+                        .build()
+                        .toString());
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                OutputStream out = response.getOutputStream();
+                if (gzip) {
+                    response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                    // syncFlush para que la línea de error de una exportación fallida llegue al cliente
+                    return new GZIPOutputStream(out, GZIP_BUFFER, true);
+                }
+                return out;
+            });
+        } catch (ExportInterruptedException e) {
+            if (response.isCommitted()) {
+                // Ya salieron cabeceras y filas: la respuesta termina con la línea de error escrita
+                return;
+            }
+            // Nada llegó al cliente todavía: se descarta lo escrito y responde con el error
+            response.reset();
+            throw e;
+        }
+    }
+}
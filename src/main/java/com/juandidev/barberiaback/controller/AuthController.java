@@ -2,6 +2,7 @@ package com.juandidev.barberiaback.controller;
 
 import com.juandidev.barberiaback.dto.JwtAuthenticationResponse;
 import com.juandidev.barberiaback.dto.LoginRequest;
+import com.juandidev.barberiaback.dto.RefreshTokenRequest;
 import com.juandidev.barberiaback.dto.UserCreateRequest;
 import com.juandidev.barberiaback.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,11 +15,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -202,4 +206,61 @@ public class AuthController {
         log.info("Login exitoso para usuario: {}", request.getUsername());
         return ResponseEntity.ok(response);
     }
+
+    @Operation(
+        summary = "Renovar access token",
+        description = "Intercambia un refresh token válido por un access token nuevo y un refresh token " +
+                     "nuevo. El refresh token usado queda invalidado; reutilizarlo revoca toda la sesión."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Token renovado",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = JwtAuthenticationResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Refresh token no válido, caducado o ya utilizado",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Refresh token reutilizado",
+                    value = """
+                        {
+                          "message": "Refresh token ya utilizado",
+                          "status": "error",
+                          "type": "INVALID_REFRESH_TOKEN"
+                        }
+                        """
+                )
+            )
+        )
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtAuthenticationResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @Operation(
+        summary = "Cerrar sesión",
+        description = "Revoca el access token actual y la sesión del refresh token indicado. " +
+                     "Con allSessions=true se revocan todas las sesiones del usuario."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Sesión cerrada"),
+        @ApiResponse(responseCode = "401", description = "No autenticado")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request,
+            @RequestParam(defaultValue = "false") boolean allSessions) {
+
+        String accessToken = authorization.substring("Bearer ".length());
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null, allSessions);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,37 @@
+package com.juandidev.barberiaback.controller;
+
+import com.juandidev.barberiaback.dto.BarberRollupDto;
+import com.juandidev.barberiaback.service.BarberRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final BarberRollupService rollupService;
+
+    /**
+     * Ingresos y ocupación por barbero agregados por día, semana (lunes a domingo) o mes.
+     * Lee solo barber_daily_rollups; sin barberId devuelve todos los barberos.
+     */
+    @GetMapping("/rollups")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BarberRollupDto>> getRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") BarberRollupService.Granularity granularity,
+            @RequestParam(required = false) Long barberId) {
+        log.info("Solicitud de agregados {} entre {} y {} (barbero: {})", granularity, from, to, barberId);
+        return ResponseEntity.ok(rollupService.getRollups(barberId, from, to, granularity));
+    }
+}
@@ -0,0 +1,59 @@
+package com.juandidev.barberiaback.datagen;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tamaño y distribuciones del juego de datos sintético (perfil datagen).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datagen")
+public class DataGenProperties {
+
+    /**
+     * Citas objetivo. El generador calibra la ocupación para acercarse a esta cifra; si no cabe en
+     * las agendas de los barberos se queda en la capacidad máxima y lo avisa en el log.
+     */
+    private long appointments = 10_000_000;
+
+    private int barbers = 1_500;
+
+    private int clients = 500_000;
+
+    private int services = 12;
+
+    /**
+     * Meses de histórico hacia atrás desde hoy y meses de reservas futuras.
+     */
+    private int monthsBack = 24;
+
+    private int monthsAhead = 1;
+
+    /**
+     * Sesgo de popularidad entre barberos (exponente de Zipf): 0 reparte por igual, 1 concentra
+     * mucho la demanda en los primeros.
+     */
+    private double barberPopularitySkew = 0.8;
+
+    private double cancellationRate = 0.12;
+
+    private double noShowRate = 0.03;
+
+    /**
+     * Filas por lote JDBC. En PostgreSQL conviene añadir {@code reWriteBatchedInserts=true} a la URL
+     * para que cada lote viaje como INSERT multi-fila.
+     */
+    private int batchSize = 5_000;
+
+    private long seed = 42;
+
+    /**
+     * Contraseña de todos los usuarios generados (se codifica una sola vez).
+     */
+    private String password = "datagen";
+
+    /**
+     * Cierra la aplicación al terminar; desactivar para inspeccionar los datos con la app levantada.
+     */
+    private boolean exitWhenDone = true;
+}
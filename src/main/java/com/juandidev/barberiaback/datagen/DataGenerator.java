@@ -0,0 +1,410 @@
+package com.juandidev.barberiaback.datagen;
+
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Genera un juego de datos grande y realista directamente con JDBC por lotes: clientes, barberos
+ * con su horario semanal, catálogo de servicios y millones de citas.
+ *
+ * Las citas se producen en orden de start_time, día a día y barbero a barbero, sin solapes en la
+ * agenda de cada barbero, y se escriben en lotes de tamaño fijo: la memoria no depende del número
+ * de filas. La ocupación se calibra antes con una simulación pequeña para acercarse al objetivo
+ * de citas respetando las distribuciones (barberos populares, horas punta, fines de semana,
+ * cancelaciones y no presentados).
+ *
+ * Los IDs continúan a partir del MAX(id) de cada tabla y al terminar las secuencias se
+ * reposicionan por encima, así que puede ejecutarse sobre una base con datos.
+ */
+@Slf4j
+public class DataGenerator {
+
+    private static final int STEP_MINUTES = 15;
+    private static final int SAMPLE_BARBERS = 200;
+    private static final int SAMPLE_DAYS = 28;
+    private static final int ID_ALLOCATION = 50;
+
+    private record CatalogEntry(String name, int minutes, double price, double weight) {
+    }
+
+    private static final List<CatalogEntry> CATALOG = List.of(
+            new CatalogEntry("Corte clásico", 30, 15.0, 30),
+            new CatalogEntry("Corte y barba", 60, 25.0, 20),
+            new CatalogEntry("Arreglo de barba", 30, 10.0, 15),
+            new CatalogEntry("Degradado", 45, 18.0, 15),
+            new CatalogEntry("Afeitado tradicional", 30, 12.0, 8),
+            new CatalogEntry("Corte infantil", 30, 12.0, 6),
+            new CatalogEntry("Tinte", 90, 35.0, 3),
+            new CatalogEntry("Tratamiento capilar", 45, 20.0, 3));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final DataGenProperties properties;
+
+    public DataGenerator(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, DataGenProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.properties = properties;
+    }
+
+    public record Result(long clients, long barbers, long services, long schedules, long appointments,
+                         Duration elapsed) {
+
+        public double appointmentsPerSecond() {
+            return appointments / Math.max(0.001, elapsed.toMillis() / 1000.0);
+        }
+    }
+
+    public Result generate() {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        long firstUserId = maxId("users") + 1;
+        long firstBarberId = maxId("barbers") + 1;
+        long firstServiceId = maxId("services") + 1;
+        long firstScheduleId = maxId("work_schedules") + 1;
+        long firstAppointmentId = maxId("appointments") + 1;
+
+        long clients = insertClients(firstUserId, now);
+        long firstBarberUserId = firstUserId + clients;
+        long barbers = insertBarbers(firstBarberUserId, firstBarberId, random, now);
+        long schedules = insertSchedules(firstBarberUserId, firstScheduleId, now);
+        List<CatalogEntry> services = insertServices(firstServiceId, now);
+
+        long appointments = insertAppointments(firstAppointmentId, firstUserId, firstBarberId, firstServiceId,
+                services, random, now);
+
+        restartSequence("users", firstBarberUserId + barbers - 1);
+        restartSequence("barbers", firstBarberId + barbers - 1);
+        restartSequence("services", firstServiceId + services.size() - 1);
+        restartSequence("work_schedules", firstScheduleId + schedules - 1);
+        restartSequence("appointments", firstAppointmentId + appointments - 1);
+
+        return new Result(clients, barbers, services.size(), schedules, appointments,
+                Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private long insertClients(long firstId, LocalDateTime now) {
+        String password = passwordEncoder.encode(properties.getPassword());
+        BatchInserter inserter = new BatchInserter("users",
+                "INSERT INTO users (id, username, email, password, first_name, last_name, role, is_enabled, " +
+                        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (long id = firstId; id < firstId + properties.getClients(); id++) {
+            inserter.add(id, "dg_client_" + id, "dg_client_" + id + "@datagen.barberia.local", password,
+                    "Cliente", String.valueOf(id), "CLIENT", true, now, now);
+        }
+        return inserter.finish();
+    }
+
+    private long insertBarbers(long firstUserId, long firstBarberId, SplittableRandom random, LocalDateTime now) {
+        String password = passwordEncoder.encode(properties.getPassword());
+        BatchInserter users = new BatchInserter("users",
+                "INSERT INTO users (id, username, email, password, first_name, last_name, role, is_enabled, " +
+                        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < properties.getBarbers(); i++) {
+            long id = firstUserId + i;
+            users.add(id, "dg_barber_" + id, "dg_barber_" + id + "@datagen.barberia.local", password,
+                    "Barbero", String.valueOf(id), "BARBER", true, now, now);
+        }
+        users.finish();
+
+        BatchInserter barbers = new BatchInserter("barbers",
+                "INSERT INTO barbers (id, user_id, specialties, experience_years, phone_number, start_time, " +
+                        "end_time, is_available, is_active, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < properties.getBarbers(); i++) {
+            barbers.add(firstBarberId + i, firstUserId + i, CATALOG.get(i % CATALOG.size()).name(),
+                    1 + random.nextInt(25), String.format("6%08d", i),
+                    LocalTime.of(Distributions.OPENING_HOUR, 0), LocalTime.of(Distributions.CLOSING_HOUR, 0),
+                    true, true, now, now);
+        }
+        return barbers.finish();
+    }
+
+    private long insertSchedules(long firstBarberUserId, long firstId, LocalDateTime now) {
+        BatchInserter inserter = new BatchInserter("work_schedules",
+                "INSERT INTO work_schedules (id, barber_id, day_of_week, start_time, end_time, is_active, " +
+                        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        long id = firstId;
+        for (int i = 0; i < properties.getBarbers(); i++) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                inserter.add(id++, firstBarberUserId + i, day.name(),
+                        LocalTime.of(Distributions.OPENING_HOUR, 0), LocalTime.of(Distributions.CLOSING_HOUR, 0),
+                        true, now, now);
+            }
+        }
+        return inserter.finish();
+    }
+
+    private List<CatalogEntry> insertServices(long firstId, LocalDateTime now) {
+        List<CatalogEntry> services = new ArrayList<>(properties.getServices());
+        BatchInserter inserter = new BatchInserter("services",
+                "INSERT INTO services (id, name, duration, price, description, is_active, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < properties.getServices(); i++) {
+            CatalogEntry base = CATALOG.get(i % CATALOG.size());
+            int variant = i / CATALOG.size();
+            // Las variantes de un mismo servicio son cada vez menos demandadas
+            CatalogEntry service = variant == 0 ? base : new CatalogEntry(base.name() + " " + (variant + 1),
+                    base.minutes(), base.price() + variant, base.weight() / (variant + 1));
+            inserter.add(firstId + i, service.name(), service.minutes(), service.price(), null, true, now, now);
+            services.add(service);
+        }
+        inserter.finish();
+        return services;
+    }
+
+    private long insertAppointments(long firstId, long firstClientId, long firstBarberId, long firstServiceId,
+                                    List<CatalogEntry> services, SplittableRandom random, LocalDateTime now) {
+        double[] popularity = Distributions.barberPopularity(properties.getBarbers(),
+                properties.getBarberPopularitySkew(), random);
+        double[] serviceCumulative = cumulativeWeights(services);
+        LocalDate from = now.toLocalDate().minusMonths(properties.getMonthsBack());
+        LocalDate to = now.toLocalDate().plusMonths(properties.getMonthsAhead());
+        double factor = calibrate(popularity, serviceCumulative, services, from, to);
+        createMonthlyPartitions(YearMonth.from(from), YearMonth.from(to));
+
+        BatchInserter inserter = new BatchInserter("appointments",
+                "INSERT INTO appointments (id, client_id, barber_id, service_id, start_time, end_time, status, " +
+                        "notes, total_price, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        long[] nextId = {firstId};
+
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            double dayWeight = Distributions.dayWeight(day.getDayOfWeek());
+            for (int b = 0; b < popularity.length; b++) {
+                long barberId = firstBarberId + b;
+                LocalDate date = day;
+                simulateDay(factor * popularity[b] * dayWeight, serviceCumulative, services, random,
+                        (start, service) -> {
+                            CatalogEntry entry = services.get(service);
+                            LocalDateTime startTime = date.atTime(start);
+                            LocalDateTime createdAt = startTime.minusHours(1 + random.nextInt(21 * 24));
+                            if (createdAt.isAfter(now)) {
+                                createdAt = now;
+                            }
+                            inserter.add(nextId[0]++,
+                                    firstClientId + Distributions.client(properties.getClients(), random),
+                                    barberId, firstServiceId + service,
+                                    startTime, startTime.plusMinutes(entry.minutes()),
+                                    status(startTime.isBefore(now), random).name(),
+                                    null, entry.price(), createdAt, createdAt);
+                        });
+            }
+        }
+        return inserter.finish();
+    }
+
+    @FunctionalInterface
+    private interface SlotConsumer {
+        void accept(LocalTime start, int service);
+    }
+
+    /**
+     * Recorre la jornada en pasos de 15 minutos; en cada paso libre se reserva con probabilidad
+     * {@code demand} ponderada por la hora y la cita ocupa la agenda durante lo que dura el servicio.
+     */
+    private static int simulateDay(double demand, double[] serviceCumulative, List<CatalogEntry> services,
+                                   SplittableRandom random, SlotConsumer consumer) {
+        int booked = 0;
+        int minute = Distributions.OPENING_HOUR * 60;
+        int closing = Distributions.CLOSING_HOUR * 60;
+        while (minute < closing) {
+            double probability = demand * Distributions.hourWeight(minute / 60);
+            if (random.nextDouble() < probability) {
+                int service = pick(serviceCumulative, random);
+                int minutes = services.get(service).minutes();
+                if (minute + minutes <= closing) {
+                    consumer.accept(LocalTime.of(minute / 60, minute % 60), service);
+                    booked++;
+                    minute += minutes;
+                    continue;
+                }
+            }
+            minute += STEP_MINUTES;
+        }
+        return booked;
+    }
+
+    /**
+     * Busca por bisección el factor de demanda que produce el número de citas objetivo, simulando
+     * una muestra de barberos durante cuatro semanas.
+     */
+    private double calibrate(double[] popularity, double[] serviceCumulative, List<CatalogEntry> services,
+                             LocalDate from, LocalDate to) {
+        long days = Duration.between(from.atStartOfDay(), to.atStartOfDay()).toDays();
+        double target = (double) properties.getAppointments() / (days * popularity.length);
+
+        double saturated = 1_000;
+        double capacity = sampleMean(saturated, popularity, serviceCumulative, services, from);
+        if (target >= capacity) {
+            log.warn("{} citas no caben en {} barberos y {} días (máximo ~{} citas); se genera a plena ocupación",
+                    properties.getAppointments(), popularity.length, days, Math.round(capacity * days * popularity.length));
+            return saturated;
+        }
+
+        double low = 0;
+        double high = saturated;
+        for (int i = 0; i < 40; i++) {
+            double mid = (low + high) / 2;
+            if (sampleMean(mid, popularity, serviceCumulative, services, from) < target) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        log.info("Demanda calibrada: factor {} para {} citas por barbero y día", String.format("%.4f", high),
+                String.format("%.2f", target));
+        return high;
+    }
+
+    private double sampleMean(double factor, double[] popularity, double[] serviceCumulative,
+                              List<CatalogEntry> services, LocalDate from) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() ^ 0x5DEECE66DL);
+        int barbers = Math.min(SAMPLE_BARBERS, popularity.length);
+        long booked = 0;
+        for (int d = 0; d < SAMPLE_DAYS; d++) {
+            double dayWeight = Distributions.dayWeight(from.plusDays(d).getDayOfWeek());
+            for (int s = 0; s < barbers; s++) {
+                double barberWeight = popularity[(int) ((long) s * popularity.length / barbers)];
+                booked += simulateDay(factor * barberWeight * dayWeight, serviceCumulative, services, random,
+                        (start, service) -> { });
+            }
+        }
+        return (double) booked / (SAMPLE_DAYS * barbers);
+    }
+
+    private AppointmentStatus status(boolean past, SplittableRandom random) {
+        double r = random.nextDouble();
+        if (past) {
+            if (r < properties.getNoShowRate()) {
+                return AppointmentStatus.NO_SHOW;
+            }
+            return r < properties.getNoShowRate() + properties.getCancellationRate()
+                    ? AppointmentStatus.CANCELLED : AppointmentStatus.COMPLETED;
+        }
+        if (r < properties.getCancellationRate() / 2) {
+            return AppointmentStatus.CANCELLED;
+        }
+        return r < 0.6 ? AppointmentStatus.CONFIRMED : AppointmentStatus.PENDING;
+    }
+
+    private static double[] cumulativeWeights(List<CatalogEntry> services) {
+        double[] cumulative = new double[services.size()];
+        double total = 0;
+        for (int i = 0; i < services.size(); i++) {
+            total += services.get(i).weight();
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        double r = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < r) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * En PostgreSQL appointments está particionada por mes (V4__partition_appointments.sql) y solo
+     * existen las particiones de los meses recientes: sin crear antes las del histórico, todas esas
+     * citas acabarían en appointments_default y el mantenimiento nunca las archivaría.
+     */
+    private void createMonthlyPartitions(YearMonth first, YearMonth last) {
+        Boolean postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        if (!Boolean.TRUE.equals(postgres)) {
+            return;
+        }
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            String partition = jdbcTemplate.queryForObject(
+                    "SELECT create_appointment_partition(?)", String.class, month.atDay(1));
+            log.debug("Partición de citas disponible: {}", partition);
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    /**
+     * Deja la secuencia (allocationSize 50, optimizador pooled) de forma que el primer bloque que
+     * reserve Hibernate empiece por encima de las filas generadas.
+     */
+    private void restartSequence(String table, long lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (lastId + ID_ALLOCATION));
+    }
+
+    /**
+     * Acumula filas y las envía en lotes de {@code batchSize}; el buffer se reutiliza.
+     */
+    private final class BatchInserter {
+
+        private static final long PROGRESS_EVERY = 1_000_000;
+
+        private final String table;
+        private final String sql;
+        private final List<Object[]> buffer;
+        private final long started = System.nanoTime();
+        private long rows;
+
+        BatchInserter(String table, String sql) {
+            this.table = table;
+            this.sql = sql;
+            this.buffer = new ArrayList<>(properties.getBatchSize());
+        }
+
+        void add(Object... row) {
+            buffer.add(row);
+            if (buffer.size() == properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        long finish() {
+            flush();
+            log.info("{}: {} filas en {} s", table, rows, Duration.ofNanos(System.nanoTime() - started).toSeconds());
+            return rows;
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(sql, buffer);
+            long before = rows;
+            rows += buffer.size();
+            buffer.clear();
+            if (rows / PROGRESS_EVERY != before / PROGRESS_EVERY) {
+                double seconds = Math.max(0.001, (System.nanoTime() - started) / 1e9);
+                log.info("{}: {} filas ({} filas/s)", table, rows, Math.round(rows / seconds));
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.juandidev.barberiaback.datagen;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Distribuciones del juego de datos: popularidad de barberos (Zipf), demanda por hora y día de la
+ * semana y fidelidad de clientes. Todo ocupa memoria proporcional al número de barberos, no al de
+ * citas.
+ */
+final class Distributions {
+
+    /**
+     * Demanda relativa por hora de 9 a 20: pico a media mañana y otro más alto al salir del trabajo.
+     */
+    private static final double[] HOUR_WEIGHTS = {0.6, 0.8, 1.0, 1.1, 0.9, 0.7, 0.8, 1.0, 1.3, 1.5, 1.4, 0.9};
+
+    /**
+     * Demanda relativa de lunes a domingo: viernes y sábado llenos, domingo casi vacío.
+     */
+    private static final double[] DAY_WEIGHTS = {0.7, 0.8, 0.9, 1.0, 1.3, 1.5, 0.4};
+
+    static final int OPENING_HOUR = 9;
+    static final int CLOSING_HOUR = 21;
+
+    private Distributions() {
+    }
+
+    static double hourWeight(int hour) {
+        return HOUR_WEIGHTS[hour - OPENING_HOUR];
+    }
+
+    static double dayWeight(DayOfWeek day) {
+        return DAY_WEIGHTS[day.getValue() - 1];
+    }
+
+    /**
+     * Peso de cada barbero según su rango de popularidad (Zipf), normalizado a media 1 y barajado
+     * para que la popularidad no dependa del orden de inserción.
+     */
+    static double[] barberPopularity(int barbers, double skew, SplittableRandom random) {
+        double[] weights = new double[barbers];
+        for (int rank = 0; rank < barbers; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1, skew);
+        }
+        double mean = Arrays.stream(weights).average().orElse(1);
+        for (int i = 0; i < barbers; i++) {
+            weights[i] /= mean;
+        }
+        for (int i = barbers - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            double swap = weights[i];
+            weights[i] = weights[j];
+            weights[j] = swap;
+        }
+        return weights;
+    }
+
+    /**
+     * Índice de cliente sesgado hacia los primeros: una parte pequeña de clientes habituales
+     * concentra muchas citas y la mayoría viene pocas veces.
+     */
+    static int client(int clients, SplittableRandom random) {
+        double r = random.nextDouble();
+        return (int) (clients * r * r * r);
+    }
+}
@@ -0,0 +1,43 @@
+package com.juandidev.barberiaback.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+
+    private List<Instance> instances = new ArrayList<>();
+
+    private int maximumPoolSize = 10;
+
+    /**
+     * Retraso máximo tolerado antes de sacar una réplica del enrutamiento.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Tiempo durante el que un usuario que acaba de escribir lee del primario.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Consulta que devuelve el retraso en segundos. Un primario sin escrituras recientes
+     * no debe contar como retraso, por eso se compara primero la posición del WAL.
+     */
+    private String lagQuery = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    @Data
+    public static class Instance {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,52 @@
+package com.juandidev.barberiaback.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Mide periódicamente el retraso de replicación de cada réplica y la excluye del enrutamiento
+ * mientras supere el máximo permitido (o no responda).
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, String lagQuery, Duration maxLag) {
+        this.routingDataSource = routingDataSource;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:5000}")
+    public void checkReplicas() {
+        for (Map.Entry<String, DataSource> replica : routingDataSource.getReplicas().entrySet()) {
+            checkReplica(replica.getKey(), replica.getValue());
+        }
+        routingDataSource.evictExpiredWriters();
+    }
+
+    private void checkReplica(String key, DataSource dataSource) {
+        try {
+            Double lagSeconds = new JdbcTemplate(dataSource).queryForObject(lagQuery, Double.class);
+
+            if (lagSeconds != null && lagSeconds > maxLagSeconds) {
+                log.warn("Réplica {} con retraso de {} s (máximo {} s)", key, lagSeconds, maxLagSeconds);
+                routingDataSource.markReplicaUnhealthy(key);
+            } else {
+                routingDataSource.markReplicaHealthy(key);
+            }
+        } catch (DataAccessException e) {
+            log.warn("No se pudo medir el retraso de la réplica {}: {}", key, e.getMessage());
+            routingDataSource.markReplicaUnhealthy(key);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.juandidev.barberiaback.datasource;
+
+import com.juandidev.barberiaback.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enruta las transacciones {@code @Transactional(readOnly = true)} a las réplicas y todo lo demás al primario.
+ *
+ * Debe envolverse en un {@code LazyConnectionDataSourceProxy}: la marca de solo lectura se publica
+ * después de que el gestor de transacciones pide la conexión, así que la decisión se aplaza hasta
+ * la primera sentencia.
+ *
+ * Lectura de lo propio: tras una transacción de escritura de un usuario autenticado, sus lecturas
+ * van al primario durante una ventana configurable, de modo que no vea datos anteriores a su cambio.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<String> replicaKeys;
+    private final Map<String, DataSource> replicas;
+    private final Set<String> unhealthyReplicas = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Long> recentWriters = new ConcurrentHashMap<>();
+    private final long readYourWritesWindowNanos;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = Map.copyOf(replicas);
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+
+        Long userId = currentUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null) {
+                recentWriters.put(userId, System.nanoTime());
+            }
+            return PRIMARY;
+        }
+
+        if (userId != null && wroteRecently(userId)) {
+            return PRIMARY;
+        }
+
+        return nextHealthyReplica();
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public void markReplicaHealthy(String key) {
+        if (unhealthyReplicas.remove(key)) {
+            log.info("Réplica {} vuelve a recibir lecturas", key);
+        }
+    }
+
+    public void markReplicaUnhealthy(String key) {
+        if (unhealthyReplicas.add(key)) {
+            log.warn("Réplica {} excluida del enrutamiento de lecturas", key);
+        }
+    }
+
+    /**
+     * Elimina los usuarios cuya ventana de lectura de lo propio ya expiró.
+     */
+    public void evictExpiredWriters() {
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(writtenAt -> now - writtenAt > readYourWritesWindowNanos);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof DelegatingDataSource delegating) {
+                replica = delegating.getTargetDataSource();
+            }
+            if (replica instanceof AutoCloseable closeable && replica != primary) {
+                closeable.close();
+            }
+        }
+    }
+
+    private boolean wroteRecently(Long userId) {
+        Long writtenAt = recentWriters.get(userId);
+        return writtenAt != null && System.nanoTime() - writtenAt <= readYourWritesWindowNanos;
+    }
+
+    private Object nextHealthyReplica() {
+        List<String> healthy = new ArrayList<>(replicaKeys.size());
+        for (String key : replicaKeys) {
+            if (!unhealthyReplicas.contains(key)) {
+                healthy.add(key);
+            }
+        }
+
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+
+        int index = Math.floorMod(nextReplica.getAndIncrement(), healthy.size());
+        return healthy.get(index);
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.juandidev.barberiaback.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BarberRollupDto {
+
+    private Long barberId;
+
+    private LocalDate periodStart;
+
+    private LocalDate periodEnd;
+
+    private Integer completedCount;
+
+    private Integer cancelledCount;
+
+    private Integer noShowCount;
+
+    private Double revenue;
+
+    private Integer completedMinutes;
+
+    private Integer capacityMinutes;
+
+    // Minutos completados / minutos de horario; null si el barbero no tenía horario en el periodo
+    private Double utilization;
+}
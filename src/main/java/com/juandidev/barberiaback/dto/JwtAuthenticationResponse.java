@@ -18,6 +18,10 @@ public class JwtAuthenticationResponse {
             example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
     private String token;
     
+    @Schema(description = "Refresh token opaco para obtener un nuevo access token en /auth/refresh",
+            example = "q3Zt0m9c2r0Jw5fK1yQ8b3vX6nL4pS7d0eH2uA9kT1E")
+    private String refreshToken;
+
     @Builder.Default
     @Schema(description = "Tipo de token", example = "Bearer", defaultValue = "Bearer")
     private String type = "Bearer";
@@ -42,7 +46,7 @@ public class JwtAuthenticationResponse {
     private String message;
     
     @Schema(description = "Tiempo de expiración del token en milisegundos", 
-            example = "86400000")
+            example = "900000")
     private Long expiresIn;
 
     public JwtAuthenticationResponse(String token, String username, String email, 
@@ -0,0 +1,18 @@
+package com.juandidev.barberiaback.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Refresh token obtenido en el login o en el último refresco")
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "El refresh token es obligatorio")
+    @Schema(description = "Refresh token opaco", example = "q3Zt0m9c2r0Jw5fK1yQ8b3vX6nL4pS7d0eH2uA9kT1E")
+    private String refreshToken;
+}
@@ -0,0 +1,19 @@
+package com.juandidev.barberiaback.exception;
+
+/**
+ * Una exportación falló después de empezar a escribir la respuesta. El fichero quedó marcado como
+ * incompleto y sin cerrar, así que no puede confundirse con una exportación terminada.
+ */
+public class ExportInterruptedException extends RuntimeException {
+
+    private final long exportedRows;
+
+    public ExportInterruptedException(long exportedRows, Throwable cause) {
+        super(String.format("La exportación de citas se interrumpió tras %d filas", exportedRows), cause);
+        this.exportedRows = exportedRows;
+    }
+
+    public long getExportedRows() {
+        return exportedRows;
+    }
+}
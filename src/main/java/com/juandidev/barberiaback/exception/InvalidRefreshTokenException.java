@@ -0,0 +1,8 @@
+package com.juandidev.barberiaback.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,61 @@
+package com.juandidev.barberiaback.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.time.LocalDate;
+
+/**
+ * Cálculo de slots disponibles de un barbero para una fecha.
+ */
+@Name(AvailabilityEvent.NAME)
+@Label("Cálculo de disponibilidad")
+@Category({"Barberia", "Disponibilidad"})
+@Description("Generación y filtrado de slots de AvailabilityService.getAvailableTimeSlots")
+@StackTrace(false)
+@Threshold("20 ms")
+public class AvailabilityEvent extends Event {
+
+    public static final String NAME = "barberia.Availability";
+
+    @Label("Barbero")
+    private long barberId;
+
+    @Label("Fecha")
+    private String date;
+
+    @Label("Duración (min)")
+    private int durationMinutes;
+
+    @Label("Slots generados")
+    private int slotsGenerated;
+
+    @Label("Slots devueltos")
+    private int slotsReturned;
+
+    @Label("Citas comparadas")
+    private int appointmentsScanned;
+
+    public static AvailabilityEvent start(Long barberId, LocalDate date, Integer durationMinutes) {
+        AvailabilityEvent event = new AvailabilityEvent();
+        event.barberId = barberId != null ? barberId : 0;
+        if (event.isEnabled()) {
+            event.date = String.valueOf(date);
+        }
+        event.durationMinutes = durationMinutes != null ? durationMinutes : 0;
+        event.begin();
+        return event;
+    }
+
+    public void finish(int generated, int returned, int scanned) {
+        this.slotsGenerated = generated;
+        this.slotsReturned = returned;
+        this.appointmentsScanned = scanned;
+        commit();
+    }
+}
@@ -0,0 +1,46 @@
+package com.juandidev.barberiaback.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Creación completa de una cita, con su resultado. Las etapas se registran aparte como
+ * {@link BookingStageEvent} en el mismo hilo, así que en JMC se ven anidadas bajo este evento.
+ */
+@Name(BookingEvent.NAME)
+@Label("Reserva")
+@Category({"Barberia", "Reservas"})
+@Description("Creación de una cita de principio a fin (sin el commit de la transacción)")
+@StackTrace(false)
+@Threshold("50 ms")
+public class BookingEvent extends Event {
+
+    public static final String NAME = "barberia.Booking";
+
+    @Label("Barbero")
+    private long barberId;
+
+    @Label("Cliente")
+    private long clientId;
+
+    @Label("Resultado")
+    private String outcome;
+
+    public static BookingEvent start(Long barberId, Long clientId) {
+        BookingEvent event = new BookingEvent();
+        event.barberId = barberId != null ? barberId : 0;
+        event.clientId = clientId != null ? clientId : 0;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String outcome) {
+        this.outcome = outcome;
+        commit();
+    }
+}
@@ -0,0 +1,46 @@
+package com.juandidev.barberiaback.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Una etapa de AppointmentService.createAppointment. Si la etapa lanza una excepción el evento
+ * no se confirma; el resultado queda en el {@link BookingEvent} que la envuelve.
+ */
+@Name(BookingStageEvent.NAME)
+@Label("Etapa de reserva")
+@Category({"Barberia", "Reservas"})
+@Description("Duración de cada etapa de la creación de una cita")
+@StackTrace(false)
+@Threshold("10 ms")
+public class BookingStageEvent extends Event {
+
+    public static final String NAME = "barberia.BookingStage";
+
+    public static final String VALIDATION = "validation";
+    public static final String CLIENT_LOOKUP = "client-lookup";
+    public static final String BARBER_LOOKUP = "barber-lookup";
+    public static final String SERVICE_LOOKUP = "service-lookup";
+    public static final String CONFLICT_CHECK = "conflict-check";
+    public static final String WORKING_HOURS = "working-hours";
+    public static final String INSERT = "insert";
+
+    @Label("Etapa")
+    private String stage;
+
+    @Label("Barbero")
+    private long barberId;
+
+    public static BookingStageEvent start(String stage, Long barberId) {
+        BookingStageEvent event = new BookingStageEvent();
+        event.stage = stage;
+        event.barberId = barberId != null ? barberId : 0;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,47 @@
+package com.juandidev.barberiaback.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Procesado del access token en JwtAuthenticationFilter: firma, resolución del usuario y
+ * comprobación de revocación.
+ */
+@Name(JwtAuthenticationEvent.NAME)
+@Label("Autenticación JWT")
+@Category({"Barberia", "Seguridad"})
+@Description("Procesado del header Authorization de una petición")
+@StackTrace(false)
+@Threshold("5 ms")
+public class JwtAuthenticationEvent extends Event {
+
+    public static final String NAME = "barberia.JwtAuthentication";
+
+    @Label("Origen del usuario")
+    @Description("claims (sin consulta) o database (tokens sin uid/role)")
+    private String principalSource;
+
+    @Label("Resultado")
+    @Description("authenticated, revoked, invalid, skipped (ya autenticado) o error")
+    private String result;
+
+    public static JwtAuthenticationEvent start() {
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        return event;
+    }
+
+    public void setPrincipalSource(String principalSource) {
+        this.principalSource = principalSource;
+    }
+
+    public void finish(String result) {
+        this.result = result;
+        commit();
+    }
+}
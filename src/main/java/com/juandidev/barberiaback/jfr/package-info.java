@@ -0,0 +1,39 @@
+/**
+ * Eventos propios de Java Flight Recorder para las rutas calientes: reserva completa
+ * ({@code barberia.Booking}), cada etapa de la reserva ({@code barberia.BookingStage}), cálculo de
+ * disponibilidad ({@code barberia.Availability}) y autenticación JWT
+ * ({@code barberia.JwtAuthentication}).
+ *
+ * <p>Sin una grabación activa los eventos no cuestan nada: {@code begin()} y {@code commit()}
+ * se reducen a comprobar un flag que el JIT elimina. Con grabación, cada evento solo se
+ * escribe si supera su umbral ({@code @Threshold}) y ninguno captura la pila.
+ *
+ * <h2>Capturar una grabación en un nodo vivo</h2>
+ *
+ * <pre>
+ * # PID de la aplicación
+ * jcmd -l | grep barberia
+ *
+ * # Grabación de 2 minutos con el perfil estándar de la JVM más los eventos de la aplicación.
+ * # barberia.jfc baja los umbrales a 0 ms para registrar todas las reservas y etapas
+ * # (copiarlo antes desde src/main/resources/jfr/ al nodo).
+ * jcmd &lt;pid&gt; JFR.start name=reservas settings=default,/opt/barberia/barberia.jfc \
+ *      duration=2m filename=/tmp/reservas.jfr
+ *
+ * # Grabación continua y acotada para volcarla solo cuando aparezca el problema
+ * jcmd &lt;pid&gt; JFR.start name=continua settings=default maxage=15m maxsize=200m disk=true
+ * jcmd &lt;pid&gt; JFR.dump name=continua filename=/tmp/continua.jfr
+ * jcmd &lt;pid&gt; JFR.stop name=continua
+ *
+ * # Análisis rápido sin JMC
+ * jfr summary /tmp/reservas.jfr
+ * jfr print --events barberia.BookingStage /tmp/reservas.jfr
+ * jfr print --events barberia.Booking,barberia.Availability --json /tmp/reservas.jfr
+ * </pre>
+ *
+ * <p>Con {@code settings=default} solo se registran los eventos por encima de su umbral
+ * anotado (reservas de más de 50 ms, etapas de más de 10 ms, etc.), suficiente para dejar una
+ * grabación continua en producción. Para abrir las grabaciones con detalle: JDK Mission
+ * Control, pestaña "Event Browser", categoría "Barberia".
+ */
+package com.juandidev.barberiaback.jfr;
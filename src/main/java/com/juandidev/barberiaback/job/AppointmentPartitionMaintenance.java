@@ -0,0 +1,89 @@
+package com.juandidev.barberiaback.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Mantenimiento de las particiones mensuales de appointments (PostgreSQL, ver V4__partition_appointments.sql):
+ * crea por adelantado las particiones de los próximos meses y archiva en appointments_history
+ * las que superan el periodo de retención, de modo que los índices calientes solo cubren meses recientes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "appointments.partitioning.enabled", havingValue = "true")
+public class AppointmentPartitionMaintenance {
+
+    private static final String PARTITION_PREFIX = "appointments_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${appointments.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${appointments.partitioning.retention-months:12}")
+    private int retentionMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${appointments.partitioning.cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        YearMonth currentMonth = YearMonth.now();
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate month = currentMonth.plusMonths(i).atDay(1);
+            String partition = jdbcTemplate.queryForObject(
+                    "SELECT create_appointment_partition(?)", String.class, month);
+            log.debug("Partición de citas disponible: {}", partition);
+        }
+
+        YearMonth oldestRetained = currentMonth.minusMonths(retentionMonths);
+        for (YearMonth month : findAttachedPartitionMonths()) {
+            if (month.isBefore(oldestRetained)) {
+                Long archivedRows = jdbcTemplate.queryForObject(
+                        "SELECT archive_appointment_partition(?)", Long.class, month.atDay(1));
+                log.info("Partición de citas {} archivada en el histórico con {} filas", month, archivedRows);
+            }
+        }
+    }
+
+    private List<YearMonth> findAttachedPartitionMonths() {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'appointments'", String.class);
+
+        return partitions.stream()
+                .filter(name -> name.startsWith(PARTITION_PREFIX))
+                .map(name -> name.substring(PARTITION_PREFIX.length()))
+                .map(this::parseMonth)
+                .filter(month -> month != null)
+                .toList();
+    }
+
+    private YearMonth parseMonth(String suffix) {
+        try {
+            return YearMonth.parse(suffix, PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null; // appointments_default u otras tablas hijas
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.juandidev.barberiaback.job;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Citas que un proceso por lotes sacó de los estados que bloquean agenda, ya confirmado en la base
+ * de datos. Quien guarde estado derivado de la disponibilidad debe recalcular esos días.
+ *
+ * @param datesByBarber días afectados por ID de barbero (entidad Barber, no su usuario)
+ */
+public record AppointmentsReleasedEvent(Map<Long, Set<LocalDate>> datesByBarber, int appointments) {
+}
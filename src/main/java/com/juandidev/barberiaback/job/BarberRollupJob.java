@@ -0,0 +1,125 @@
+package com.juandidev.barberiaback.job;
+
+import com.juandidev.barberiaback.repository.AppointmentRepository;
+import com.juandidev.barberiaback.repository.BarberRepository;
+import com.juandidev.barberiaback.service.BarberRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Completa barber_daily_rollups fuera de los cambios de estado:
+ * <ul>
+ *   <li>cada noche recalcula el día anterior de todos los barberos, también los que no tuvieron
+ *   citas, para que el panel tenga su capacidad y la ocupación no salga inflada;</li>
+ *   <li>con {@code barber-rollups.backfill-on-startup} rellena el histórico desde
+ *   {@code barber-rollups.backfill-from} (o la primera cita) hasta ayer, en segundo plano.</li>
+ * </ul>
+ * Cada día va en su propia transacción. El histórico usa el horario actual de cada barbero como
+ * capacidad, y los meses ya archivados en appointments_history no se recalculan.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "barber-rollups.enabled", havingValue = "true", matchIfMissing = true)
+public class BarberRollupJob {
+
+    private static final String TASK_NAME = "barber-rollups";
+
+    private final BarberRollupService rollupService;
+    private final AppointmentRepository appointmentRepository;
+    private final BarberRepository barberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLeaderElection leaderElection;
+    private final boolean backfillOnStartup;
+    private final LocalDate backfillFrom;
+
+    public BarberRollupJob(BarberRollupService rollupService,
+                           AppointmentRepository appointmentRepository,
+                           BarberRepository barberRepository,
+                           TransactionTemplate transactionTemplate,
+                           SchedulerLeaderElection leaderElection,
+                           @Value("${barber-rollups.backfill-on-startup:false}") boolean backfillOnStartup,
+                           @Value("${barber-rollups.backfill-from:}") String backfillFrom) {
+        this.rollupService = rollupService;
+        this.appointmentRepository = appointmentRepository;
+        this.barberRepository = barberRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.leaderElection = leaderElection;
+        this.backfillOnStartup = backfillOnStartup;
+        this.backfillFrom = backfillFrom.isBlank() ? null : LocalDate.parse(backfillFrom);
+    }
+
+    @Scheduled(cron = "${barber-rollups.cron:0 15 0 * * *}")
+    public void closePreviousDay() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        leaderElection.runIfLeader(TASK_NAME, () -> refreshDays(yesterday, yesterday));
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (backfillOnStartup) {
+            leaderElection.runIfLeader(TASK_NAME, this::backfill);
+        }
+    }
+
+    /**
+     * Recalcula desde {@code backfill-from} o la primera cita hasta ayer. Nunca empieza antes de la
+     * primera cita que sigue en appointments: los días anteriores están archivados y recalcularlos
+     * dejaría sus agregados a cero.
+     *
+     * @return agregados barbero-día recalculados
+     */
+    public int backfill() {
+        LocalDateTime earliest = appointmentRepository.findEarliestStartTime();
+        if (earliest == null) {
+            return 0;
+        }
+        LocalDate from = earliest.toLocalDate();
+        if (backfillFrom != null && backfillFrom.isAfter(from)) {
+            from = backfillFrom;
+        } else if (backfillFrom != null && backfillFrom.isBefore(from)) {
+            log.info("backfill-from {} es anterior a la primera cita sin archivar; se rellena desde {}", backfillFrom, from);
+        }
+        LocalDate to = LocalDate.now().minusDays(1);
+        log.info("Rellenando agregados diarios de barberos de {} a {}", from, to);
+        int refreshed = refreshDays(from, to);
+        log.info("Relleno de agregados terminado: {} barbero-días", refreshed);
+        return refreshed;
+    }
+
+    /**
+     * Recalcula todos los barberos en cada día de [from, to], un día por transacción.
+     *
+     * @return agregados barbero-día recalculados
+     */
+    public int refreshDays(LocalDate from, LocalDate to) {
+        List<Long> barberIds = barberRepository.findAllIds();
+        if (barberIds.isEmpty()) {
+            return 0;
+        }
+
+        int refreshed = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            List<LocalDate> dates = List.of(day);
+            Map<Long, List<LocalDate>> datesByBarber = barberIds.stream()
+                    .collect(Collectors.toMap(Function.identity(), barberId -> dates));
+            transactionTemplate.executeWithoutResult(status -> rollupService.refresh(datesByBarber));
+            refreshed += barberIds.size();
+        }
+        return refreshed;
+    }
+}
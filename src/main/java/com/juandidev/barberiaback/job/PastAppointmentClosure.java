@@ -0,0 +1,127 @@
+package com.juandidev.barberiaback.job;
+
+import com.juandidev.barberiaback.metrics.BarberiaMetrics;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.repository.AppointmentRepository;
+import com.juandidev.barberiaback.service.BarberRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cierra las citas CONFIRMED que terminaron hace más de {@code grace}: pasan a {@code status}
+ * (COMPLETED por defecto; NO_SHOW en barberías donde el barbero marca a mano las atendidas y lo que
+ * queda sin marcar es una ausencia). Sustituye a llamar a {@code completeAppointment} cita a cita.
+ *
+ * Cada lote lee solo las claves (sin entidades) y las cambia con un UPDATE que vuelve a exigir
+ * CONFIRMED. Puede ejecutarse a la vez en varios nodos: una fila que otro nodo ya cerró no cumple
+ * la condición y no se cuenta dos veces, y si dos lotes chocan por bloqueos la ejecución termina y
+ * la siguiente retoma lo pendiente. En la misma transacción recalcula los agregados diarios de los
+ * barberos y días del lote.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "appointments.closure.enabled", havingValue = "true", matchIfMissing = true)
+public class PastAppointmentClosure {
+
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BarberiaMetrics metrics;
+    private final BarberRollupService rollupService;
+    private final Duration grace;
+    private final AppointmentStatus closedStatus;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public PastAppointmentClosure(AppointmentRepository appointmentRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  BarberiaMetrics metrics,
+                                  BarberRollupService rollupService,
+                                  @Value("${appointments.closure.grace:30m}") Duration grace,
+                                  @Value("${appointments.closure.status:COMPLETED}") AppointmentStatus closedStatus,
+                                  @Value("${appointments.closure.batch-size:1000}") int batchSize,
+                                  @Value("${appointments.closure.max-batches:50}") int maxBatches) {
+        if (closedStatus != AppointmentStatus.COMPLETED && closedStatus != AppointmentStatus.NO_SHOW) {
+            throw new IllegalArgumentException("appointments.closure.status debe ser COMPLETED o NO_SHOW: " + closedStatus);
+        }
+        this.appointmentRepository = appointmentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+        this.rollupService = rollupService;
+        this.grace = grace;
+        this.closedStatus = closedStatus;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${appointments.closure.interval:600000}",
+               initialDelayString = "${appointments.closure.interval:600000}")
+    public void closeEndedAppointments() {
+        closeEnded();
+    }
+
+    /**
+     * Cierra por lotes hasta agotar las candidatas o llegar a {@code max-batches}.
+     *
+     * @return citas cerradas por este nodo
+     */
+    public int closeEnded() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime endedBefore = now.minus(grace);
+
+        int closed = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                Batch result = transactionTemplate.execute(status -> closeBatch(endedBefore, now));
+                if (result == null || result.candidates() == 0) {
+                    break;
+                }
+                closed += result.closed();
+                if (result.candidates() < batchSize) {
+                    break;
+                }
+            }
+        } catch (PessimisticLockingFailureException e) {
+            log.info("Cierre de citas interrumpido por bloqueos con otro nodo: {}", e.getMessage());
+        }
+
+        metrics.recordClosedAppointments(closedStatus, closed);
+        if (closed > 0) {
+            log.info("Cerradas como {} {} citas CONFIRMED terminadas antes de {}", closedStatus, closed, endedBefore);
+        }
+        return closed;
+    }
+
+    private Batch closeBatch(LocalDateTime endedBefore, LocalDateTime now) {
+        List<AppointmentRepository.SlotKey> candidates = appointmentRepository.findEndedByStatus(
+                AppointmentStatus.CONFIRMED, endedBefore, Limit.of(batchSize));
+        if (candidates.isEmpty()) {
+            return new Batch(0, 0);
+        }
+        List<Long> ids = candidates.stream().map(AppointmentRepository.SlotKey::getId).toList();
+        int closed = appointmentRepository.transitionStatus(ids, AppointmentStatus.CONFIRMED, closedStatus, now);
+        if (closed > 0) {
+            Map<Long, Set<LocalDate>> datesByBarber = candidates.stream()
+                    .collect(Collectors.groupingBy(AppointmentRepository.SlotKey::getBarberId,
+                            Collectors.mapping(key -> key.getStartTime().toLocalDate(), Collectors.toSet())));
+            rollupService.refresh(datesByBarber);
+        }
+        return new Batch(ids.size(), closed);
+    }
+
+    private record Batch(int candidates, int closed) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.juandidev.barberiaback.job;
+
+import com.juandidev.barberiaback.metrics.BarberiaMetrics;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.repository.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Expira las citas PENDING que nadie confirmó: las creadas hace más de {@code pending-max-age} y
+ * las que ya empezaron. Mientras siguen PENDING bloquean el hueco en la disponibilidad y en la
+ * comprobación de conflictos.
+ *
+ * Cada lote es una transacción corta (hasta {@code batch-size} filas, sin cargar entidades) y una
+ * ejecución procesa como mucho {@code max-batches} lotes; lo que quede se expira en la siguiente.
+ * Solo la ejecuta el nodo que gana {@link SchedulerLeaderElection}. Tras cada lote se publica un
+ * {@link AppointmentsReleasedEvent} con los días liberados.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "appointments.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class PendingAppointmentExpiry {
+
+    static final String TASK_NAME = "pending-appointment-expiry";
+
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLeaderElection leaderElection;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BarberiaMetrics metrics;
+    private final Duration pendingMaxAge;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public PendingAppointmentExpiry(AppointmentRepository appointmentRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    SchedulerLeaderElection leaderElection,
+                                    ApplicationEventPublisher eventPublisher,
+                                    BarberiaMetrics metrics,
+                                    @Value("${appointments.expiry.pending-max-age:48h}") Duration pendingMaxAge,
+                                    @Value("${appointments.expiry.batch-size:500}") int batchSize,
+                                    @Value("${appointments.expiry.max-batches:100}") int maxBatches) {
+        this.appointmentRepository = appointmentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.leaderElection = leaderElection;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.pendingMaxAge = pendingMaxAge;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${appointments.expiry.interval:300000}",
+               initialDelayString = "${appointments.expiry.interval:300000}")
+    public void expireStalePending() {
+        leaderElection.runIfLeader(TASK_NAME, this::expirePending);
+    }
+
+    /**
+     * Expira por lotes hasta agotar las candidatas o llegar a {@code max-batches}.
+     *
+     * @return citas expiradas
+     */
+    public int expirePending() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime createdBefore = now.minus(pendingMaxAge);
+
+        int expired = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Batch result = transactionTemplate.execute(status -> expireBatch(createdBefore, now));
+            if (result == null || result.candidates() == 0) {
+                break;
+            }
+            expired += result.expired();
+            if (result.expired() > 0) {
+                eventPublisher.publishEvent(new AppointmentsReleasedEvent(result.datesByBarber(), result.expired()));
+            }
+            if (result.candidates() < batchSize) {
+                break;
+            }
+        }
+
+        metrics.recordExpiredAppointments(expired);
+        if (expired > 0) {
+            log.info("Expiradas {} citas PENDING sin confirmar (creadas antes de {} o ya empezadas)",
+                    expired, createdBefore);
+        }
+        return expired;
+    }
+
+    private Batch expireBatch(LocalDateTime createdBefore, LocalDateTime now) {
+        List<AppointmentRepository.SlotKey> candidates = appointmentRepository.findExpirablePending(
+                AppointmentStatus.PENDING, createdBefore, now, Limit.of(batchSize));
+        if (candidates.isEmpty()) {
+            return new Batch(0, 0, Map.of());
+        }
+
+        int expired = appointmentRepository.transitionStatus(
+                candidates.stream().map(AppointmentRepository.SlotKey::getId).toList(),
+                AppointmentStatus.PENDING, AppointmentStatus.EXPIRED, now);
+
+        Map<Long, Set<LocalDate>> datesByBarber = new HashMap<>();
+        for (AppointmentRepository.SlotKey candidate : candidates) {
+            datesByBarber.computeIfAbsent(candidate.getBarberId(), id -> new TreeSet<>())
+                    .add(candidate.getStartTime().toLocalDate());
+        }
+        return new Batch(candidates.size(), expired, datesByBarber);
+    }
+
+    private record Batch(int candidates, int expired, Map<Long, Set<LocalDate>> datesByBarber) {
+    }
+}
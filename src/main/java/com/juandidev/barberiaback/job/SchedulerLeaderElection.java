@@ -0,0 +1,70 @@
+package com.juandidev.barberiaback.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Elección de líder para tareas programadas que no deben ejecutarse a la vez en varios nodos.
+ *
+ * En PostgreSQL cada ejecución intenta tomar un advisory lock de sesión con la clave
+ * {@code hashtext(tarea)} sobre una conexión propia; si otro nodo lo tiene, la ejecución se omite
+ * en este. La tarea usa sus propias conexiones y transacciones, de modo que puede confirmar por
+ * lotes mientras el lock sigue tomado, y este se libera al terminar (o al caerse la conexión).
+ *
+ * Sin {@code app.scheduling.leader-election.enabled} (H2, un solo nodo) la tarea se ejecuta siempre.
+ */
+@Slf4j
+@Component
+public class SchedulerLeaderElection {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public SchedulerLeaderElection(JdbcTemplate jdbcTemplate,
+                                   @Value("${app.scheduling.leader-election.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Ejecuta {@code task} si este nodo consigue el lock de {@code taskName}.
+     *
+     * @return {@code false} si otro nodo la está ejecutando
+     */
+    public boolean runIfLeader(String taskName, Runnable task) {
+        if (!enabled) {
+            task.run();
+            return true;
+        }
+
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!advisoryLock(connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))"), taskName)) {
+                log.debug("Tarea {} en curso en otro nodo; se omite", taskName);
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                advisoryLock(connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))"), taskName);
+            }
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private static boolean advisoryLock(PreparedStatement statement, String taskName) throws SQLException {
+        try (statement) {
+            statement.setString(1, taskName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.juandidev.barberiaback.metrics;
+
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de las rutas calientes: cálculo de disponibilidad, creación de citas, autenticación JWT y
+ * verificación de contraseñas, y de los procesos por lotes que cambian el estado de las citas.
+ *
+ * Los medidores se registran una sola vez al arrancar y las llamadas solo los incrementan. Los
+ * timers publican histogramas de percentiles para poder agregar p50/p99 entre instancias en
+ * Prometheus. Ningún medidor lleva IDs de barbero o cliente como etiqueta.
+ */
+@Component
+public class BarberiaMetrics {
+
+    public enum BookingOutcome {
+        CREATED, CONFLICT, REJECTED
+    }
+
+    private final Timer availabilityTimer;
+    private final DistributionSummary slotsGenerated;
+    private final DistributionSummary slotsReturned;
+    private final DistributionSummary appointmentsScanned;
+
+    private final Map<BookingOutcome, Timer> bookingTimers = new EnumMap<>(BookingOutcome.class);
+
+    private final Timer jwtParseValid;
+    private final Timer jwtParseInvalid;
+    private final Counter principalFromClaims;
+    private final Counter principalFromDatabase;
+    private final Counter revokedTokens;
+
+    private final Timer passwordQueueWait;
+    private final Timer passwordVerification;
+
+    private final Counter expiredAppointments;
+    private final Map<AppointmentStatus, Counter> closedAppointments = new EnumMap<>(AppointmentStatus.class);
+
+    public BarberiaMetrics(MeterRegistry registry) {
+        this.availabilityTimer = Timer.builder("barberia.availability.calculation")
+                .description("Cálculo de slots disponibles de un barbero para una fecha")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.slotsGenerated = DistributionSummary.builder("barberia.availability.slots.generated")
+                .description("Slots potenciales generados a partir del horario de trabajo")
+                .register(registry);
+        this.slotsReturned = DistributionSummary.builder("barberia.availability.slots.returned")
+                .description("Slots libres devueltos tras descartar los ocupados")
+                .register(registry);
+        this.appointmentsScanned = DistributionSummary.builder("barberia.availability.appointments.scanned")
+                .description("Citas existentes comparadas contra los slots potenciales")
+                .register(registry);
+
+        for (BookingOutcome outcome : BookingOutcome.values()) {
+            bookingTimers.put(outcome, Timer.builder("barberia.booking.create")
+                    .description("Creación de citas; outcome=conflict son choques detectados en la validación final")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+
+        this.jwtParseValid = jwtParseTimer(registry, "valid");
+        this.jwtParseInvalid = jwtParseTimer(registry, "invalid");
+        this.principalFromClaims = principalCounter(registry, "claims");
+        this.principalFromDatabase = principalCounter(registry, "database");
+        this.revokedTokens = Counter.builder("barberia.jwt.revoked")
+                .description("Peticiones rechazadas por presentar un access token revocado")
+                .register(registry);
+
+        this.passwordQueueWait = Timer.builder("barberia.auth.verification.queue.wait")
+                .description("Espera de una verificación BCrypt hasta conseguir un hilo del pool")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.passwordVerification = Timer.builder("barberia.auth.verification.duration")
+                .description("Verificación BCrypt de una contraseña, sin la espera en cola")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        this.expiredAppointments = Counter.builder("barberia.appointments.expired")
+                .description("Citas PENDING sin confirmar pasadas a EXPIRED por el proceso periódico")
+                .register(registry);
+        for (AppointmentStatus status : List.of(AppointmentStatus.COMPLETED, AppointmentStatus.NO_SHOW)) {
+            closedAppointments.put(status, Counter.builder("barberia.appointments.closed")
+                    .description("Citas CONFIRMED ya terminadas cerradas por el proceso periódico")
+                    .tag("status", status.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+    }
+
+    public void recordAvailability(long elapsedNanos, int generated, int returned, int scanned) {
+        availabilityTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        slotsGenerated.record(generated);
+        slotsReturned.record(returned);
+        appointmentsScanned.record(scanned);
+    }
+
+    public void recordBooking(BookingOutcome outcome, long elapsedNanos) {
+        bookingTimers.get(outcome).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJwtParse(long elapsedNanos, boolean valid) {
+        (valid ? jwtParseValid : jwtParseInvalid).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param fromClaims {@code true} si el usuario se reconstruyó desde el token sin consultar la base de datos
+     */
+    public void recordPrincipalResolution(boolean fromClaims) {
+        (fromClaims ? principalFromClaims : principalFromDatabase).increment();
+    }
+
+    public void recordRevokedToken() {
+        revokedTokens.increment();
+    }
+
+    public void recordPasswordVerification(long queueWaitNanos, long verificationNanos) {
+        passwordQueueWait.record(queueWaitNanos, TimeUnit.NANOSECONDS);
+        passwordVerification.record(verificationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordExpiredAppointments(int count) {
+        expiredAppointments.increment(count);
+    }
+
+    public void recordClosedAppointments(AppointmentStatus status, int count) {
+        closedAppointments.get(status).increment(count);
+    }
+
+    private static Timer jwtParseTimer(MeterRegistry registry, String result) {
+        return Timer.builder("barberia.jwt.parse")
+                .description("Verificación de firma y lectura de claims del access token")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Counter principalCounter(MeterRegistry registry, String source) {
+        return Counter.builder("barberia.jwt.principal")
+                .description("Resolución del usuario autenticado: desde los claims o con consulta a users")
+                .tag("source", source)
+                .register(registry);
+    }
+}
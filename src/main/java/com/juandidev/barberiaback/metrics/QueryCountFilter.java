@@ -0,0 +1,101 @@
+package com.juandidev.barberiaback.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Mide la actividad de Hibernate de cada petición.
+ *
+ * Siempre la publica como métricas por patrón de URI (barberia.request.statements, etc.) y avisa
+ * en el log cuando una petición supera el umbral de sentencias, síntoma típico de un N+1. Con
+ * {@code headers} activo (desarrollo) la devuelve además en cabeceras X-Query-*; para poder
+ * escribirlas después del controlador la respuesta se almacena en memoria, por eso no se activa
+ * en producción. Las rutas de {@code streamingPaths} (exportaciones) nunca se almacenan: solo
+ * publican métricas.
+ */
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Query-Count";
+    public static final String ENTITIES_HEADER = "X-Query-Entities-Loaded";
+    public static final String COLLECTIONS_HEADER = "X-Query-Collections-Fetched";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean headers;
+    private final int warnThreshold;
+    private final List<String> streamingPaths;
+
+    public QueryCountFilter(MeterRegistry meterRegistry, boolean headers, int warnThreshold,
+                            List<String> streamingPaths) {
+        this.meterRegistry = meterRegistry;
+        this.headers = headers;
+        this.warnThreshold = warnThreshold;
+        this.streamingPaths = List.copyOf(streamingPaths);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        QueryCounter.QueryStats before = QueryCounter.current();
+
+        if (!headers || isStreaming(request)) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                record(request, QueryCounter.current().since(before));
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, cachedResponse);
+        } finally {
+            QueryCounter.QueryStats stats = QueryCounter.current().since(before);
+            cachedResponse.setHeader(STATEMENTS_HEADER, String.valueOf(stats.statements()));
+            cachedResponse.setHeader(ENTITIES_HEADER, String.valueOf(stats.entitiesLoaded()));
+            cachedResponse.setHeader(COLLECTIONS_HEADER, String.valueOf(stats.collectionsFetched()));
+            cachedResponse.copyBodyToResponse();
+            record(request, stats);
+        }
+    }
+
+    private boolean isStreaming(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return streamingPaths.stream().anyMatch(path::startsWith);
+    }
+
+    private void record(HttpServletRequest request, QueryCounter.QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        summary("barberia.request.statements", "Sentencias SQL por petición", uri).record(stats.statements());
+        summary("barberia.request.entities.loaded", "Entidades cargadas por petición", uri).record(stats.entitiesLoaded());
+        summary("barberia.request.collections.fetched", "Colecciones inicializadas por petición", uri)
+                .record(stats.collectionsFetched());
+
+        if (stats.statements() > warnThreshold) {
+            log.warn("Posible N+1 en {} {}: {}", request.getMethod(), uri, stats);
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
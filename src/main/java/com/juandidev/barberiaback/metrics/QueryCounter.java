@@ -0,0 +1,54 @@
+package com.juandidev.barberiaback.metrics;
+
+/**
+ * Contadores por hilo de la actividad de Hibernate: sentencias SQL preparadas, entidades
+ * cargadas y colecciones inicializadas.
+ *
+ * Los contadores son acumulativos y nunca se reinician; quien quiera medir un tramo toma
+ * {@link #current()} al principio y resta al final con {@link QueryStats#since(QueryStats)}.
+ * Así las mediciones anidadas (filtro HTTP y test a la vez) no se pisan. Solo cuentan si
+ * QueryCountConfig ha registrado el inspector y los listeners en Hibernate.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[3]);
+
+    private static final int STATEMENTS = 0;
+    private static final int ENTITIES = 1;
+    private static final int COLLECTIONS = 2;
+
+    private QueryCounter() {
+    }
+
+    public static QueryStats current() {
+        long[] counts = COUNTS.get();
+        return new QueryStats(counts[STATEMENTS], counts[ENTITIES], counts[COLLECTIONS]);
+    }
+
+    static void statementPrepared() {
+        COUNTS.get()[STATEMENTS]++;
+    }
+
+    static void entityLoaded() {
+        COUNTS.get()[ENTITIES]++;
+    }
+
+    static void collectionFetched() {
+        COUNTS.get()[COLLECTIONS]++;
+    }
+
+    public record QueryStats(long statements, long entitiesLoaded, long collectionsFetched) {
+
+        public QueryStats since(QueryStats earlier) {
+            return new QueryStats(statements - earlier.statements,
+                    entitiesLoaded - earlier.entitiesLoaded,
+                    collectionsFetched - earlier.collectionsFetched);
+        }
+
+        @Override
+        public String toString() {
+            return statements + " sentencias, " + entitiesLoaded + " entidades cargadas, "
+                    + collectionsFetched + " colecciones inicializadas";
+        }
+    }
+}
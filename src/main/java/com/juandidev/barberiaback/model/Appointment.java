@@ -14,11 +14,32 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_client_status", columnList = "client_id, status"),
+        @Index(name = "idx_appointments_client_start", columnList = "client_id, start_time"),
+        @Index(name = "idx_appointments_barber_status", columnList = "barber_id, status"),
+        @Index(name = "idx_appointments_barber_start", columnList = "barber_id, start_time"),
+        @Index(name = "idx_appointments_status_start", columnList = "status, start_time"),
+        @Index(name = "idx_appointments_start_time", columnList = "start_time"),
+        @Index(name = "idx_appointments_service", columnList = "service_id")
+})
+@NamedEntityGraph(name = Appointment.WITH_PARTICIPANTS,
+        attributeNodes = {
+                @NamedAttributeNode("client"),
+                @NamedAttributeNode(value = "barber", subgraph = "barber"),
+                @NamedAttributeNode("service")
+        },
+        subgraphs = @NamedSubgraph(name = "barber", attributeNodes = @NamedAttributeNode("user")))
 public class Appointment {
 
+    /**
+     * Cliente, barbero (con su usuario) y servicio: todo lo que necesita AppointmentDto en una sola consulta.
+     */
+    public static final String WITH_PARTICIPANTS = "Appointment.withParticipants";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_seq")
+    @SequenceGenerator(name = "appointments_seq", sequenceName = "appointments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,64 @@
+package com.juandidev.barberiaback.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cita archivada: copia de solo lectura de las particiones mensuales antiguas de appointments.
+ * Guarda solo identificadores (sin relaciones) porque los meses archivados se consultan bajo demanda.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(name = "appointments_history", indexes = {
+        @Index(name = "idx_appointments_history_client_start", columnList = "client_id, start_time"),
+        @Index(name = "idx_appointments_history_barber_start", columnList = "barber_id, start_time")
+})
+public class AppointmentHistory {
+
+    @Id
+    private Long id;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(name = "barber_id", nullable = false)
+    private Long barberId;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private AppointmentStatus status;
+
+    @Column(name = "notes")
+    private String notes;
+
+    @Column(name = "total_price")
+    private Double totalPrice;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -5,7 +5,8 @@ public enum AppointmentStatus {
     CONFIRMED("Confirmada"),
     CANCELLED("Cancelada"),
     COMPLETED("Completada"),
-    NO_SHOW("No se presentó");
+    NO_SHOW("No se presentó"),
+    EXPIRED("Expirada");
 
     private final String displayName;
 
@@ -15,11 +15,14 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "barbers")
+@Table(name = "barbers", indexes = {
+        @Index(name = "idx_barbers_active_available", columnList = "is_active, is_available")
+})
 public class Barber {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "barbers_seq")
+    @SequenceGenerator(name = "barbers_seq", sequenceName = "barbers_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,65 @@
+package com.juandidev.barberiaback.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Agregado de un barbero en un día: citas completadas, canceladas y ausencias, ingresos y minutos
+ * trabajados frente a la capacidad de su horario ese día. Guarda solo identificadores; se recalcula
+ * entero desde appointments cada vez que cambia una cita del día (BarberRollupService).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(BarberDailyRollup.Key.class)
+@Table(name = "barber_daily_rollups", indexes = {
+        @Index(name = "idx_barber_daily_rollups_date", columnList = "rollup_date")
+})
+public class BarberDailyRollup {
+
+    @Id
+    @Column(name = "barber_id")
+    private Long barberId;
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate date;
+
+    @Column(name = "completed_count", nullable = false)
+    private int completedCount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private int cancelledCount;
+
+    @Column(name = "no_show_count", nullable = false)
+    private int noShowCount;
+
+    @Column(name = "revenue", nullable = false)
+    private double revenue;
+
+    @Column(name = "completed_minutes", nullable = false)
+    private int completedMinutes;
+
+    @Column(name = "capacity_minutes", nullable = false)
+    private int capacityMinutes;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long barberId;
+        private LocalDate date;
+    }
+}
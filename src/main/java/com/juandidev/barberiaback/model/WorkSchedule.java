@@ -14,7 +14,8 @@ import java.time.LocalTime;
 
 @Entity
 @Table(name = "work_schedules", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"barber_id", "day_of_week"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"barber_id", "day_of_week"}),
+       indexes = @Index(name = "idx_work_schedules_day_active_start", columnList = "day_of_week, is_active, start_time"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -22,7 +23,8 @@ import java.time.LocalTime;
 public class WorkSchedule {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "work_schedules_seq")
+    @SequenceGenerator(name = "work_schedules_seq", sequenceName = "work_schedules_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,117 @@
+package com.juandidev.barberiaback.ratelimit;
+
+import com.juandidev.barberiaback.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita las peticiones por cliente y ruta antes de la autenticación JWT.
+ *
+ * El cliente es el id de usuario (claim uid) del token si la firma es válida y, si no, la IP
+ * remota (con proxies, configurar {@code server.forward-headers-strategy} para que Tomcat la
+ * resuelva). Los claims verificados quedan en {@link JwtUtil#CLAIMS_ATTRIBUTE} y
+ * JwtAuthenticationFilter los reutiliza. Al superar el límite se responde 429 con Retry-After en
+ * segundos.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] RATE_LIMITED_BODY =
+            "{\"message\":\"Demasiadas peticiones, inténtalo más tarde\",\"status\":\"error\",\"type\":\"RATE_LIMITED\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final TokenBucketRegistry registry;
+    private final JwtUtil jwtUtil;
+    private final List<CompiledPolicy> policies;
+
+    public RateLimitFilter(TokenBucketRegistry registry, JwtUtil jwtUtil, List<RateLimitProperties.Policy> policies) {
+        this.registry = registry;
+        this.jwtUtil = jwtUtil;
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.policies = policies.stream()
+                .map(policy -> new CompiledPolicy(policy.getName(),
+                        policy.getPaths().stream().map(parser::parse).toList(),
+                        policy.getCapacity(), policy.getRefillPerSecond()))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        CompiledPolicy policy = findPolicy(request);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = registry.tryConsume(policy.name() + ':' + clientKey(request),
+                policy.capacity(), policy.refillPerSecond());
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.debug("Petición limitada por la política {} para {}", policy.name(), request.getRemoteAddr());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(RATE_LIMITED_BODY.length);
+        response.getOutputStream().write(RATE_LIMITED_BODY);
+    }
+
+    private CompiledPolicy findPolicy(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        PathContainer pathContainer = PathContainer.parsePath(path);
+
+        for (CompiledPolicy policy : policies) {
+            for (PathPattern pattern : policy.patterns()) {
+                if (pattern.matches(pathContainer)) {
+                    return policy;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtUtil.extractAllClaims(authHeader.substring(7));
+                request.setAttribute(JwtUtil.CLAIMS_ATTRIBUTE, claims);
+                Long userId = claims.get(JwtUtil.CLAIM_USER_ID, Long.class);
+                return userId != null ? "user:" + userId : "username:" + claims.getSubject();
+            } catch (JwtException | IllegalArgumentException e) {
+                // Token inválido o caducado: se limita por IP
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record CompiledPolicy(String name, List<PathPattern> patterns, int capacity, double refillPerSecond) {
+    }
+}
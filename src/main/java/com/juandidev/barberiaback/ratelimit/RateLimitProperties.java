@@ -0,0 +1,49 @@
+package com.juandidev.barberiaback.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Número máximo de buckets en memoria. Al alcanzarlo, los clientes nuevos comparten un bucket
+     * por política hasta que la limpieza periódica expulse los inactivos.
+     */
+    private int maxBuckets = 100_000;
+
+    private int lockStripes = 64;
+
+    /**
+     * Políticas por ruta; gana la primera cuyo patrón coincide. Las rutas sin política no se limitan.
+     */
+    private List<Policy> policies = new ArrayList<>(List.of(
+            new Policy("auth", List.of("/auth/signin", "/auth/signup", "/auth/refresh"), 10, 10.0 / 60),
+            new Policy("availability", List.of("/availability/**"), 60, 5),
+            new Policy("catalog", List.of("/services/**", "/barbers/**", "/schedules/**"), 120, 20)
+    ));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+        private String name;
+        private List<String> paths = new ArrayList<>();
+        /**
+         * Ráfaga máxima permitida.
+         */
+        private int capacity;
+        /**
+         * Tokens repuestos por segundo (ritmo sostenido).
+         */
+        private double refillPerSecond;
+    }
+}
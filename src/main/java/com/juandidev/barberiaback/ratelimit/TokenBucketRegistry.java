@@ -0,0 +1,126 @@
+package com.juandidev.barberiaback.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets en memoria indexados por "política:cliente".
+ *
+ * El mapa es concurrente y cada bucket se actualiza bajo uno de N locks por franjas, así que
+ * dos clientes distintos casi nunca compiten. Un bucket inactivo durante lo que tarda en
+ * llenarse está lleno, y expulsarlo no cambia el comportamiento: así la memoria queda acotada
+ * a los clientes activos. La expulsión la hace una tarea periódica ({@link #evictIdle()}), nunca
+ * la petición.
+ *
+ * Con {@code maxBuckets} ocupados, los clientes sin bucket propio comparten uno por política hasta
+ * que la limpieza libere sitio: quien llene el mapa rotando IPs no consigue saltarse el límite.
+ */
+@Slf4j
+public class TokenBucketRegistry {
+
+    private static final String OVERFLOW_CLIENT = "*overflow*";
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean full = new AtomicBoolean();
+    private final ReentrantLock[] stripes;
+    private final int maxBuckets;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRegistry(int lockStripes, int maxBuckets) {
+        this(lockStripes, maxBuckets, System::nanoTime);
+    }
+
+    TokenBucketRegistry(int lockStripes, int maxBuckets, LongSupplier nanoClock) {
+        this.stripes = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.maxBuckets = maxBuckets;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Consume un token del bucket de {@code key}.
+     *
+     * @return 0 si la petición se admite, o los nanosegundos hasta que haya un token disponible
+     */
+    public long tryConsume(String key, int capacity, double refillPerSecond) {
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.get(key);
+
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                key = key.substring(0, key.indexOf(':') + 1) + OVERFLOW_CLIENT;
+                if (full.compareAndSet(false, true)) {
+                    log.warn("Límite de {} buckets alcanzado; los clientes nuevos comparten un bucket por política", maxBuckets);
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, refillPerSecond, now));
+        }
+
+        ReentrantLock lock = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        lock.lock();
+        try {
+            return bucket.tryConsume(now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Expulsa los buckets que ya se habrían rellenado por completo.
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        if (buckets.size() < maxBuckets) {
+            full.set(false);
+        }
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private static final class Bucket {
+
+        private final int capacity;
+        private final double tokensPerNano;
+        private final long fullRefillNanos;
+        private double tokens;
+        private long lastRefillNanos;
+        private volatile long lastAccessNanos;
+
+        private Bucket(int capacity, double refillPerSecond, long now) {
+            this.capacity = capacity;
+            this.tokensPerNano = refillPerSecond / 1_000_000_000d;
+            this.fullRefillNanos = (long) Math.ceil(capacity / tokensPerNano);
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+            this.lastAccessNanos = now;
+        }
+
+        private long tryConsume(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = now;
+            lastAccessNanos = now;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        private boolean isIdle(long now) {
+            return now - lastAccessNanos >= fullRefillNanos;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.juandidev.barberiaback.repository;
+
+import com.juandidev.barberiaback.model.AppointmentHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AppointmentHistoryRepository extends JpaRepository<AppointmentHistory, Long> {
+
+    Page<AppointmentHistory> findByClientIdAndStartTimeBetweenOrderByStartTimeAscIdAsc(Long clientId,
+                                                                                       LocalDateTime startDate,
+                                                                                       LocalDateTime endDate,
+                                                                                       Pageable pageable);
+
+    Page<AppointmentHistory> findByBarberIdAndStartTimeBetweenOrderByStartTimeAscIdAsc(Long barberId,
+                                                                                       LocalDateTime startDate,
+                                                                                       LocalDateTime endDate,
+                                                                                       Pageable pageable);
+
+    Page<AppointmentHistory> findByStartTimeBetweenOrderByStartTimeAscIdAsc(LocalDateTime startDate,
+                                                                            LocalDateTime endDate,
+                                                                            Pageable pageable);
+}
@@ -1,10 +1,16 @@
 package com.juandidev.barberiaback.repository;
 
+import com.juandidev.barberiaback.dto.AppointmentDto;
 import com.juandidev.barberiaback.model.Appointment;
 import com.juandidev.barberiaback.model.AppointmentStatus;
 import com.juandidev.barberiaback.model.Barber;
 import com.juandidev.barberiaback.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,24 +21,106 @@ import java.util.List;
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
+    /**
+     * Proyección directa a AppointmentDto (mismo orden que sus campos): una sola consulta con los
+     * joins de cliente, barbero, usuario del barbero y servicio, sin cargar entidades en la sesión.
+     */
+    String SELECT_DTO = "SELECT new com.juandidev.barberiaback.dto.AppointmentDto(" +
+            "a.id, c.id, CONCAT(c.firstName, ' ', c.lastName), c.email, " +
+            "b.id, CONCAT(bu.firstName, ' ', bu.lastName), s.id, s.name, s.duration, " +
+            "a.startTime, a.endTime, a.status, a.notes, a.totalPrice, a.createdAt, a.updatedAt) " +
+            "FROM Appointment a JOIN a.client c JOIN a.barber b JOIN b.user bu JOIN a.service s ";
+
+    /**
+     * Desempate por id para que la paginación sea estable entre citas a la misma hora.
+     */
+    String ORDER_BY_START = "ORDER BY a.startTime ASC, a.id ASC";
+
+    @Query(value = SELECT_DTO + ORDER_BY_START,
+           countQuery = "SELECT COUNT(a) FROM Appointment a")
+    Page<AppointmentDto> findAllAsDto(Pageable pageable);
+
+    @Query(value = SELECT_DTO + "WHERE a.status = :status " + ORDER_BY_START,
+           countQuery = "SELECT COUNT(a) FROM Appointment a WHERE a.status = :status")
+    Page<AppointmentDto> findByStatusAsDto(@Param("status") AppointmentStatus status, Pageable pageable);
+
+    @Query(value = SELECT_DTO + "WHERE a.barber.id = :barberId " + ORDER_BY_START,
+           countQuery = "SELECT COUNT(a) FROM Appointment a WHERE a.barber.id = :barberId")
+    Page<AppointmentDto> findByBarberIdAsDto(@Param("barberId") Long barberId, Pageable pageable);
+
+    @Query(value = SELECT_DTO + "WHERE a.barber.id = :barberId AND a.status = :status " + ORDER_BY_START,
+           countQuery = "SELECT COUNT(a) FROM Appointment a WHERE a.barber.id = :barberId AND a.status = :status")
+    Page<AppointmentDto> findByBarberIdAndStatusAsDto(@Param("barberId") Long barberId,
+                                                      @Param("status") AppointmentStatus status,
+                                                      Pageable pageable);
+
+    @Query(value = SELECT_DTO + "WHERE a.startTime BETWEEN :startDate AND :endDate " + ORDER_BY_START,
+           countQuery = "SELECT COUNT(a) FROM Appointment a WHERE a.startTime BETWEEN :startDate AND :endDate")
+    Page<AppointmentDto> findByDateRangeAsDto(@Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate,
+                                              Pageable pageable);
+
+    @Query(value = SELECT_DTO + "WHERE a.barber.id = :barberId " +
+                   "AND a.startTime BETWEEN :startDate AND :endDate " + ORDER_BY_START,
+           countQuery = "SELECT COUNT(a) FROM Appointment a WHERE a.barber.id = :barberId " +
+                        "AND a.startTime BETWEEN :startDate AND :endDate")
+    Page<AppointmentDto> findByBarberIdAndDateRangeAsDto(@Param("barberId") Long barberId,
+                                                         @Param("startDate") LocalDateTime startDate,
+                                                         @Param("endDate") LocalDateTime endDate,
+                                                         Pageable pageable);
+
+    /**
+     * Hueco ocupado por una cita: lo justo para saber qué agendas cambian al liberarla.
+     */
+    interface SlotKey {
+        Long getId();
+
+        Long getBarberId();
+
+        LocalDateTime getStartTime();
+    }
+
+    /**
+     * Lo que cuenta de una cita para los agregados diarios del barbero.
+     */
+    interface DayActivity {
+        AppointmentStatus getStatus();
+
+        Double getTotalPrice();
+
+        LocalDateTime getStartTime();
+
+        LocalDateTime getEndTime();
+    }
+
+    @Override
+    @EntityGraph(Appointment.WITH_PARTICIPANTS)
+    List<Appointment> findAll();
+
     List<Appointment> findByClient(User client);
 
+    @EntityGraph(Appointment.WITH_PARTICIPANTS)
     List<Appointment> findByClientId(Long clientId);
 
     List<Appointment> findByBarber(Barber barber);
 
+    @EntityGraph(Appointment.WITH_PARTICIPANTS)
     List<Appointment> findByBarberId(Long barberId);
 
+    @EntityGraph(Appointment.WITH_PARTICIPANTS)
     List<Appointment> findByStatus(AppointmentStatus status);
 
     List<Appointment> findByClientAndStatus(User client, AppointmentStatus status);
 
+    @EntityGraph(Appointment.WITH_PARTICIPANTS)
     List<Appointment> findByClientIdAndStatus(Long clientId, AppointmentStatus status);
 
     List<Appointment> findByBarberAndStatus(Barber barber, AppointmentStatus status);
 
+    @EntityGraph(Appointment.WITH_PARTICIPANTS)
     List<Appointment> findByBarberIdAndStatus(Long barberId, AppointmentStatus status);
 
+    @EntityGraph(Appointment.WITH_PARTICIPANTS)
     @Query("SELECT a FROM Appointment a WHERE a.barber.id = :barberId " +
            "AND a.startTime BETWEEN :startDate AND :endDate " +
            "ORDER BY a.startTime ASC")
@@ -40,6 +128,7 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
                                                  @Param("startDate") LocalDateTime startDate,
                                                  @Param("endDate") LocalDateTime endDate);
 
+    @EntityGraph(Appointment.WITH_PARTICIPANTS)
     @Query("SELECT a FROM Appointment a WHERE a.client.id = :clientId " +
            "AND a.startTime BETWEEN :startDate AND :endDate " +
            "ORDER BY a.startTime ASC")
@@ -55,11 +144,13 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
                                                   @Param("endTime") LocalDateTime endTime,
                                                   @Param("statuses") List<AppointmentStatus> statuses);
 
+    @EntityGraph(Appointment.WITH_PARTICIPANTS)
     @Query("SELECT a FROM Appointment a WHERE a.startTime BETWEEN :startDate AND :endDate " +
            "ORDER BY a.startTime ASC")
     List<Appointment> findByDateRange(@Param("startDate") LocalDateTime startDate,
                                       @Param("endDate") LocalDateTime endDate);
 
+    @EntityGraph(Appointment.WITH_PARTICIPANTS)
     @Query("SELECT a FROM Appointment a WHERE a.status = :status " +
            "AND a.startTime BETWEEN :startDate AND :endDate " +
            "ORDER BY a.startTime ASC")
@@ -73,4 +164,52 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     Long countCompletedAppointmentsByBarberAndDateRange(@Param("barberId") Long barberId,
                                                         @Param("startDate") LocalDateTime startDate,
                                                         @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Citas PENDING creadas antes de {@code createdBefore} o que ya empezaron, en orden de inicio.
+     */
+    @Query("SELECT a.id AS id, a.barber.id AS barberId, a.startTime AS startTime FROM Appointment a " +
+           "WHERE a.status = :pending " +
+           "AND (a.createdAt < :createdBefore OR a.startTime < :startedBefore) " +
+           "ORDER BY a.startTime ASC")
+    List<SlotKey> findExpirablePending(@Param("pending") AppointmentStatus pending,
+                                       @Param("createdBefore") LocalDateTime createdBefore,
+                                       @Param("startedBefore") LocalDateTime startedBefore,
+                                       Limit limit);
+
+    /**
+     * Citas en {@code status} que terminaron antes de {@code endedBefore}, en orden de inicio. El
+     * filtro redundante sobre startTime deja usar idx_appointments_status_start y descartar particiones.
+     */
+    @Query("SELECT a.id AS id, a.barber.id AS barberId, a.startTime AS startTime FROM Appointment a " +
+           "WHERE a.status = :status " +
+           "AND a.startTime < :endedBefore AND a.endTime < :endedBefore " +
+           "ORDER BY a.startTime ASC")
+    List<SlotKey> findEndedByStatus(@Param("status") AppointmentStatus status,
+                                    @Param("endedBefore") LocalDateTime endedBefore,
+                                    Limit limit);
+
+    /**
+     * Cambia de estado las citas indicadas que sigan en {@code from}; las que otra transacción ya
+     * movió (p. ej. una confirmación) no se tocan.
+     */
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :to, a.updatedAt = :now " +
+           "WHERE a.id IN :ids AND a.status = :from")
+    int transitionStatus(@Param("ids") List<Long> ids,
+                         @Param("from") AppointmentStatus from,
+                         @Param("to") AppointmentStatus to,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Citas de un barbero que empiezan en [from, to), para recalcular su agregado de ese día.
+     */
+    @Query("SELECT a.status AS status, a.totalPrice AS totalPrice, a.startTime AS startTime, a.endTime AS endTime " +
+           "FROM Appointment a WHERE a.barber.id = :barberId AND a.startTime >= :from AND a.startTime < :to")
+    List<DayActivity> findDayActivity(@Param("barberId") Long barberId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(a.startTime) FROM Appointment a")
+    LocalDateTime findEarliestStartTime();
 }
@@ -0,0 +1,16 @@
+package com.juandidev.barberiaback.repository;
+
+import com.juandidev.barberiaback.model.BarberDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BarberDailyRollupRepository extends JpaRepository<BarberDailyRollup, BarberDailyRollup.Key> {
+
+    List<BarberDailyRollup> findByBarberIdAndDateBetweenOrderByDate(Long barberId, LocalDate from, LocalDate to);
+
+    List<BarberDailyRollup> findByDateBetweenOrderByBarberIdAscDateAsc(LocalDate from, LocalDate to);
+}
@@ -2,7 +2,10 @@ package com.juandidev.barberiaback.repository;
 
 import com.juandidev.barberiaback.model.Barber;
 import com.juandidev.barberiaback.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,22 +21,38 @@ public interface BarberRepository extends JpaRepository<Barber, Long> {
 
     Optional<Barber> findByUserId(Long userId);
 
+    @EntityGraph(attributePaths = "user")
     List<Barber> findByActiveTrue();
 
+    @EntityGraph(attributePaths = "user")
     List<Barber> findByActiveTrueAndAvailableTrue();
 
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT b FROM Barber b WHERE b.active = true AND b.available = true " +
            "AND b.startTime <= :time AND b.endTime >= :time")
     List<Barber> findAvailableBarbersAtTime(@Param("time") LocalTime time);
 
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT b FROM Barber b WHERE b.active = true AND " +
            "LOWER(b.specialties) LIKE LOWER(CONCAT('%', :specialty, '%'))")
     List<Barber> findBySpecialtyContainingIgnoreCase(@Param("specialty") String specialty);
 
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT b FROM Barber b WHERE b.active = true AND b.experienceYears >= :minYears")
     List<Barber> findByMinimumExperience(@Param("minYears") Integer minYears);
 
     boolean existsByUser(User user);
 
     boolean existsByUserId(Long userId);
+
+    /**
+     * Bloquea la fila del barbero (SELECT ... FOR UPDATE) para serializar el recálculo de sus agregados
+     * diarios; la fila siempre existe, a diferencia de la del agregado de un día nuevo.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Barber b WHERE b.id = :id")
+    Optional<Barber> lockById(@Param("id") Long id);
+
+    @Query("SELECT b.id FROM Barber b ORDER BY b.id")
+    List<Long> findAllIds();
 }
@@ -3,6 +3,7 @@ package com.juandidev.barberiaback.repository;
 import com.juandidev.barberiaback.model.DayOfWeek;
 import com.juandidev.barberiaback.model.User;
 import com.juandidev.barberiaback.model.WorkSchedule;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,11 +19,13 @@ public interface WorkScheduleRepository extends JpaRepository<WorkSchedule, Long
     /**
      * Buscar todos los horarios de un barbero específico
      */
+    @EntityGraph(attributePaths = "barber")
     List<WorkSchedule> findByBarberIdOrderByDayOfWeek(Long barberId);
 
     /**
      * Buscar todos los horarios activos de un barbero
      */
+    @EntityGraph(attributePaths = "barber")
     List<WorkSchedule> findByBarberIdAndActiveTrueOrderByDayOfWeek(Long barberId);
 
     /**
@@ -38,11 +41,13 @@ public interface WorkScheduleRepository extends JpaRepository<WorkSchedule, Long
     /**
      * Buscar horarios por día de la semana
      */
+    @EntityGraph(attributePaths = "barber")
     List<WorkSchedule> findByDayOfWeekAndActiveTrueOrderByStartTime(DayOfWeek dayOfWeek);
 
     /**
      * Buscar barberos disponibles en un día y hora específicos
      */
+    @EntityGraph(attributePaths = "barber")
     @Query("SELECT ws FROM WorkSchedule ws WHERE ws.dayOfWeek = :dayOfWeek " +
            "AND ws.active = true " +
            "AND ws.startTime <= :time " +
@@ -68,6 +73,7 @@ public interface WorkScheduleRepository extends JpaRepository<WorkSchedule, Long
     /**
      * Buscar todos los horarios de barberos activos
      */
+    @EntityGraph(attributePaths = "barber")
     @Query("SELECT ws FROM WorkSchedule ws WHERE ws.barber.enabled = true " +
            "AND ws.active = true " +
            "ORDER BY ws.barber.id, ws.dayOfWeek")
@@ -82,6 +88,7 @@ public interface WorkScheduleRepository extends JpaRepository<WorkSchedule, Long
     /**
      * Buscar horarios por rango de horas
      */
+    @EntityGraph(attributePaths = "barber")
     @Query("SELECT ws FROM WorkSchedule ws WHERE ws.active = true " +
            "AND ws.startTime >= :startTime " +
            "AND ws.endTime <= :endTime " +
@@ -1,5 +1,9 @@
 package com.juandidev.barberiaback.security;
 
+import com.juandidev.barberiaback.jfr.JwtAuthenticationEvent;
+import com.juandidev.barberiaback.metrics.BarberiaMetrics;
+import com.juandidev.barberiaback.model.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +28,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final BarberiaMetrics metrics;
 
     @Override
     protected void doFilterInternal(
@@ -43,13 +49,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         
+        long parseStartedAt = System.nanoTime();
+        JwtAuthenticationEvent event = JwtAuthenticationEvent.start();
+        String result = "error";
         try {
-            username = jwtUtil.extractUsername(jwt);
+            // RateLimitFilter ya verificó el token en las rutas limitadas
+            Claims claims = request.getAttribute(JwtUtil.CLAIMS_ATTRIBUTE) instanceof Claims verified ? verified : null;
+            if (claims == null) {
+                try {
+                    claims = jwtUtil.extractAllClaims(jwt);
+                } catch (RuntimeException e) {
+                    metrics.recordJwtParse(System.nanoTime() - parseStartedAt, false);
+                    result = "invalid";
+                    throw e;
+                }
+                metrics.recordJwtParse(System.nanoTime() - parseStartedAt, true);
+            }
+            username = claims.getSubject();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = resolveUser(claims, event);
+                Long userId = userDetails instanceof User user ? user.getId() : null;
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (!tokenRevocationService.isRevoked(claims.getId(), userId, JwtUtil.issuedAt(claims))) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -57,12 +79,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    result = "authenticated";
+                } else {
+                    result = "revoked";
+                    metrics.recordRevokedToken();
+                    log.debug("Token revocado para usuario: {}", username);
                 }
+            } else {
+                result = "skipped";
             }
         } catch (Exception e) {
             log.error("Error processing JWT token: {}", e.getMessage());
+        } finally {
+            event.finish(result);
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Los tokens actuales llevan id y rol, así que el usuario se reconstruye sin consultar la base
+     * de datos; la deshabilitación de usuarios se aplica mediante revocación. Los tokens emitidos
+     * antes de incluir esos claims se siguen resolviendo con una consulta.
+     */
+    private UserDetails resolveUser(Claims claims, JwtAuthenticationEvent event) {
+        Long userId = claims.get(JwtUtil.CLAIM_USER_ID, Long.class);
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+
+        if (userId == null || role == null) {
+            metrics.recordPrincipalResolution(false);
+            event.setPrincipalSource("database");
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        metrics.recordPrincipalResolution(true);
+        event.setPrincipalSource("claims");
+        return User.builder()
+                .id(userId)
+                .username(claims.getSubject())
+                .role(User.Role.valueOf(role))
+                .build();
+    }
 }
@@ -1,5 +1,6 @@
 package com.juandidev.barberiaback.security;
 
+import com.juandidev.barberiaback.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,15 +11,34 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    /**
+     * Claims con los que JwtAuthenticationFilter reconstruye el usuario sin consultar la base de datos.
+     */
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+
+    /**
+     * Instante de emisión en milisegundos. El iat estándar solo tiene segundos y no basta para saber
+     * si un token se emitió antes o después de una revocación hecha en ese mismo segundo.
+     */
+    public static final String CLAIM_ISSUED_AT_MILLIS = "iat_ms";
+
+    /**
+     * Atributo de la petición con los claims ya verificados del token Bearer, para que un filtro
+     * posterior no vuelva a verificar la firma.
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtUtil.class.getName() + ".claims";
+
     @Value("${jwt.secret:mySecretKey}")
     private String secret;
 
-    @Value("${jwt.expiration:86400000}")
+    @Value("${jwt.expiration:900000}")
     private Long expiration;
 
     private SecretKey getSigningKey() {
@@ -38,7 +58,10 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
+    /**
+     * Verifica la firma y la caducidad y devuelve todos los claims.
+     */
+    public Claims extractAllClaims(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
                 .build()
@@ -52,6 +75,14 @@ public class JwtUtil {
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user) {
+            if (user.getId() != null) {
+                claims.put(CLAIM_USER_ID, user.getId());
+            }
+            if (user.getRole() != null) {
+                claims.put(CLAIM_ROLE, user.getRole().name());
+            }
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -60,12 +91,23 @@ public class JwtUtil {
         return createToken(claims, username);
     }
 
+    /**
+     * Instante de emisión del token con milisegundos; para tokens sin iat_ms cae al iat estándar.
+     */
+    public static Date issuedAt(Claims claims) {
+        Long issuedAtMillis = claims.get(CLAIM_ISSUED_AT_MILLIS, Long.class);
+        return issuedAtMillis != null ? new Date(issuedAtMillis) : claims.getIssuedAt();
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
+                .claim(CLAIM_ISSUED_AT_MILLIS, now)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
                 .signWith(getSigningKey())
                 .compact();
     }
@@ -0,0 +1,127 @@
+package com.juandidev.barberiaback.security;
+
+import com.juandidev.barberiaback.exception.ServiceOverloadedException;
+import com.juandidev.barberiaback.metrics.BarberiaMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta la verificación de contraseñas (BCrypt) en un pool propio del tamaño de los núcleos,
+ * con una cola acotada. Si la cola está llena la petición se rechaza al momento con
+ * {@link ServiceOverloadedException} (503 + Retry-After) en lugar de acaparar CPU que necesitan
+ * las reservas. La espera en cola y la duración de cada verificación se publican como timers en
+ * {@link BarberiaMetrics}.
+ */
+@Slf4j
+@Component
+public class PasswordVerificationExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final BarberiaMetrics metrics;
+    private final long retryAfterSeconds;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public PasswordVerificationExecutor(
+            BarberiaMetrics metrics,
+            @Value("${app.auth.password-verification.threads:0}") int threads,
+            @Value("${app.auth.password-verification.queue-capacity:64}") int queueCapacity,
+            @Value("${app.auth.password-verification.retry-after-seconds:2}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verification-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.metrics = metrics;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        log.info("Verificación de contraseñas con {} hilos y cola de {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Ejecuta la verificación en el pool y espera su resultado. Las excepciones de la verificación
+     * (p. ej. credenciales inválidas) se relanzan tal cual en el hilo llamante.
+     */
+    public <T> T execute(Supplier<T> verification) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return verification.get();
+                } finally {
+                    metrics.recordPasswordVerification(startedAt - submittedAt, System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Verificación de contraseña rechazada: cola llena ({} en espera)", getQueueDepth());
+            throw new ServiceOverloadedException(
+                    "Demasiados inicios de sesión simultáneos, inténtalo de nuevo en unos segundos",
+                    retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando la verificación de contraseña", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Error verificando la contraseña", e.getCause());
+        }
+    }
+
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return executor.getQueue().size() + executor.getQueue().remainingCapacity();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,146 @@
+package com.juandidev.barberiaback.security;
+
+import com.juandidev.barberiaback.model.RevokedToken;
+import com.juandidev.barberiaback.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Conjunto de access tokens revocados.
+ *
+ * Cada petición autenticada consulta primero un filtro de Bloom en memoria; solo si da positivo
+ * (token revocado o falso positivo, ~1%) se confirma contra revoked_tokens. El filtro se
+ * actualiza cada pocos segundos con las revocaciones nuevas de cualquier nodo y se reconstruye
+ * periódicamente para olvidar las que ya caducaron.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+    private static final String JTI_PREFIX = "j:";
+    private static final String USER_PREFIX = "u:";
+
+    /**
+     * Margen al leer revocaciones nuevas, para no perder filas confirmadas tarde o con relojes desfasados.
+     */
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Duration accessTokenTtl;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter bloomFilter;
+    private volatile LocalDateTime lastRefresh;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${jwt.expiration:900000}") long accessTokenTtlMillis,
+                                  @Value("${jwt.revocation.expected-entries:100000}") int expectedRevocations,
+                                  @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.accessTokenTtl = Duration.ofMillis(accessTokenTtlMillis);
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.lastRefresh = LocalDateTime.now();
+    }
+
+    /**
+     * Indica si un access token con estos claims está revocado.
+     */
+    public boolean isRevoked(String jti, Long userId, Date issuedAt) {
+        BloomFilter filter = bloomFilter;
+
+        if (jti != null && filter.mightContain(JTI_PREFIX + jti)
+                && revokedTokenRepository.existsByJti(jti)) {
+            return true;
+        }
+
+        return userId != null && issuedAt != null && filter.mightContain(USER_PREFIX + userId)
+                && revokedTokenRepository.existsByUserIdAndRevokedAtAfter(userId, toLocalDateTime(issuedAt));
+    }
+
+    /**
+     * Revoca un access token concreto hasta su caducidad.
+     */
+    public void revokeAccessToken(String jti, Date expiresAt) {
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .revokedAt(LocalDateTime.now())
+                .expiresAt(toLocalDateTime(expiresAt))
+                .build());
+        bloomFilter.put(JTI_PREFIX + jti);
+    }
+
+    /**
+     * Revoca todos los access tokens emitidos hasta ahora a un usuario (p. ej. al deshabilitarlo).
+     *
+     * El corte guarda el instante exacto y se compara con el iat_ms del token. Los tokens sin iat_ms
+     * solo tienen segundos, así que los emitidos en el mismo segundo de la revocación también quedan
+     * revocados: el error posible es pedir un nuevo login, nunca aceptar un token anterior.
+     */
+    public void revokeAllForUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.save(RevokedToken.builder()
+                .userId(userId)
+                .revokedAt(now)
+                .expiresAt(now.plus(accessTokenTtl))
+                .build());
+        bloomFilter.put(USER_PREFIX + userId);
+    }
+
+    /**
+     * Añade al filtro las revocaciones registradas por cualquier nodo desde la última lectura.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:5000}")
+    public void refresh() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<RevokedToken> recent = revokedTokenRepository.findByRevokedAtGreaterThanEqual(
+                lastRefresh.minus(REFRESH_OVERLAP));
+
+        BloomFilter filter = bloomFilter;
+        recent.forEach(revoked -> filter.put(keyOf(revoked)));
+        lastRefresh = startedAt;
+
+        if (filter.getInsertions() > filter.getExpectedInsertions()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reconstruye el filtro solo con revocaciones vigentes y borra las caducadas.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:3600000}",
+            initialDelayString = "${jwt.revocation.rebuild-interval:3600000}")
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(startedAt);
+
+        BloomFilter filter = new BloomFilter(Math.max(expectedRevocations, active.size() * 2), falsePositiveRate);
+        active.forEach(revoked -> filter.put(keyOf(revoked)));
+        bloomFilter = filter;
+        lastRefresh = startedAt;
+
+        int deleted = revokedTokenRepository.deleteExpired(startedAt);
+        log.debug("Filtro de revocaciones reconstruido con {} entradas ({} caducadas eliminadas)",
+                active.size(), deleted);
+    }
+
+    private static String keyOf(RevokedToken revoked) {
+        return revoked.getJti() != null ? JTI_PREFIX + revoked.getJti() : USER_PREFIX + revoked.getUserId();
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+}
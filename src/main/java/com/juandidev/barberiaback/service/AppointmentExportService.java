@@ -0,0 +1,361 @@
+package com.juandidev.barberiaback.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandidev.barberiaback.exception.ExportInterruptedException;
+import com.juandidev.barberiaback.exception.InvalidAppointmentTimeException;
+import com.juandidev.barberiaback.exception.ServiceOverloadedException;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exportación de citas para contabilidad en CSV o NDJSON.
+ *
+ * Incluye los meses ya archivados en appointments_history, que siguen contando para contabilidad.
+ * Las filas se leen con un cursor JDBC de solo avance ({@code fetch-size} filas por viaje; en
+ * PostgreSQL exige la transacción abierta) y se escriben al flujo de la respuesta según llegan,
+ * así que la memoria no depende del número de citas. La transacción es de solo lectura para que
+ * vaya a una réplica cuando las hay, y como mucho {@code max-concurrent} exportaciones ocupan una
+ * conexión a la vez; el resto recibe 503 con Retry-After en lugar de quitar conexiones a las reservas.
+ *
+ * Si la consulta falla a mitad, el fichero termina en una línea de error y el flujo no se cierra
+ * (con gzip falta el final del fichero), para que nadie tome una exportación truncada por completa.
+ */
+@Slf4j
+@Service
+public class AppointmentExportService {
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+    }
+
+    /**
+     * Abre el flujo de salida una vez admitida la exportación, para poder responder con error si no lo es.
+     */
+    @FunctionalInterface
+    public interface OutputOpener {
+        OutputStream open() throws IOException;
+    }
+
+    /**
+     * Citas vivas y archivadas del rango, cada rama con su propio filtro para que PostgreSQL descarte
+     * particiones y use el BRIN del histórico. Un mes se archiva en una sola transacción, así que una
+     * cita nunca aparece en las dos ramas.
+     */
+    private static final String EXPORT_SQL =
+            "SELECT a.id, a.start_time, a.end_time, a.status, a.total_price, a.created_at, " +
+            "c.id AS client_id, c.first_name AS client_first_name, c.last_name AS client_last_name, " +
+            "c.email AS client_email, b.id AS barber_id, bu.first_name AS barber_first_name, " +
+            "bu.last_name AS barber_last_name, s.id AS service_id, s.name AS service_name, " +
+            "s.duration AS service_duration " +
+            "FROM (%1$s UNION ALL %2$s) a " +
+            "JOIN users c ON c.id = a.client_id " +
+            "JOIN barbers b ON b.id = a.barber_id " +
+            "JOIN users bu ON bu.id = b.user_id " +
+            "JOIN services s ON s.id = a.service_id" +
+            " ORDER BY a.start_time ASC, a.id ASC";
+
+    private static final String RANGE_SQL =
+            "SELECT id, client_id, barber_id, service_id, start_time, end_time, status, total_price, created_at " +
+            "FROM %s WHERE start_time >= :from AND start_time < :to";
+
+    private static final String[] COLUMNS = {
+            "id", "start_time", "end_time", "status", "total_price", "created_at",
+            "client_id", "client_name", "client_email", "barber_id", "barber_name",
+            "service_id", "service_name", "service_duration"};
+
+    private static final int WRITE_BUFFER = 64 * 1024;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonFactory jsonFactory;
+    private final Semaphore permits;
+    private final long retryAfterSeconds;
+
+    public AppointmentExportService(DataSource dataSource,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${appointments.export.fetch-size:1000}") int fetchSize,
+                                    @Value("${appointments.export.max-concurrent:2}") int maxConcurrent,
+                                    @Value("${appointments.export.retry-after-seconds:30}") long retryAfterSeconds) {
+        JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonFactory = objectMapper.getFactory();
+        this.permits = new Semaphore(maxConcurrent);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Escribe las citas que empiezan entre {@code from} y {@code to} (ambos incluidos), opcionalmente
+     * solo las de {@code statuses}, en orden de inicio.
+     *
+     * @return filas exportadas
+     */
+    public long export(LocalDate from, LocalDate to, Collection<AppointmentStatus> statuses,
+                       Format format, OutputOpener opener) throws IOException {
+        if (to.isBefore(from)) {
+            throw new InvalidAppointmentTimeException(String.format(
+                    "La fecha final (%s) no puede ser anterior a la inicial (%s)", to, from));
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from.atStartOfDay())
+                .addValue("to", to.plusDays(1).atStartOfDay());
+        String range = RANGE_SQL;
+        if (statuses != null && !statuses.isEmpty()) {
+            range += " AND status IN (:statuses)";
+            params.addValue("statuses", statuses.stream().map(Enum::name).toList());
+        }
+        String query = String.format(EXPORT_SQL,
+                String.format(range, "appointments"), String.format(range, "appointments_history"));
+
+        if (!permits.tryAcquire()) {
+            throw new ServiceOverloadedException(
+                    "Hay demasiadas exportaciones en curso, inténtalo de nuevo más tarde", retryAfterSeconds);
+        }
+
+        long started = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        RowWriter writer = null;
+        try {
+            OutputStream out = opener.open();
+            writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(jsonFactory, out);
+            RowWriter rowWriter = writer;
+            rowWriter.start();
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(query, params, resultSet -> {
+                try {
+                    rowWriter.write(resultSet);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows.incrementAndGet();
+            }));
+            // Solo una exportación completa se cierra: con gzip es lo que escribe el final del fichero
+            rowWriter.finish();
+            out.close();
+        } catch (UncheckedIOException e) {
+            log.info("Exportación de citas interrumpida tras {} filas: {}", rows.get(), e.getCause().getMessage());
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            if (writer == null) {
+                throw e;
+            }
+            log.error("Exportación de citas fallida tras {} filas", rows.get(), e);
+            try {
+                writer.abort(String.format("exportación incompleta, interrumpida tras %d filas", rows.get()));
+            } catch (IOException abortFailure) {
+                e.addSuppressed(abortFailure);
+            }
+            throw new ExportInterruptedException(rows.get(), e);
+        } finally {
+            permits.release();
+        }
+
+        log.info("Exportadas {} citas en {} ({} a {}) en {} ms", rows.get(), format, from, to,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return rows.get();
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void write(ResultSet resultSet) throws SQLException, IOException;
+
+        void finish() throws IOException;
+
+        /**
+         * Termina una exportación fallida con una última línea de error, sin cerrar el flujo.
+         */
+        void abort(String message) throws IOException;
+    }
+
+    /**
+     * CSV con BOM UTF-8 (Excel, que es lo que abre contabilidad, lo necesita para los acentos). Los
+     * textos que empiezan por = + - @ se prefijan con ' para que la hoja no los evalúe como fórmulas.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private boolean rowOpen;
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER);
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write('\uFEFF');
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            rowOpen = true;
+            writer.write(String.valueOf(rs.getLong("id")));
+            writer.write(',');
+            writer.write(String.valueOf(rs.getObject("start_time", LocalDateTime.class)));
+            writer.write(',');
+            writer.write(String.valueOf(rs.getObject("end_time", LocalDateTime.class)));
+            writer.write(',');
+            writer.write(rs.getString("status"));
+            writer.write(',');
+            double totalPrice = rs.getDouble("total_price");
+            writer.write(rs.wasNull() ? "" : String.valueOf(totalPrice));
+            writer.write(',');
+            LocalDateTime createdAt = rs.getObject("created_at", LocalDateTime.class);
+            writer.write(createdAt != null ? createdAt.toString() : "");
+            writer.write(',');
+            writer.write(String.valueOf(rs.getLong("client_id")));
+            writer.write(',');
+            writer.write(text(fullName(rs.getString("client_first_name"), rs.getString("client_last_name"))));
+            writer.write(',');
+            writer.write(text(rs.getString("client_email")));
+            writer.write(',');
+            writer.write(String.valueOf(rs.getLong("barber_id")));
+            writer.write(',');
+            writer.write(text(fullName(rs.getString("barber_first_name"), rs.getString("barber_last_name"))));
+            writer.write(',');
+            writer.write(String.valueOf(rs.getLong("service_id")));
+            writer.write(',');
+            writer.write(text(rs.getString("service_name")));
+            writer.write(',');
+            writer.write(String.valueOf(rs.getInt("service_duration")));
+            writer.write("\r\n");
+            rowOpen = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void abort(String message) throws IOException {
+            if (rowOpen) {
+                writer.write("\r\n");
+            }
+            writer.write("# ERROR: " + message + "\r\n");
+            writer.flush();
+        }
+
+        private static String text(String value) {
+            if (value == null || value.isEmpty()) {
+                return "";
+            }
+            String safe = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+            if (safe.indexOf(',') >= 0 || safe.indexOf('"') >= 0 || safe.indexOf('\n') >= 0 || safe.indexOf('\r') >= 0) {
+                return '"' + safe.replace("\"", "\"\"") + '"';
+            }
+            return safe;
+        }
+    }
+
+    /**
+     * Un objeto JSON por línea con las mismas columnas que el CSV.
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private boolean rowOpen;
+
+        NdjsonRowWriter(JsonFactory jsonFactory, OutputStream out) throws IOException {
+            this.generator = jsonFactory.createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            rowOpen = true;
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("start_time", String.valueOf(rs.getObject("start_time", LocalDateTime.class)));
+            generator.writeStringField("end_time", String.valueOf(rs.getObject("end_time", LocalDateTime.class)));
+            generator.writeStringField("status", rs.getString("status"));
+            double totalPrice = rs.getDouble("total_price");
+            if (rs.wasNull()) {
+                generator.writeNullField("total_price");
+            } else {
+                generator.writeNumberField("total_price", totalPrice);
+            }
+            LocalDateTime createdAt = rs.getObject("created_at", LocalDateTime.class);
+            generator.writeStringField("created_at", createdAt != null ? createdAt.toString() : null);
+            generator.writeNumberField("client_id", rs.getLong("client_id"));
+            generator.writeStringField("client_name",
+                    fullName(rs.getString("client_first_name"), rs.getString("client_last_name")));
+            generator.writeStringField("client_email", rs.getString("client_email"));
+            generator.writeNumberField("barber_id", rs.getLong("barber_id"));
+            generator.writeStringField("barber_name",
+                    fullName(rs.getString("barber_first_name"), rs.getString("barber_last_name")));
+            generator.writeNumberField("service_id", rs.getLong("service_id"));
+            generator.writeStringField("service_name", rs.getString("service_name"));
+            generator.writeNumberField("service_duration", rs.getInt("service_duration"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            rowOpen = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+
+        @Override
+        public void abort(String message) throws IOException {
+            // En bruto: si la fila a medias dejó el generador dentro de un objeto no admitiría otro
+            if (rowOpen) {
+                generator.writeRaw('\n');
+            }
+            generator.writeRaw("{\"error\":\"");
+            generator.writeRaw(new String(JsonStringEncoder.getInstance().quoteAsString(message)));
+            generator.writeRaw("\"}\n");
+            generator.flush();
+        }
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        return firstName + " " + lastName;
+    }
+}
@@ -4,16 +4,24 @@ import com.juandidev.barberiaback.dto.AppointmentCreateRequest;
 import com.juandidev.barberiaback.dto.AppointmentDto;
 import com.juandidev.barberiaback.dto.AppointmentUpdateRequest;
 import com.juandidev.barberiaback.exception.*;
+import com.juandidev.barberiaback.jfr.BookingEvent;
+import com.juandidev.barberiaback.jfr.BookingStageEvent;
+import com.juandidev.barberiaback.metrics.BarberiaMetrics;
 import com.juandidev.barberiaback.model.Appointment;
+import com.juandidev.barberiaback.model.AppointmentHistory;
 import com.juandidev.barberiaback.model.AppointmentStatus;
 import com.juandidev.barberiaback.model.Barber;
 import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.repository.AppointmentHistoryRepository;
 import com.juandidev.barberiaback.repository.AppointmentRepository;
 import com.juandidev.barberiaback.repository.BarberRepository;
 import com.juandidev.barberiaback.repository.ServiceRepository;
 import com.juandidev.barberiaback.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,15 +42,24 @@ public class AppointmentService {
     private final UserRepository userRepository;
     private final BarberRepository barberRepository;
     private final ServiceRepository serviceRepository;
+    private final AppointmentHistoryRepository appointmentHistoryRepository;
+    private final BarberiaMetrics metrics;
+    private final BarberRollupService rollupService;
 
-    public List<AppointmentDto> getAllAppointments() {
-        // TODO: Implementar obtención de todas las citas
-        log.info("Obteniendo todas las citas");
-        return List.of(); // Placeholder
+    @Transactional(readOnly = true)
+    public Page<AppointmentDto> getAllAppointments(Long currentUserId, User.Role currentUserRole, Pageable pageable) {
+        log.debug("Obteniendo citas para usuario ID: {} con rol: {}, página: {}", currentUserId, currentUserRole, pageable);
+        if (currentUserRole == User.Role.ADMIN) {
+            return appointmentRepository.findAllAsDto(byStartTime(pageable));
+        }
+        return listingBarberId(currentUserId, currentUserRole)
+                .map(barberId -> appointmentRepository.findByBarberIdAsDto(barberId, byStartTime(pageable)))
+                .orElseGet(() -> Page.empty(pageable));
     }
 
+    @Transactional(readOnly = true)
     public List<AppointmentDto> getAppointmentsByClient(Long clientId) {
-        log.info("Obteniendo citas del cliente ID: {}", clientId);
+        log.debug("Obteniendo citas del cliente ID: {}", clientId);
         
         List<Appointment> appointments = appointmentRepository.findByClientId(clientId);
         
@@ -51,8 +68,9 @@ public class AppointmentService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<AppointmentDto> getAppointmentsByBarber(Long barberId) {
-        log.info("Obteniendo citas del barbero ID: {}", barberId);
+        log.debug("Obteniendo citas del barbero ID: {}", barberId);
         
         List<Appointment> appointments = appointmentRepository.findByBarberId(barberId);
         
@@ -61,8 +79,9 @@ public class AppointmentService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<AppointmentDto> getAppointmentsByUser(Long userId, User.Role role, AppointmentStatus status) {
-        log.info("Obteniendo citas para usuario ID: {} con rol: {} y estado: {}", userId, role, status);
+        log.debug("Obteniendo citas para usuario ID: {} con rol: {} y estado: {}", userId, role, status);
         
         List<Appointment> appointments;
         
@@ -109,14 +128,22 @@ public class AppointmentService {
                 .collect(Collectors.toList());
     }
 
-    public List<AppointmentDto> getAppointmentsByStatus(AppointmentStatus status) {
-        // TODO: Implementar obtención de citas por estado
-        log.info("Obteniendo citas con estado: {}", status);
-        return List.of(); // Placeholder
+    @Transactional(readOnly = true)
+    public Page<AppointmentDto> getAppointmentsByStatus(AppointmentStatus status, Long currentUserId,
+                                                        User.Role currentUserRole, Pageable pageable) {
+        log.debug("Obteniendo citas con estado: {} para usuario ID: {} con rol: {}, página: {}",
+                status, currentUserId, currentUserRole, pageable);
+        if (currentUserRole == User.Role.ADMIN) {
+            return appointmentRepository.findByStatusAsDto(status, byStartTime(pageable));
+        }
+        return listingBarberId(currentUserId, currentUserRole)
+                .map(barberId -> appointmentRepository.findByBarberIdAndStatusAsDto(barberId, status, byStartTime(pageable)))
+                .orElseGet(() -> Page.empty(pageable));
     }
 
+    @Transactional(readOnly = true)
     public Optional<AppointmentDto> getAppointmentById(Long id, Long currentUserId, User.Role currentUserRole) {
-        log.info("Buscando cita con ID: {} por usuario ID: {} con rol: {}", id, currentUserId, currentUserRole);
+        log.debug("Buscando cita con ID: {} por usuario ID: {} con rol: {}", id, currentUserId, currentUserRole);
         
         return appointmentRepository.findById(id)
                 .map(appointment -> {
@@ -126,32 +153,63 @@ public class AppointmentService {
                 });
     }
 
+    @Transactional(readOnly = true)
     public List<AppointmentDto> getAppointmentsForCurrentUser(Long currentUserId, User.Role currentUserRole, AppointmentStatus status) {
-        log.info("Obteniendo citas para usuario ID: {} con rol: {} y estado: {}", currentUserId, currentUserRole, status);
+        log.debug("Obteniendo citas para usuario ID: {} con rol: {} y estado: {}", currentUserId, currentUserRole, status);
         
         return getAppointmentsByUser(currentUserId, currentUserRole, status);
     }
 
     @Transactional
     public AppointmentDto createAppointment(AppointmentCreateRequest request, Long currentUserId, User.Role currentUserRole) {
-        log.info("Creando nueva cita para cliente ID: {} con barbero ID: {} en horario: {} por usuario ID: {}", 
+        long startedAt = System.nanoTime();
+        BookingEvent event = BookingEvent.start(request.getBarberId(), request.getClientId());
+        try {
+            AppointmentDto created = doCreateAppointment(request, currentUserId, currentUserRole);
+            metrics.recordBooking(BarberiaMetrics.BookingOutcome.CREATED, System.nanoTime() - startedAt);
+            event.finish("created");
+            return created;
+        } catch (AppointmentConflictException e) {
+            metrics.recordBooking(BarberiaMetrics.BookingOutcome.CONFLICT, System.nanoTime() - startedAt);
+            event.finish("conflict");
+            throw e;
+        } catch (RuntimeException e) {
+            metrics.recordBooking(BarberiaMetrics.BookingOutcome.REJECTED, System.nanoTime() - startedAt);
+            event.finish("rejected");
+            throw e;
+        }
+    }
+
+    private AppointmentDto doCreateAppointment(AppointmentCreateRequest request, Long currentUserId, User.Role currentUserRole) {
+        log.debug("Creando nueva cita para cliente ID: {} con barbero ID: {} en horario: {} por usuario ID: {}", 
                 request.getClientId(), request.getBarberId(), request.getStartTime(), currentUserId);
         
+        // Cada etapa se registra como evento JFR (barberia.BookingStage); ver el paquete jfr
+        Long barberId = request.getBarberId();
+
         // 1. Validar autorización - Solo ADMIN o el propio cliente pueden crear citas
+        BookingStageEvent stage = BookingStageEvent.start(BookingStageEvent.VALIDATION, barberId);
         validateCreateAuthorization(request.getClientId(), currentUserId, currentUserRole);
         
         // 2. Validar que la hora de inicio no sea en el pasado
         validateAppointmentTime(request.getStartTime());
+        stage.commit();
         
         // 3. Obtener y validar entidades relacionadas
+        stage = BookingStageEvent.start(BookingStageEvent.CLIENT_LOOKUP, barberId);
         User client = userRepository.findById(request.getClientId())
                 .orElseThrow(() -> new EntityNotFoundException("Cliente", request.getClientId()));
+        stage.commit();
         
-        Barber barber = barberRepository.findById(request.getBarberId())
-                .orElseThrow(() -> new EntityNotFoundException("Barbero", request.getBarberId()));
+        stage = BookingStageEvent.start(BookingStageEvent.BARBER_LOOKUP, barberId);
+        Barber barber = barberRepository.findById(barberId)
+                .orElseThrow(() -> new EntityNotFoundException("Barbero", barberId));
+        stage.commit();
         
+        stage = BookingStageEvent.start(BookingStageEvent.SERVICE_LOOKUP, barberId);
         com.juandidev.barberiaback.model.Service service = serviceRepository.findById(request.getServiceId())
                 .orElseThrow(() -> new EntityNotFoundException("Servicio", request.getServiceId()));
+        stage.commit();
         
         // 4. Validar que el barbero esté activo y disponible
         validateBarberAvailability(barber);
@@ -160,7 +218,9 @@ public class AppointmentService {
         LocalDateTime endTime = calculateEndTime(request.getStartTime(), service.getDuration());
         
         // 6. VALIDACIÓN CRÍTICA: Verificar conflictos de horario (validación final para race conditions)
+        stage = BookingStageEvent.start(BookingStageEvent.CONFLICT_CHECK, barberId);
         boolean hasConflicts = hasConflictingAppointments(barber.getId(), request.getStartTime(), endTime);
+        stage.commit();
         
         if (hasConflicts) {
             log.warn("Race condition detectada: Conflicto de horario para barbero ID: {} en horario: {} - {}", 
@@ -170,7 +230,9 @@ public class AppointmentService {
         }
         
         // 7. Validar que la cita esté dentro del horario de trabajo del barbero
+        stage = BookingStageEvent.start(BookingStageEvent.WORKING_HOURS, barberId);
         validateBarberWorkingHours(barber, request.getStartTime(), endTime);
+        stage.commit();
         
         // 8. Crear y guardar la cita con estado PENDING por defecto
         Appointment appointment = Appointment.builder()
@@ -184,7 +246,10 @@ public class AppointmentService {
                 .totalPrice(service.getPrice())
                 .build();
         
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        // saveAndFlush: el INSERT se ejecuta aquí y no en el commit, para que la etapa lo mida
+        stage = BookingStageEvent.start(BookingStageEvent.INSERT, barberId);
+        Appointment savedAppointment = appointmentRepository.saveAndFlush(appointment);
+        stage.commit();
         
         log.info("Cita creada exitosamente con ID: {} para cliente: {} con barbero: {}", 
                 savedAppointment.getId(), client.getUsername(), barber.getFullName());
@@ -200,7 +265,7 @@ public class AppointmentService {
 
     @Transactional
     public boolean cancelAppointment(Long id, Long userId, User.Role role) {
-        log.info("Cancelando cita con ID: {} por usuario ID: {} con rol: {}", id, userId, role);
+        log.debug("Cancelando cita con ID: {} por usuario ID: {} con rol: {}", id, userId, role);
         
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Cita", id));
@@ -215,8 +280,8 @@ public class AppointmentService {
         }
         
         // Cambiar estado a CANCELLED
-        appointment.setStatus(AppointmentStatus.CANCELLED);
-        appointmentRepository.save(appointment);
+        transition(appointment, AppointmentStatus.CANCELLED, "cancelar");
+        rollupService.refresh(appointment.getBarber().getId(), appointment.getStartTime().toLocalDate());
         
         log.info("Cita con ID: {} cancelada exitosamente por usuario ID: {}", id, userId);
         return true;
@@ -224,7 +289,7 @@ public class AppointmentService {
 
     @Transactional
     public boolean confirmAppointment(Long id, Long userId, User.Role role) {
-        log.info("Confirmando cita con ID: {} por usuario ID: {} con rol: {}", id, userId, role);
+        log.debug("Confirmando cita con ID: {} por usuario ID: {} con rol: {}", id, userId, role);
         
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Cita", id));
@@ -239,8 +304,7 @@ public class AppointmentService {
         }
         
         // Cambiar estado a CONFIRMED
-        appointment.setStatus(AppointmentStatus.CONFIRMED);
-        appointmentRepository.save(appointment);
+        transition(appointment, AppointmentStatus.CONFIRMED, "confirmar");
         
         log.info("Cita con ID: {} confirmada exitosamente por usuario ID: {}", id, userId);
         return true;
@@ -248,7 +312,7 @@ public class AppointmentService {
 
     @Transactional
     public boolean completeAppointment(Long id, Long userId, User.Role role) {
-        log.info("Completando cita con ID: {} por usuario ID: {} con rol: {}", id, userId, role);
+        log.debug("Completando cita con ID: {} por usuario ID: {} con rol: {}", id, userId, role);
         
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Cita", id));
@@ -263,29 +327,57 @@ public class AppointmentService {
         }
         
         // Cambiar estado a COMPLETED
-        appointment.setStatus(AppointmentStatus.COMPLETED);
-        appointmentRepository.save(appointment);
+        transition(appointment, AppointmentStatus.COMPLETED, "completar");
+        rollupService.refresh(appointment.getBarber().getId(), appointment.getStartTime().toLocalDate());
         
         log.info("Cita con ID: {} completada exitosamente por usuario ID: {}", id, userId);
         return true;
     }
 
-    public List<AppointmentDto> getAppointmentsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        // TODO: Implementar búsqueda por rango de fechas
-        log.info("Buscando citas entre {} y {}", startDate, endDate);
-        return List.of(); // Placeholder
+    /**
+     * Cambia el estado solo si sigue siendo el que se validó. Leer, modificar y guardar la entidad
+     * pisaría un cambio concurrente (p. ej. la expiración de una PENDING, que libera el hueco a otra
+     * reserva); el UPDATE condicionado bloquea la fila y no actualiza nada si otro llegó antes.
+     */
+    private void transition(Appointment appointment, AppointmentStatus to, String operation) {
+        int updated = appointmentRepository.transitionStatus(
+                List.of(appointment.getId()), appointment.getStatus(), to, LocalDateTime.now());
+        if (updated != 1) {
+            throw new InvalidAppointmentStatusException(String.format(
+                    "No se puede %s la cita con ID %d: su estado cambió mientras se procesaba la solicitud",
+                    operation, appointment.getId()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<AppointmentDto> getAppointmentsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                                           Long currentUserId, User.Role currentUserRole,
+                                                           Pageable pageable) {
+        log.debug("Buscando citas entre {} y {} para usuario ID: {} con rol: {}, página: {}",
+                startDate, endDate, currentUserId, currentUserRole, pageable);
+        validateDateRange(startDate, endDate);
+        if (currentUserRole == User.Role.ADMIN) {
+            return appointmentRepository.findByDateRangeAsDto(startDate, endDate, byStartTime(pageable));
+        }
+        return listingBarberId(currentUserId, currentUserRole)
+                .map(barberId -> appointmentRepository.findByBarberIdAndDateRangeAsDto(
+                        barberId, startDate, endDate, byStartTime(pageable)))
+                .orElseGet(() -> Page.empty(pageable));
     }
 
-    public List<AppointmentDto> getBarberAppointmentsByDateRange(Long barberId, 
-                                                                LocalDateTime startDate, 
-                                                                LocalDateTime endDate) {
-        // TODO: Implementar búsqueda de citas de barbero por rango de fechas
-        log.info("Buscando citas del barbero ID: {} entre {} y {}", barberId, startDate, endDate);
-        return List.of(); // Placeholder
+    @Transactional(readOnly = true)
+    public Page<AppointmentDto> getBarberAppointmentsByDateRange(Long barberId,
+                                                                LocalDateTime startDate,
+                                                                LocalDateTime endDate,
+                                                                Pageable pageable) {
+        log.debug("Buscando citas del barbero ID: {} entre {} y {}, página: {}", barberId, startDate, endDate, pageable);
+        validateDateRange(startDate, endDate);
+        return appointmentRepository.findByBarberIdAndDateRangeAsDto(barberId, startDate, endDate, byStartTime(pageable));
     }
 
+    @Transactional(readOnly = true)
     public boolean hasConflictingAppointments(Long barberId, LocalDateTime startTime, LocalDateTime endTime) {
-        log.info("Verificando conflictos para barbero ID: {} entre {} y {}", barberId, startTime, endTime);
+        log.debug("Verificando conflictos para barbero ID: {} entre {} y {}", barberId, startTime, endTime);
         
         List<AppointmentStatus> activeStatuses = Arrays.asList(
                 AppointmentStatus.PENDING, 
@@ -305,14 +397,57 @@ public class AppointmentService {
         return hasConflicts;
     }
 
+    /**
+     * Consultar citas de meses ya archivados (tabla appointments_history), paginadas por hora de inicio.
+     * Aplica la misma visibilidad por rol que las citas vigentes.
+     */
+    @Transactional(readOnly = true)
+    public Page<AppointmentDto> getArchivedAppointmentsForCurrentUser(Long currentUserId, User.Role currentUserRole,
+                                                                     LocalDateTime startDate, LocalDateTime endDate,
+                                                                     Pageable pageable) {
+        log.debug("Obteniendo citas archivadas para usuario ID: {} con rol: {} entre {} y {}, página: {}",
+                currentUserId, currentUserRole, startDate, endDate, pageable);
+        validateDateRange(startDate, endDate);
+
+        Page<AppointmentHistory> archived;
+
+        switch (currentUserRole) {
+            case CLIENT:
+                archived = appointmentHistoryRepository.findByClientIdAndStartTimeBetweenOrderByStartTimeAscIdAsc(
+                        currentUserId, startDate, endDate, byStartTime(pageable));
+                break;
+
+            case BARBER:
+                Optional<Long> barberId = listingBarberId(currentUserId, currentUserRole);
+                if (barberId.isEmpty()) {
+                    return Page.empty(pageable);
+                }
+                archived = appointmentHistoryRepository.findByBarberIdAndStartTimeBetweenOrderByStartTimeAscIdAsc(
+                        barberId.get(), startDate, endDate, byStartTime(pageable));
+                break;
+
+            case ADMIN:
+                archived = appointmentHistoryRepository.findByStartTimeBetweenOrderByStartTimeAscIdAsc(
+                        startDate, endDate, byStartTime(pageable));
+                break;
+
+            default:
+                throw new UnauthorizedAppointmentAccessException("Rol no autorizado para consultar citas: " + currentUserRole);
+        }
+
+        return archived.map(this::convertToDto);
+    }
+
+    @Transactional(readOnly = true)
     public Long getCompletedAppointmentsCount(Long barberId, LocalDateTime startDate, LocalDateTime endDate) {
-        // TODO: Implementar conteo de citas completadas
-        log.info("Contando citas completadas del barbero ID: {} entre {} y {}", barberId, startDate, endDate);
-        return 0L; // Placeholder
+        log.debug("Contando citas completadas del barbero ID: {} entre {} y {}", barberId, startDate, endDate);
+        validateDateRange(startDate, endDate);
+        return appointmentRepository.countCompletedAppointmentsByBarberAndDateRange(barberId, startDate, endDate);
     }
 
     // Métodos privados para conversión y validación
-    private AppointmentDto convertToDto(Appointment appointment) {
+    // (convertToDto con visibilidad de paquete para los benchmarks JMH de src/jmh/java)
+    AppointmentDto convertToDto(Appointment appointment) {
         return AppointmentDto.builder()
                 .id(appointment.getId())
                 .clientId(appointment.getClient().getId())
@@ -333,6 +468,52 @@ public class AppointmentService {
                 .build();
     }
 
+    private AppointmentDto convertToDto(AppointmentHistory appointment) {
+        return AppointmentDto.builder()
+                .id(appointment.getId())
+                .clientId(appointment.getClientId())
+                .barberId(appointment.getBarberId())
+                .serviceId(appointment.getServiceId())
+                .startTime(appointment.getStartTime())
+                .endTime(appointment.getEndTime())
+                .status(appointment.getStatus())
+                .notes(appointment.getNotes())
+                .totalPrice(appointment.getTotalPrice())
+                .createdAt(appointment.getCreatedAt())
+                .updatedAt(appointment.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Barbero al que se limitan los listados generales: un BARBER solo ve sus propias citas (con los
+     * datos de contacto de sus clientes), igual que en getAppointmentsByUser.
+     */
+    private Optional<Long> listingBarberId(Long currentUserId, User.Role currentUserRole) {
+        if (currentUserRole != User.Role.BARBER) {
+            throw new UnauthorizedAppointmentAccessException("Rol no autorizado para consultar citas: " + currentUserRole);
+        }
+        Optional<Long> barberId = barberRepository.findByUserId(currentUserId).map(Barber::getId);
+        if (barberId.isEmpty()) {
+            log.warn("No se encontró barbero para usuario ID: {}", currentUserId);
+        }
+        return barberId;
+    }
+
+    /**
+     * Las consultas paginadas ordenan siempre por hora de inicio (y id) para usar los índices sobre
+     * start_time; se conserva solo la página pedida y se ignora cualquier otro orden.
+     */
+    private static Pageable byStartTime(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    private void validateDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new InvalidAppointmentTimeException(String.format(
+                    "Rango de fechas inválido: el inicio (%s) debe ser anterior al fin (%s)", startDate, endDate));
+        }
+    }
+
     private void validateAppointmentTime(LocalDateTime startTime) {
         if (startTime.isBefore(LocalDateTime.now())) {
             throw new InvalidAppointmentTimeException(startTime);
@@ -460,8 +641,9 @@ public class AppointmentService {
      * Obtener citas confirmadas de un barbero en una fecha específica
      * Método requerido por AvailabilityService
      */
+    @Transactional(readOnly = true)
     public List<AppointmentDto> getAppointmentsByBarberAndDate(Long barberId, LocalDate date) {
-        log.info("Obteniendo citas confirmadas para barbero ID: {} en fecha: {}", barberId, date);
+        log.debug("Obteniendo citas confirmadas para barbero ID: {} en fecha: {}", barberId, date);
         
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.atTime(23, 59, 59);
@@ -475,7 +657,7 @@ public class AppointmentService {
                                      appointment.getStatus() == AppointmentStatus.PENDING)
                 .collect(Collectors.toList());
         
-        log.info("Encontradas {} citas que bloquean horario para barbero ID: {} en fecha: {}", 
+        log.debug("Encontradas {} citas que bloquean horario para barbero ID: {} en fecha: {}", 
                 confirmedAppointments.size(), barberId, date);
         
         return confirmedAppointments.stream()
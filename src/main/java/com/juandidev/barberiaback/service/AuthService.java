@@ -2,18 +2,26 @@ package com.juandidev.barberiaback.service;
 
 import com.juandidev.barberiaback.dto.JwtAuthenticationResponse;
 import com.juandidev.barberiaback.dto.LoginRequest;
+import com.juandidev.barberiaback.dto.RefreshTokenRequest;
 import com.juandidev.barberiaback.dto.UserCreateRequest;
 import com.juandidev.barberiaback.exception.UserAlreadyExistsException;
 import com.juandidev.barberiaback.model.User;
 import com.juandidev.barberiaback.repository.UserRepository;
 import com.juandidev.barberiaback.security.JwtUtil;
+import com.juandidev.barberiaback.security.PasswordVerificationExecutor;
+import com.juandidev.barberiaback.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -23,23 +31,16 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
 
     // Método específico para registro de clientes (signup)
     public JwtAuthenticationResponse signup(UserCreateRequest request) {
         log.info("Iniciando registro de nuevo cliente con username: {}", request.getUsername());
         
-        // Verificar que el username no exista
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new UserAlreadyExistsException("username", request.getUsername());
-        }
-        
-        // Verificar que el email no exista
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new UserAlreadyExistsException("email", request.getEmail());
-        }
-        
-        // Crear nuevo usuario con rol CLIENT
+        // BCrypt antes de tocar la base de datos: la conexión solo se ocupa durante el INSERT
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
@@ -49,11 +50,17 @@ public class AuthService {
                 .role(User.Role.CLIENT) // Asignar rol CLIENT automáticamente
                 .build();
         
-        // Guardar usuario en la base de datos
-        User savedUser = userRepository.save(user);
+        // Insertar directamente; las restricciones únicas detectan duplicados, también entre registros concurrentes
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw toUserAlreadyExists(e, request);
+        }
         
-        // Generar JWT token
+        // Generar JWT token y refresh token
         String token = jwtUtil.generateToken(savedUser);
+        String refreshToken = refreshTokenService.issue(savedUser);
         Long expirationTime = jwtUtil.getExpirationTime();
         
         log.info("Cliente registrado exitosamente con ID: {} y username: {}", 
@@ -61,6 +68,7 @@ public class AuthService {
         
         return JwtAuthenticationResponse.builder()
                 .token(token)
+                .refreshToken(refreshToken)
                 .username(savedUser.getUsername())
                 .email(savedUser.getEmail())
                 .firstName(savedUser.getFirstName())
@@ -75,26 +83,28 @@ public class AuthService {
     public JwtAuthenticationResponse signin(LoginRequest request) {
         log.info("Iniciando sesión para usuario: {}", request.getUsername());
         
-        // Autenticar credenciales usando AuthenticationManager
-        authenticationManager.authenticate(
+        // Autenticar credenciales usando AuthenticationManager (BCrypt) en el pool de verificación
+        passwordVerificationExecutor.execute(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getUsername(),
                         request.getPassword()
                 )
-        );
+        ));
         
         // Obtener usuario autenticado
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
         
-        // Generar JWT token con detalles del usuario y roles
+        // Generar JWT token con detalles del usuario y roles, y el refresh token de la sesión
         String token = jwtUtil.generateToken(user);
+        String refreshToken = refreshTokenService.issue(user);
         Long expirationTime = jwtUtil.getExpirationTime();
         
         log.info("Login exitoso para usuario: {} con rol: {}", user.getUsername(), user.getRole());
         
         return JwtAuthenticationResponse.builder()
                 .token(token)
+                .refreshToken(refreshToken)
                 .username(user.getUsername())
                 .email(user.getEmail())
                 .firstName(user.getFirstName())
@@ -104,4 +114,61 @@ public class AuthService {
                 .message("Login exitoso")
                 .build();
     }
+
+    // Renovación del access token rotando el refresh token
+    public JwtAuthenticationResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        User user = rotation.user();
+
+        String token = jwtUtil.generateToken(user);
+        log.debug("Access token renovado para usuario: {}", user.getUsername());
+
+        return JwtAuthenticationResponse.builder()
+                .token(token)
+                .refreshToken(rotation.refreshToken())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .role(user.getRole())
+                .expiresIn(jwtUtil.getExpirationTime())
+                .message("Token renovado")
+                .build();
+    }
+
+    // Cierre de sesión: revoca el access token actual y la sesión del refresh token (o todas)
+    public void logout(String accessToken, String refreshToken, boolean allSessions) {
+        Claims claims = jwtUtil.extractAllClaims(accessToken);
+        Long userId = claims.get(JwtUtil.CLAIM_USER_ID, Long.class);
+
+        if (allSessions && userId != null) {
+            tokenRevocationService.revokeAllForUser(userId);
+            refreshTokenService.revokeAllForUser(userId);
+            log.info("Cerradas todas las sesiones del usuario ID: {}", userId);
+            return;
+        }
+
+        tokenRevocationService.revokeAccessToken(claims.getId(), claims.getExpiration());
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        log.info("Sesión cerrada para usuario: {}", claims.getSubject());
+    }
+
+    // Traduce la violación de uk_users_username / uk_users_email al campo duplicado
+    private RuntimeException toUserAlreadyExists(DataIntegrityViolationException e, UserCreateRequest request) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : e.getMostSpecificCause().getMessage();
+        constraint = constraint != null ? constraint.toLowerCase(Locale.ROOT) : "";
+
+        if (constraint.contains(User.UK_USERNAME)) {
+            return new UserAlreadyExistsException("username", request.getUsername());
+        }
+        if (constraint.contains(User.UK_EMAIL)) {
+            return new UserAlreadyExistsException("email", request.getEmail());
+        }
+        return e;
+    }
 }
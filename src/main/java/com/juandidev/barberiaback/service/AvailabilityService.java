@@ -5,12 +5,15 @@ import com.juandidev.barberiaback.dto.AvailableSlotDto;
 import com.juandidev.barberiaback.dto.WorkScheduleDto;
 import com.juandidev.barberiaback.exception.AvailabilityException;
 import com.juandidev.barberiaback.exception.EntityNotFoundException;
+import com.juandidev.barberiaback.jfr.AvailabilityEvent;
+import com.juandidev.barberiaback.metrics.BarberiaMetrics;
 import com.juandidev.barberiaback.model.DayOfWeek;
 import com.juandidev.barberiaback.model.User;
 import com.juandidev.barberiaback.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -28,21 +31,28 @@ public class AvailabilityService {
     private final ScheduleService scheduleService;
     private final AppointmentService appointmentService;
     private final UserRepository userRepository;
+    private final BarberiaMetrics metrics;
 
     /**
      * Lógica central: Calcular slots de tiempo disponibles para un barbero en una fecha específica
      */
+    @Transactional(readOnly = true)
     public List<AvailableSlotDto> getAvailableTimeSlots(Long barberId, LocalDate date, Integer durationMinutes) {
-        log.info("Calculando slots disponibles para barbero ID: {} en fecha: {} con duración: {} minutos", 
+        log.debug("Calculando slots disponibles para barbero ID: {} en fecha: {} con duración: {} minutos", 
                 barberId, date, durationMinutes);
 
+        long startedAt = System.nanoTime();
+        AvailabilityEvent event = AvailabilityEvent.start(barberId, date, durationMinutes);
+
         // Validaciones de entrada
         validateInputParameters(barberId, date, durationMinutes);
 
         // Paso 1: Obtener horario de trabajo del barbero para el día
         WorkScheduleDto workSchedule = getWorkScheduleForDay(barberId, date);
         if (workSchedule == null) {
-            log.info("No hay horario de trabajo para barbero ID: {} en día: {}", barberId, date.getDayOfWeek());
+            log.debug("No hay horario de trabajo para barbero ID: {} en día: {}", barberId, date.getDayOfWeek());
+            metrics.recordAvailability(System.nanoTime() - startedAt, 0, 0, 0);
+            event.finish(0, 0, 0);
             return new ArrayList<>();
         }
 
@@ -56,8 +66,11 @@ public class AvailabilityService {
         // Paso 4: Filtrar slots que se superponen con citas existentes
         List<AvailableSlotDto> availableSlots = filterAvailableSlots(potentialSlots, existingAppointments);
 
-        log.info("Generados {} slots potenciales, {} slots disponibles para barbero ID: {} en fecha: {}", 
+        log.debug("Generados {} slots potenciales, {} slots disponibles para barbero ID: {} en fecha: {}", 
                 potentialSlots.size(), availableSlots.size(), barberId, date);
+        metrics.recordAvailability(System.nanoTime() - startedAt,
+                potentialSlots.size(), availableSlots.size(), existingAppointments.size());
+        event.finish(potentialSlots.size(), availableSlots.size(), existingAppointments.size());
 
         return availableSlots;
     }
@@ -65,8 +78,9 @@ public class AvailabilityService {
     /**
      * Obtener todos los barberos disponibles en una fecha y hora específica
      */
+    @Transactional(readOnly = true)
     public List<AvailableSlotDto> getAvailableBarbersAtDateTime(LocalDate date, LocalTime time, Integer durationMinutes) {
-        log.info("Buscando barberos disponibles en fecha: {} hora: {} duración: {} minutos", date, time, durationMinutes);
+        log.debug("Buscando barberos disponibles en fecha: {} hora: {} duración: {} minutos", date, time, durationMinutes);
 
         // Validaciones
         validateDateAndTime(date, time, durationMinutes);
@@ -97,15 +111,16 @@ public class AvailabilityService {
             }
         }
 
-        log.info("Encontrados {} barberos disponibles en fecha: {} hora: {}", availableBarbers.size(), date, time);
+        log.debug("Encontrados {} barberos disponibles en fecha: {} hora: {}", availableBarbers.size(), date, time);
         return availableBarbers;
     }
 
     /**
      * Verificar si un slot específico está disponible
      */
+    @Transactional(readOnly = true)
     public boolean isSlotAvailable(Long barberId, LocalDate date, LocalTime startTime, Integer durationMinutes) {
-        log.info("Verificando disponibilidad de slot: barbero ID: {} fecha: {} hora: {} duración: {} minutos", 
+        log.debug("Verificando disponibilidad de slot: barbero ID: {} fecha: {} hora: {} duración: {} minutos", 
                 barberId, date, startTime, durationMinutes);
 
         try {
@@ -197,8 +212,9 @@ public class AvailabilityService {
         }
     }
 
-    private List<AvailableSlotDto> generatePotentialSlots(WorkScheduleDto workSchedule, LocalDate date, 
-                                                         Integer durationMinutes, Long barberId) {
+    // Visibilidad de paquete para los benchmarks JMH (src/jmh/java)
+    List<AvailableSlotDto> generatePotentialSlots(WorkScheduleDto workSchedule, LocalDate date, 
+                                                 Integer durationMinutes, Long barberId) {
         List<AvailableSlotDto> slots = new ArrayList<>();
         
         LocalTime currentTime = workSchedule.getStartTime();
@@ -228,12 +244,11 @@ public class AvailabilityService {
             currentTime = currentTime.plusMinutes(durationMinutes);
         }
         
-        log.debug("Generados {} slots potenciales para barbero ID: {} en fecha: {}", slots.size(), barberId, date);
         return slots;
     }
 
-    private List<AvailableSlotDto> filterAvailableSlots(List<AvailableSlotDto> potentialSlots, 
-                                                       List<AppointmentDto> existingAppointments) {
+    List<AvailableSlotDto> filterAvailableSlots(List<AvailableSlotDto> potentialSlots, 
+                                               List<AppointmentDto> existingAppointments) {
         return potentialSlots.stream()
                 .filter(slot -> !isSlotBlocked(slot, existingAppointments))
                 .collect(Collectors.toList());
@@ -253,8 +268,9 @@ public class AvailabilityService {
         boolean overlaps = slot.getStartTime().isBefore(appointmentEnd) && 
                           slot.getEndTime().isAfter(appointmentStart);
         
-        if (overlaps) {
-            log.debug("Slot {}:{} se superpone con cita {}:{}", 
+        // Se evalúa por cada par slot/cita: sin la comprobación previa, el varargs se reserva aunque el nivel esté apagado
+        if (overlaps && log.isTraceEnabled()) {
+            log.trace("Slot {}:{} se superpone con cita {}:{}", 
                     slot.getStartTime(), slot.getEndTime(), appointmentStart, appointmentEnd);
         }
         
@@ -0,0 +1,191 @@
+package com.juandidev.barberiaback.service;
+
+import com.juandidev.barberiaback.dto.BarberRollupDto;
+import com.juandidev.barberiaback.exception.EntityNotFoundException;
+import com.juandidev.barberiaback.exception.InvalidAppointmentTimeException;
+import com.juandidev.barberiaback.model.Barber;
+import com.juandidev.barberiaback.model.BarberDailyRollup;
+import com.juandidev.barberiaback.model.DayOfWeek;
+import com.juandidev.barberiaback.repository.AppointmentRepository;
+import com.juandidev.barberiaback.repository.BarberDailyRollupRepository;
+import com.juandidev.barberiaback.repository.BarberRepository;
+import com.juandidev.barberiaback.repository.WorkScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Agregados diarios por barbero (barber_daily_rollups) para los paneles de ingresos y ocupación.
+ *
+ * Cada cambio de estado recalcula entero el día afectado desde appointments, en la misma
+ * transacción que el cambio y tras bloquear la fila del barbero. Como toda transacción cambia sus
+ * citas antes de pedir ese bloqueo, la última en obtenerlo ve ya confirmadas las de las demás y
+ * deja el agregado correcto: no hay incrementos que se pierdan ni se apliquen dos veces, y
+ * repetir un recálculo no cambia nada. Los paneles leen solo esta tabla.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BarberRollupService {
+
+    public enum Granularity { DAY, WEEK, MONTH }
+
+    private static final long MAX_DASHBOARD_DAYS = 731;
+
+    private final BarberDailyRollupRepository rollupRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final BarberRepository barberRepository;
+    private final WorkScheduleRepository workScheduleRepository;
+
+    /**
+     * Recalcula el agregado de un barbero en un día. Debe llamarse después de cambiar las citas.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(Long barberId, LocalDate date) {
+        refresh(Map.of(barberId, List.of(date)));
+    }
+
+    /**
+     * Recalcula varios días de varios barberos, bloqueándolos en orden de ID para que dos
+     * transacciones con barberos en común no se interbloqueen.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(Map<Long, ? extends Collection<LocalDate>> datesByBarber) {
+        new TreeMap<>(datesByBarber).forEach((barberId, dates) -> {
+            Barber barber = barberRepository.lockById(barberId)
+                    .orElseThrow(() -> new EntityNotFoundException("Barbero", barberId));
+            for (LocalDate date : new TreeSet<>(dates)) {
+                recompute(barber, date);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<BarberRollupDto> getRollups(Long barberId, LocalDate from, LocalDate to, Granularity granularity) {
+        log.debug("Obteniendo agregados {} del barbero ID: {} entre {} y {}", granularity, barberId, from, to);
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_DASHBOARD_DAYS) {
+            throw new InvalidAppointmentTimeException(String.format(
+                    "El rango de fechas debe tener entre 1 y %d días: %s - %s", MAX_DASHBOARD_DAYS, from, to));
+        }
+
+        List<BarberDailyRollup> rollups = barberId != null
+                ? rollupRepository.findByBarberIdAndDateBetweenOrderByDate(barberId, from, to)
+                : rollupRepository.findByDateBetweenOrderByBarberIdAscDateAsc(from, to);
+
+        Map<Period, BarberRollupDto> periods = new LinkedHashMap<>();
+        for (BarberDailyRollup rollup : rollups) {
+            LocalDate start = periodStart(rollup.getDate(), granularity);
+            BarberRollupDto dto = periods.computeIfAbsent(new Period(rollup.getBarberId(), start),
+                    period -> emptyPeriod(period, periodEnd(start, granularity)));
+            dto.setCompletedCount(dto.getCompletedCount() + rollup.getCompletedCount());
+            dto.setCancelledCount(dto.getCancelledCount() + rollup.getCancelledCount());
+            dto.setNoShowCount(dto.getNoShowCount() + rollup.getNoShowCount());
+            dto.setRevenue(dto.getRevenue() + rollup.getRevenue());
+            dto.setCompletedMinutes(dto.getCompletedMinutes() + rollup.getCompletedMinutes());
+            dto.setCapacityMinutes(dto.getCapacityMinutes() + rollup.getCapacityMinutes());
+        }
+
+        List<BarberRollupDto> result = new ArrayList<>(periods.values());
+        for (BarberRollupDto dto : result) {
+            dto.setUtilization(dto.getCapacityMinutes() > 0
+                    ? (double) dto.getCompletedMinutes() / dto.getCapacityMinutes()
+                    : null);
+        }
+        return result;
+    }
+
+    private void recompute(Barber barber, LocalDate date) {
+        int completed = 0;
+        int cancelled = 0;
+        int noShow = 0;
+        double revenue = 0;
+        long completedMinutes = 0;
+
+        for (AppointmentRepository.DayActivity activity : appointmentRepository.findDayActivity(
+                barber.getId(), date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+            switch (activity.getStatus()) {
+                case COMPLETED -> {
+                    completed++;
+                    revenue += activity.getTotalPrice() != null ? activity.getTotalPrice() : 0;
+                    completedMinutes += Duration.between(activity.getStartTime(), activity.getEndTime()).toMinutes();
+                }
+                case CANCELLED -> cancelled++;
+                case NO_SHOW -> noShow++;
+                default -> {
+                    // PENDING, CONFIRMED y EXPIRED no cuentan todavía (o nunca) en el panel
+                }
+            }
+        }
+
+        BarberDailyRollup rollup = rollupRepository.findById(new BarberDailyRollup.Key(barber.getId(), date))
+                .orElseGet(() -> BarberDailyRollup.builder().barberId(barber.getId()).date(date).build());
+        rollup.setCompletedCount(completed);
+        rollup.setCancelledCount(cancelled);
+        rollup.setNoShowCount(noShow);
+        rollup.setRevenue(revenue);
+        rollup.setCompletedMinutes((int) completedMinutes);
+        rollup.setCapacityMinutes(capacityMinutes(barber, date));
+        rollup.setUpdatedAt(LocalDateTime.now());
+        rollupRepository.save(rollup);
+    }
+
+    /**
+     * Minutos del horario activo del barbero ese día de la semana. WorkSchedule referencia al
+     * usuario del barbero; el ID del proxy LAZY no requiere cargarlo.
+     */
+    private int capacityMinutes(Barber barber, LocalDate date) {
+        return workScheduleRepository.findByBarberIdAndDayOfWeek(
+                        barber.getUser().getId(), DayOfWeek.valueOf(date.getDayOfWeek().name()))
+                .filter(schedule -> Boolean.TRUE.equals(schedule.getActive()))
+                .map(schedule -> (int) schedule.getWorkingMinutes())
+                .orElse(0);
+    }
+
+    private static LocalDate periodStart(LocalDate date, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(java.time.DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate periodEnd(LocalDate start, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> start;
+            case WEEK -> start.plusDays(6);
+            case MONTH -> start.with(TemporalAdjusters.lastDayOfMonth());
+        };
+    }
+
+    private static BarberRollupDto emptyPeriod(Period period, LocalDate end) {
+        return BarberRollupDto.builder()
+                .barberId(period.barberId())
+                .periodStart(period.start())
+                .periodEnd(end)
+                .completedCount(0)
+                .cancelledCount(0)
+                .noShowCount(0)
+                .revenue(0.0)
+                .completedMinutes(0)
+                .capacityMinutes(0)
+                .build();
+    }
+
+    private record Period(Long barberId, LocalDate start) {
+    }
+}
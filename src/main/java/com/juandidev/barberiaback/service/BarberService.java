@@ -12,6 +12,7 @@ import com.juandidev.barberiaback.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalTime;
 import java.util.List;
@@ -26,8 +27,9 @@ public class BarberService {
     private final BarberRepository barberRepository;
     private final UserRepository userRepository;
 
+    @Transactional(readOnly = true)
     public List<BarberDto> getAllActiveBarbers() {
-        log.info("Obteniendo todos los barberos activos");
+        log.debug("Obteniendo todos los barberos activos");
         
         List<Barber> activeBarbers = barberRepository.findByActiveTrue();
         
@@ -36,8 +38,9 @@ public class BarberService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<BarberDto> getAllAvailableBarbers() {
-        log.info("Obteniendo barberos disponibles");
+        log.debug("Obteniendo barberos disponibles");
         
         List<Barber> availableBarbers = barberRepository.findByActiveTrueAndAvailableTrue();
         
@@ -46,22 +49,25 @@ public class BarberService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Optional<BarberDto> getBarberById(Long id) {
-        log.info("Buscando barbero con ID: {}", id);
+        log.debug("Buscando barbero con ID: {}", id);
         
         return barberRepository.findById(id)
                 .map(this::convertToDto);
     }
 
+    @Transactional(readOnly = true)
     public Optional<BarberDto> getBarberByUserId(Long userId) {
-        log.info("Buscando barbero por ID de usuario: {}", userId);
+        log.debug("Buscando barbero por ID de usuario: {}", userId);
         
         return barberRepository.findByUserId(userId)
                 .map(this::convertToDto);
     }
 
+    @Transactional
     public BarberDto createBarber(BarberCreateRequest request) {
-        log.info("Creando nuevo barbero para usuario ID: {}", request.getUserId());
+        log.debug("Creando nuevo barbero para usuario ID: {}", request.getUserId());
         
         // Verificar que el usuario existe
         User user = userRepository.findById(request.getUserId())
@@ -87,8 +93,9 @@ public class BarberService {
         return convertToDto(savedBarber);
     }
 
+    @Transactional
     public Optional<BarberDto> updateBarber(Long id, BarberUpdateRequest request) {
-        log.info("Actualizando barbero con ID: {}", id);
+        log.debug("Actualizando barbero con ID: {}", id);
         
         return barberRepository.findById(id)
                 .map(existingBarber -> {
@@ -99,8 +106,9 @@ public class BarberService {
                 });
     }
 
+    @Transactional
     public boolean deleteBarber(Long id) {
-        log.info("Eliminando barbero con ID: {}", id);
+        log.debug("Eliminando barbero con ID: {}", id);
         
         return barberRepository.findById(id)
                 .map(barber -> {
@@ -113,8 +121,9 @@ public class BarberService {
                 .orElse(false);
     }
 
+    @Transactional(readOnly = true)
     public List<BarberDto> getAvailableBarbersAtTime(LocalTime time) {
-        log.info("Buscando barberos disponibles a las: {}", time);
+        log.debug("Buscando barberos disponibles a las: {}", time);
         
         List<Barber> availableBarbers = barberRepository.findAvailableBarbersAtTime(time);
         
@@ -123,8 +132,9 @@ public class BarberService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<BarberDto> getBarbersBySpecialty(String specialty) {
-        log.info("Buscando barberos con especialidad: {}", specialty);
+        log.debug("Buscando barberos con especialidad: {}", specialty);
         
         List<Barber> barbers = barberRepository.findBySpecialtyContainingIgnoreCase(specialty);
         
@@ -133,8 +143,9 @@ public class BarberService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<BarberDto> getBarbersByMinimumExperience(Integer minYears) {
-        log.info("Buscando barberos con experiencia mínima: {} años", minYears);
+        log.debug("Buscando barberos con experiencia mínima: {} años", minYears);
         
         List<Barber> barbers = barberRepository.findByMinimumExperience(minYears);
         
@@ -143,13 +154,15 @@ public class BarberService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public boolean existsByUserId(Long userId) {
-        log.info("Verificando si existe barbero para usuario ID: {}", userId);
+        log.debug("Verificando si existe barbero para usuario ID: {}", userId);
         return barberRepository.existsByUserId(userId);
     }
 
+    @Transactional
     public boolean updateAvailability(Long id, boolean available) {
-        log.info("Actualizando disponibilidad del barbero ID: {} a: {}", id, available);
+        log.debug("Actualizando disponibilidad del barbero ID: {} a: {}", id, available);
         
         return barberRepository.findById(id)
                 .map(barber -> {
@@ -0,0 +1,127 @@
+package com.juandidev.barberiaback.service;
+
+import com.juandidev.barberiaback.exception.InvalidRefreshTokenException;
+import com.juandidev.barberiaback.model.RefreshToken;
+import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Emisión y rotación de refresh tokens.
+ *
+ * El valor entregado al cliente son 32 bytes aleatorios; en la base de datos solo se guarda su
+ * SHA-256, suficiente para un secreto de esa entropía. Cada refresco invalida el token usado y
+ * emite otro de la misma familia; presentar un token ya rotado indica robo y revoca la familia.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration refreshTokenTtl;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-expiration:2592000000}") long refreshTokenTtlMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenTtl = Duration.ofMillis(refreshTokenTtlMillis);
+    }
+
+    /**
+     * Emite el primer refresh token de una sesión nueva.
+     */
+    @Transactional
+    public String issue(User user) {
+        return create(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consume un refresh token y devuelve su sucesor junto con el usuario al que pertenece.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Refresh token no válido"));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.getRevokedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Reutilización de refresh token del usuario ID: {}; revocados {} tokens de su familia",
+                    current.getUser().getId(), revoked);
+            throw new InvalidRefreshTokenException("Refresh token ya utilizado");
+        }
+
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException("Refresh token caducado");
+        }
+
+        User user = current.getUser();
+        if (!user.isEnabled()) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Usuario deshabilitado");
+        }
+
+        return new Rotation(user, create(user, current.getFamilyId()));
+    }
+
+    /**
+     * Cierra la sesión a la que pertenece el token. Un token desconocido se ignora.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    @Transactional
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 15 4 * * *}")
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Eliminados {} refresh tokens caducados", deleted);
+    }
+
+    private String create(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plus(refreshTokenTtl))
+                .build());
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    public record Rotation(User user, String refreshToken) {
+    }
+}
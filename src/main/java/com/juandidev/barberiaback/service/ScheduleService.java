@@ -32,8 +32,9 @@ public class ScheduleService {
     /**
      * Obtener todos los horarios de un barbero específico
      */
+    @Transactional(readOnly = true)
     public List<WorkScheduleDto> findAllByBarberId(Long barberId) {
-        log.info("Obteniendo horarios para barbero ID: {}", barberId);
+        log.debug("Obteniendo horarios para barbero ID: {}", barberId);
         
         List<WorkSchedule> schedules = workScheduleRepository.findByBarberIdOrderByDayOfWeek(barberId);
         
@@ -45,8 +46,9 @@ public class ScheduleService {
     /**
      * Obtener solo los horarios activos de un barbero
      */
+    @Transactional(readOnly = true)
     public List<WorkScheduleDto> findActiveByBarberId(Long barberId) {
-        log.info("Obteniendo horarios activos para barbero ID: {}", barberId);
+        log.debug("Obteniendo horarios activos para barbero ID: {}", barberId);
         
         List<WorkSchedule> schedules = workScheduleRepository.findByBarberIdAndActiveTrueOrderByDayOfWeek(barberId);
         
@@ -58,8 +60,9 @@ public class ScheduleService {
     /**
      * Obtener horario específico por ID
      */
+    @Transactional(readOnly = true)
     public Optional<WorkScheduleDto> findById(Long id) {
-        log.info("Buscando horario con ID: {}", id);
+        log.debug("Buscando horario con ID: {}", id);
         
         return workScheduleRepository.findById(id)
                 .map(this::convertToDto);
@@ -70,7 +73,7 @@ public class ScheduleService {
      */
     @Transactional
     public WorkScheduleDto createSchedule(WorkScheduleCreateRequest request, Long currentUserId, User.Role currentUserRole) {
-        log.info("Creando horario para barbero ID: {} en día: {} por usuario ID: {}", 
+        log.debug("Creando horario para barbero ID: {} en día: {} por usuario ID: {}", 
                 request.getBarberId(), request.getDayOfWeek(), currentUserId);
 
         // Validar autorización
@@ -103,7 +106,7 @@ public class ScheduleService {
     @Transactional
     public Optional<WorkScheduleDto> updateSchedule(Long id, WorkScheduleUpdateRequest request, 
                                                    Long currentUserId, User.Role currentUserRole) {
-        log.info("Actualizando horario ID: {} por usuario ID: {}", id, currentUserId);
+        log.debug("Actualizando horario ID: {} por usuario ID: {}", id, currentUserId);
 
         return workScheduleRepository.findById(id)
                 .map(existingSchedule -> {
@@ -138,7 +141,7 @@ public class ScheduleService {
      */
     @Transactional
     public boolean deleteSchedule(Long id, Long currentUserId, User.Role currentUserRole) {
-        log.info("Eliminando horario ID: {} por usuario ID: {}", id, currentUserId);
+        log.debug("Eliminando horario ID: {} por usuario ID: {}", id, currentUserId);
 
         return workScheduleRepository.findById(id)
                 .map(schedule -> {
@@ -158,8 +161,9 @@ public class ScheduleService {
     /**
      * Obtener barberos disponibles en un día y hora específicos
      */
+    @Transactional(readOnly = true)
     public List<WorkScheduleDto> findAvailableBarbersAtTime(DayOfWeek dayOfWeek, LocalTime time) {
-        log.info("Buscando barberos disponibles en {} a las {}", dayOfWeek, time);
+        log.debug("Buscando barberos disponibles en {} a las {}", dayOfWeek, time);
 
         List<WorkSchedule> availableSchedules = workScheduleRepository.findAvailableBarbersAtTime(dayOfWeek, time);
 
@@ -171,8 +175,9 @@ public class ScheduleService {
     /**
      * Verificar si un barbero está disponible en un día y hora específicos
      */
+    @Transactional(readOnly = true)
     public boolean isBarberAvailable(Long barberId, DayOfWeek dayOfWeek, LocalTime time) {
-        log.info("Verificando disponibilidad del barbero ID: {} en {} a las {}", barberId, dayOfWeek, time);
+        log.debug("Verificando disponibilidad del barbero ID: {} en {} a las {}", barberId, dayOfWeek, time);
 
         return workScheduleRepository.findByBarberIdAndDayOfWeek(barberId, dayOfWeek)
                 .map(schedule -> schedule.isTimeWithinSchedule(time))
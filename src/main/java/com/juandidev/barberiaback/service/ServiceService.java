@@ -8,6 +8,7 @@ import com.juandidev.barberiaback.repository.ServiceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,8 +21,9 @@ public class ServiceService {
 
     private final ServiceRepository serviceRepository;
 
+    @Transactional(readOnly = true)
     public List<ServiceDto> getAllActiveServices() {
-        log.info("Obteniendo todos los servicios activos");
+        log.debug("Obteniendo todos los servicios activos");
         
         List<Service> activeServices = serviceRepository.findByActiveTrueOrderByNameAsc();
         
@@ -30,15 +32,17 @@ public class ServiceService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Optional<ServiceDto> getServiceById(Long id) {
-        log.info("Buscando servicio con ID: {}", id);
+        log.debug("Buscando servicio con ID: {}", id);
         
         return serviceRepository.findById(id)
                 .map(this::convertToDto);
     }
 
+    @Transactional
     public ServiceDto createService(ServiceCreateRequest request) {
-        log.info("Creando nuevo servicio: {}", request.getName());
+        log.debug("Creando nuevo servicio: {}", request.getName());
         
         // Verificar que no exista un servicio activo con el mismo nombre
         if (serviceRepository.existsByNameAndActiveTrue(request.getName())) {
@@ -52,8 +56,9 @@ public class ServiceService {
         return convertToDto(savedService);
     }
 
+    @Transactional
     public Optional<ServiceDto> updateService(Long id, ServiceUpdateRequest request) {
-        log.info("Actualizando servicio con ID: {}", id);
+        log.debug("Actualizando servicio con ID: {}", id);
         
         return serviceRepository.findById(id)
                 .map(existingService -> {
@@ -64,8 +69,9 @@ public class ServiceService {
                 });
     }
 
+    @Transactional
     public boolean deleteService(Long id) {
-        log.info("Eliminando servicio con ID: {}", id);
+        log.debug("Eliminando servicio con ID: {}", id);
         
         return serviceRepository.findById(id)
                 .map(service -> {
@@ -77,8 +83,9 @@ public class ServiceService {
                 .orElse(false);
     }
 
+    @Transactional(readOnly = true)
     public List<ServiceDto> getServicesByPriceRange(Double minPrice, Double maxPrice) {
-        log.info("Buscando servicios en rango de precio: {} - {}", minPrice, maxPrice);
+        log.debug("Buscando servicios en rango de precio: {} - {}", minPrice, maxPrice);
         
         List<Service> services = serviceRepository.findActiveServicesByPriceRange(minPrice, maxPrice);
         
@@ -87,8 +94,9 @@ public class ServiceService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ServiceDto> getServicesByMaxDuration(Integer maxDuration) {
-        log.info("Buscando servicios con duración máxima: {} minutos", maxDuration);
+        log.debug("Buscando servicios con duración máxima: {} minutos", maxDuration);
         
         List<Service> services = serviceRepository.findActiveServicesByMaxDuration(maxDuration);
         
@@ -97,8 +105,9 @@ public class ServiceService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
-        log.info("Verificando existencia de servicio con nombre: {}", name);
+        log.debug("Verificando existencia de servicio con nombre: {}", name);
         return serviceRepository.existsByNameAndActiveTrue(name);
     }
 
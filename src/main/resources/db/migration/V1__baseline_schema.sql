@@ -0,0 +1,68 @@
+-- Esquema base: refleja las tablas que Hibernate generaba antes de introducir migraciones
+-- versionadas. En bases de datos existentes Flyway lo marca como baseline sin ejecutarlo.
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username    VARCHAR(255) NOT NULL UNIQUE,
+    email       VARCHAR(255) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    first_name  VARCHAR(255),
+    last_name   VARCHAR(255),
+    role        VARCHAR(255) CHECK (role IN ('ADMIN', 'BARBER', 'CLIENT')),
+    is_enabled  BOOLEAN NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE barbers (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT NOT NULL UNIQUE REFERENCES users (id),
+    specialties      VARCHAR(255),
+    experience_years INTEGER,
+    phone_number     VARCHAR(255),
+    start_time       TIME(6),
+    end_time         TIME(6),
+    is_available     BOOLEAN,
+    is_active        BOOLEAN,
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6)
+);
+
+CREATE TABLE services (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    duration    INTEGER NOT NULL,
+    price       FLOAT(53) NOT NULL,
+    description VARCHAR(255),
+    is_active   BOOLEAN,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE work_schedules (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    barber_id   BIGINT NOT NULL REFERENCES users (id),
+    day_of_week VARCHAR(255) NOT NULL
+        CHECK (day_of_week IN ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    start_time  TIME(6) NOT NULL,
+    end_time    TIME(6) NOT NULL,
+    is_active   BOOLEAN NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    UNIQUE (barber_id, day_of_week)
+);
+
+CREATE TABLE appointments (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    client_id   BIGINT NOT NULL REFERENCES users (id),
+    barber_id   BIGINT NOT NULL REFERENCES barbers (id),
+    service_id  BIGINT NOT NULL REFERENCES services (id),
+    start_time  TIMESTAMP(6) NOT NULL,
+    end_time    TIMESTAMP(6) NOT NULL,
+    status      VARCHAR(255) NOT NULL
+        CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED', 'NO_SHOW')),
+    notes       VARCHAR(255),
+    total_price FLOAT(53),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
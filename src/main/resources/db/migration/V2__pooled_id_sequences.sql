@@ -0,0 +1,24 @@
+-- Migracion de columnas IDENTITY a secuencias con optimizador pooled (allocationSize = 50).
+-- Convierte las tablas creadas con la estrategia IDENTITY anterior (ver V1).
+-- Cada secuencia se posiciona por encima del MAX(id) actual para que el primer bloque
+-- reservado por Hibernate no choque con filas existentes.
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM users));
+
+ALTER TABLE barbers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS barbers_seq INCREMENT BY 50;
+SELECT setval('barbers_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM barbers));
+
+ALTER TABLE services ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS services_seq INCREMENT BY 50;
+SELECT setval('services_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM services));
+
+ALTER TABLE work_schedules ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS work_schedules_seq INCREMENT BY 50;
+SELECT setval('work_schedules_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM work_schedules));
+
+ALTER TABLE appointments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS appointments_seq INCREMENT BY 50;
+SELECT setval('appointments_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM appointments));
@@ -0,0 +1,48 @@
+-- Indices que respaldan las consultas de los repositorios.
+-- Se crean con CONCURRENTLY para no bloquear escrituras en tablas grandes
+-- (ver V3__performance_indexes.sql.conf: la migracion se ejecuta fuera de transaccion).
+
+-- AppointmentRepository
+-- findByClientId, findByClientIdAndStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_client_status
+    ON appointments (client_id, status);
+-- findByClientIdAndDateRange
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_client_start
+    ON appointments (client_id, start_time);
+-- findByBarberId, findByBarberIdAndStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_barber_status
+    ON appointments (barber_id, status);
+-- findByBarberIdAndDateRange, findConflictingAppointments, countCompletedAppointmentsByBarberAndDateRange
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_barber_start
+    ON appointments (barber_id, start_time);
+-- findByStatus, findByStatusAndDateRange
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_status_start
+    ON appointments (status, start_time);
+-- findByDateRange
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_start_time
+    ON appointments (start_time);
+-- Clave foranea hacia services (borrados/actualizaciones de servicios)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_appointments_service
+    ON appointments (service_id);
+
+-- WorkScheduleRepository
+-- findByDayOfWeekAndActiveTrueOrderByStartTime, findAvailableBarbersAtTime
+-- (las busquedas por barbero usan el indice unico (barber_id, day_of_week))
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_work_schedules_day_active_start
+    ON work_schedules (day_of_week, is_active, start_time);
+
+-- UserRepository
+-- findByRoleAndEnabledTrue
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role_enabled
+    ON users (role, is_enabled);
+
+-- BarberRepository
+-- findByUserId / existsByUserId usan el indice unico sobre user_id
+-- findByActiveTrue, findByActiveTrueAndAvailableTrue
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_barbers_active_available
+    ON barbers (is_active, is_available);
+
+-- ServiceRepository
+-- findByActiveTrueOrderByNameAsc, findByNameAndActiveTrue, existsByNameAndActiveTrue
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_services_active_name
+    ON services (is_active, name);
@@ -0,0 +1,132 @@
+-- Particionado de appointments por rango mensual de start_time.
+-- Las particiones futuras las crea AppointmentPartitionMaintenance con create_appointment_partition();
+-- las antiguas se mueven a appointments_history con archive_appointment_partition().
+
+ALTER TABLE appointments RENAME TO appointments_legacy;
+ALTER TABLE appointments_legacy RENAME CONSTRAINT appointments_pkey TO appointments_legacy_pkey;
+
+-- La clave primaria de una tabla particionada debe incluir la columna de particion.
+-- La unicidad de id la sigue garantizando la secuencia appointments_seq.
+CREATE TABLE appointments (
+    id          BIGINT NOT NULL,
+    client_id   BIGINT NOT NULL REFERENCES users (id),
+    barber_id   BIGINT NOT NULL REFERENCES barbers (id),
+    service_id  BIGINT NOT NULL REFERENCES services (id),
+    start_time  TIMESTAMP(6) NOT NULL,
+    end_time    TIMESTAMP(6) NOT NULL,
+    status      VARCHAR(255) NOT NULL
+        CONSTRAINT appointments_status_check
+        CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED', 'NO_SHOW')),
+    notes       VARCHAR(255),
+    total_price FLOAT(53),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    PRIMARY KEY (id, start_time)
+) PARTITION BY RANGE (start_time);
+
+-- Recoge citas fuera de los meses ya creados (p. ej. reservas muy adelantadas)
+CREATE TABLE appointments_default PARTITION OF appointments DEFAULT;
+
+-- Historico de meses archivados: solo lectura, insertado en orden de start_time.
+-- BRIN sobre start_time ocupa unos pocos KB frente a un B-tree completo.
+CREATE TABLE appointments_history (
+    id          BIGINT PRIMARY KEY,
+    client_id   BIGINT NOT NULL,
+    barber_id   BIGINT NOT NULL,
+    service_id  BIGINT NOT NULL,
+    start_time  TIMESTAMP(6) NOT NULL,
+    end_time    TIMESTAMP(6) NOT NULL,
+    status      VARCHAR(255) NOT NULL,
+    notes       VARCHAR(255),
+    total_price FLOAT(53),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL
+) WITH (fillfactor = 100);
+
+ALTER TABLE appointments_history ALTER COLUMN notes SET COMPRESSION lz4;
+
+CREATE INDEX idx_appointments_history_start_brin ON appointments_history USING BRIN (start_time);
+CREATE INDEX idx_appointments_history_client_start ON appointments_history (client_id, start_time);
+CREATE INDEX idx_appointments_history_barber_start ON appointments_history (barber_id, start_time);
+
+CREATE OR REPLACE FUNCTION create_appointment_partition(p_month DATE) RETURNS TEXT AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_month)::date;
+    v_end   DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::date;
+    v_name  TEXT := 'appointments_' || to_char(v_start, 'YYYY_MM');
+BEGIN
+    -- Serializa el mantenimiento entre nodos
+    PERFORM pg_advisory_xact_lock(hashtext('appointments_partitions'));
+
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN v_name;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE appointments INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_name);
+
+    -- Las filas de ese mes que cayeron en la particion por defecto se mueven antes de adjuntar
+    EXECUTE format(
+        'WITH moved AS (DELETE FROM appointments_default WHERE start_time >= %L AND start_time < %L RETURNING *) '
+        'INSERT INTO %I SELECT * FROM moved', v_start, v_end, v_name);
+
+    EXECUTE format('ALTER TABLE appointments ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   v_name, v_start, v_end);
+    RETURN v_name;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION archive_appointment_partition(p_month DATE) RETURNS BIGINT AS $$
+DECLARE
+    v_name TEXT := 'appointments_' || to_char(date_trunc('month', p_month), 'YYYY_MM');
+    v_rows BIGINT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('appointments_partitions'));
+
+    IF to_regclass(v_name) IS NULL THEN
+        RETURN 0;
+    END IF;
+
+    EXECUTE format('ALTER TABLE appointments DETACH PARTITION %I', v_name);
+    EXECUTE format(
+        'INSERT INTO appointments_history (id, client_id, barber_id, service_id, start_time, end_time, status, '
+        'notes, total_price, created_at, updated_at, archived_at) '
+        'SELECT id, client_id, barber_id, service_id, start_time, end_time, status, '
+        'notes, total_price, created_at, updated_at, now() FROM %I ORDER BY start_time', v_name);
+    GET DIAGNOSTICS v_rows = ROW_COUNT;
+    EXECUTE format('DROP TABLE %I', v_name);
+    RETURN v_rows;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Particiones para todos los meses con datos y los tres siguientes
+DO $$
+DECLARE
+    v_month DATE;
+BEGIN
+    FOR v_month IN
+        SELECT generate_series(
+                   date_trunc('month', COALESCE((SELECT MIN(start_time) FROM appointments_legacy), now())),
+                   date_trunc('month', now()) + INTERVAL '3 months',
+                   INTERVAL '1 month')::date
+    LOOP
+        PERFORM create_appointment_partition(v_month);
+    END LOOP;
+END $$;
+
+INSERT INTO appointments (id, client_id, barber_id, service_id, start_time, end_time, status,
+                          notes, total_price, created_at, updated_at)
+SELECT id, client_id, barber_id, service_id, start_time, end_time, status,
+       notes, total_price, created_at, updated_at
+FROM appointments_legacy;
+
+DROP TABLE appointments_legacy;
+
+-- Indices de V3 sobre la tabla padre: se propagan a cada particion (actual y futura)
+CREATE INDEX idx_appointments_client_status ON appointments (client_id, status);
+CREATE INDEX idx_appointments_client_start ON appointments (client_id, start_time);
+CREATE INDEX idx_appointments_barber_status ON appointments (barber_id, status);
+CREATE INDEX idx_appointments_barber_start ON appointments (barber_id, start_time);
+CREATE INDEX idx_appointments_status_start ON appointments (status, start_time);
+CREATE INDEX idx_appointments_start_time ON appointments (start_time);
+CREATE INDEX idx_appointments_service ON appointments (service_id);
@@ -0,0 +1,32 @@
+-- Refresh tokens rotatorios (solo se guarda el SHA-256 del valor) y revocaciones de access tokens.
+
+CREATE SEQUENCE refresh_tokens_seq INCREMENT BY 50;
+
+CREATE TABLE refresh_tokens (
+    id          BIGINT PRIMARY KEY,
+    user_id     BIGINT NOT NULL REFERENCES users (id),
+    token_hash  VARCHAR(64) NOT NULL CONSTRAINT uk_refresh_tokens_token_hash UNIQUE,
+    family_id   VARCHAR(36) NOT NULL,
+    expires_at  TIMESTAMP(6) NOT NULL,
+    revoked_at  TIMESTAMP(6),
+    created_at  TIMESTAMP(6)
+);
+
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+
+CREATE SEQUENCE revoked_tokens_seq INCREMENT BY 50;
+
+-- jti: revocacion de un token concreto; user_id: de todos los emitidos al usuario antes de revoked_at
+CREATE TABLE revoked_tokens (
+    id          BIGINT PRIMARY KEY,
+    jti         VARCHAR(36),
+    user_id     BIGINT,
+    revoked_at  TIMESTAMP(6) NOT NULL,
+    expires_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT revoked_tokens_target_check CHECK (jti IS NOT NULL OR user_id IS NOT NULL)
+);
+
+CREATE INDEX idx_revoked_tokens_jti ON revoked_tokens (jti);
+CREATE INDEX idx_revoked_tokens_user_revoked ON revoked_tokens (user_id, revoked_at);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
@@ -0,0 +1,34 @@
+-- Nombres estables para las restricciones únicas de users: AuthService.signup traduce la
+-- violación de cada una al campo duplicado en lugar de consultar antes de insertar.
+--
+-- El nombre actual depende de quién creó la tabla: users_username_key si fue V1, UK<hash> si fue
+-- Hibernate (@Column(unique = true)) en las bases adoptadas con baseline-on-migrate. Se busca la
+-- restricción única de una sola columna en pg_constraint y se renombra, o se crea si no hay.
+
+DO $$
+DECLARE
+    target RECORD;
+    current_name TEXT;
+BEGIN
+    FOR target IN SELECT * FROM (VALUES ('username', 'uk_users_username'),
+                                        ('email', 'uk_users_email')) AS t(column_name, constraint_name)
+    LOOP
+        SELECT c.conname INTO current_name
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+        WHERE c.conrelid = 'users'::regclass
+          AND c.contype = 'u'
+          AND array_length(c.conkey, 1) = 1
+          AND a.attname = target.column_name
+        LIMIT 1;
+
+        IF current_name IS NULL THEN
+            EXECUTE format('ALTER TABLE users ADD CONSTRAINT %I UNIQUE (%I)',
+                           target.constraint_name, target.column_name);
+        ELSIF current_name <> target.constraint_name THEN
+            EXECUTE format('ALTER TABLE users RENAME CONSTRAINT %I TO %I',
+                           current_name, target.constraint_name);
+        END IF;
+    END LOOP;
+END
+$$;
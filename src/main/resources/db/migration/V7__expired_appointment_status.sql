@@ -0,0 +1,10 @@
+-- Citas PENDING que el barbero nunca confirmó: PendingAppointmentExpiry las pasa a EXPIRED
+-- para que dejen de bloquear huecos en la disponibilidad y en la comprobación de conflictos.
+
+ALTER TABLE appointments DROP CONSTRAINT appointments_status_check;
+ALTER TABLE appointments ADD CONSTRAINT appointments_status_check
+    CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED', 'NO_SHOW', 'EXPIRED'));
+
+-- Candidatas por antigüedad: índice parcial, solo cubre las citas aún pendientes. Las que ya
+-- empezaron se encuentran con idx_appointments_status_start.
+CREATE INDEX idx_appointments_pending_created ON appointments (created_at) WHERE status = 'PENDING';
@@ -0,0 +1,19 @@
+-- Agregados diarios por barbero para los paneles de ingresos y ocupación. Los mantiene
+-- BarberRollupService al completar, cancelar o cerrar citas; BarberRollupJob cierra cada día
+-- (capacidad de los días sin citas) y rellena el histórico.
+
+CREATE TABLE barber_daily_rollups (
+    barber_id         BIGINT NOT NULL REFERENCES barbers (id),
+    rollup_date       DATE NOT NULL,
+    completed_count   INTEGER NOT NULL,
+    cancelled_count   INTEGER NOT NULL,
+    no_show_count     INTEGER NOT NULL,
+    revenue           FLOAT(53) NOT NULL,
+    completed_minutes INTEGER NOT NULL,
+    capacity_minutes  INTEGER NOT NULL,
+    updated_at        TIMESTAMP(6),
+    PRIMARY KEY (barber_id, rollup_date)
+);
+
+-- Panel de toda la barbería por rango de fechas; el de un barbero usa la clave primaria
+CREATE INDEX idx_barber_daily_rollups_date ON barber_daily_rollups (rollup_date);
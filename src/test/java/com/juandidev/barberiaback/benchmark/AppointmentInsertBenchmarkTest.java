@@ -0,0 +1,138 @@
+package com.juandidev.barberiaback.benchmark;
+
+import com.juandidev.barberiaback.model.Appointment;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.model.Barber;
+import com.juandidev.barberiaback.model.Service;
+import com.juandidev.barberiaback.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark de inserción masiva de citas.
+ *
+ * Se ejecuta solo con {@code -Dbenchmark=true}. Por defecto usa H2 en memoria; para medir
+ * contra PostgreSQL (donde se nota el coste de ida y vuelta por fila) basta con añadir
+ * {@code -Dspring.datasource.url=... -Dspring.datasource.username=... -Dspring.datasource.password=...
+ * -Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect}.
+ * Para comparar con la estrategia IDENTITY anterior, ejecutar el mismo test sobre el commit previo.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@ActiveProfiles("test")
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - Inserción de 100k citas")
+class AppointmentInsertBenchmarkTest {
+
+    private static final int TOTAL_APPOINTMENTS = Integer.getInteger("benchmark.appointments", 100_000);
+    private static final int CHUNK_SIZE = 1_000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void insertAppointmentsInBatches() {
+        Long[] ids = transactionTemplate.execute(status -> createFixtures());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        for (int offset = 0; offset < TOTAL_APPOINTMENTS; offset += CHUNK_SIZE) {
+            int from = offset;
+            int to = Math.min(offset + CHUNK_SIZE, TOTAL_APPOINTMENTS);
+            transactionTemplate.executeWithoutResult(status -> insertChunk(ids, from, to));
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("Insertadas %d citas en %d ms (%.0f filas/s), sentencias preparadas: %d%n",
+                TOTAL_APPOINTMENTS, elapsedMillis,
+                TOTAL_APPOINTMENTS * 1000.0 / Math.max(elapsedMillis, 1),
+                statistics.getPrepareStatementCount());
+
+        Long count = entityManager.createQuery("SELECT COUNT(a) FROM Appointment a", Long.class)
+                .getSingleResult();
+        assertEquals(TOTAL_APPOINTMENTS, count.intValue());
+    }
+
+    private Long[] createFixtures() {
+        User client = User.builder()
+                .username("bench_client")
+                .email("bench_client@barberia.com")
+                .password("x")
+                .role(User.Role.CLIENT)
+                .build();
+        User barberUser = User.builder()
+                .username("bench_barber")
+                .email("bench_barber@barberia.com")
+                .password("x")
+                .role(User.Role.BARBER)
+                .build();
+        entityManager.persist(client);
+        entityManager.persist(barberUser);
+
+        Barber barber = Barber.builder()
+                .user(barberUser)
+                .startTime(LocalTime.of(0, 0))
+                .endTime(LocalTime.of(23, 59))
+                .build();
+        entityManager.persist(barber);
+
+        Service service = Service.builder()
+                .name("Corte benchmark")
+                .duration(30)
+                .price(20.0)
+                .build();
+        entityManager.persist(service);
+
+        return new Long[]{client.getId(), barber.getId(), service.getId()};
+    }
+
+    private void insertChunk(Long[] ids, int from, int to) {
+        User client = entityManager.getReference(User.class, ids[0]);
+        Barber barber = entityManager.getReference(Barber.class, ids[1]);
+        Service service = entityManager.getReference(Service.class, ids[2]);
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+
+        for (int i = from; i < to; i++) {
+            LocalDateTime startTime = base.plusMinutes(30L * i);
+            entityManager.persist(Appointment.builder()
+                    .client(client)
+                    .barber(barber)
+                    .service(service)
+                    .startTime(startTime)
+                    .endTime(startTime.plusMinutes(30))
+                    .status(AppointmentStatus.PENDING)
+                    .totalPrice(20.0)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
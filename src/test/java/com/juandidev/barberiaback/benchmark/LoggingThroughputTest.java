@@ -0,0 +1,79 @@
+package com.juandidev.barberiaback.benchmark;
+
+import com.juandidev.barberiaback.BarberiaBackApplication;
+import com.juandidev.barberiaback.support.HttpLoadDriver;
+import com.juandidev.barberiaback.support.ShopFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rendimiento de las lecturas públicas con distintas configuraciones de logging:
+ * <ul>
+ *   <li>off: la aplicación solo registra WARN.</li>
+ *   <li>info-async: configuración de producción (INFO por el appender asíncrono).</li>
+ *   <li>debug-async: todas las trazas por llamada de los servicios, por el appender asíncrono.</li>
+ *   <li>debug-sync: lo mismo escribiendo en consola desde el hilo de la petición, como antes de
+ *   logback-spring.xml.</li>
+ * </ul>
+ *
+ * Se ejecuta solo con {@code -Dbenchmark=true}; redirigir la salida estándar a un fichero para que
+ * la terminal no sea el cuello de botella. Los clientes y la duración se ajustan con
+ * {@code -Dbenchmark.clients}, {@code -Dbenchmark.warmup-seconds} y {@code -Dbenchmark.seconds}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - Rendimiento con logging activo y apagado")
+class LoggingThroughputTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 200);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.seconds", 30));
+    private static final int BARBERS = 20;
+
+    @Test
+    void compareThroughputWithLoggingOnAndOff() throws Exception {
+        HttpLoadDriver.Result off = runAgainst("off", "WARN", "ASYNC_CONSOLE");
+        HttpLoadDriver.Result infoAsync = runAgainst("info-async", "INFO", "ASYNC_CONSOLE");
+        HttpLoadDriver.Result debugAsync = runAgainst("debug-async", "DEBUG", "ASYNC_CONSOLE");
+        HttpLoadDriver.Result debugSync = runAgainst("debug-sync", "DEBUG", "CONSOLE");
+
+        System.out.println(off.summary());
+        System.out.println(infoAsync.summary());
+        System.out.println(debugAsync.summary());
+        System.out.println(debugSync.summary());
+
+        assertThat(List.of(off, infoAsync, debugAsync, debugSync))
+                .allSatisfy(result -> assertThat(result.errors()).isZero());
+    }
+
+    private HttpLoadDriver.Result runAgainst(String label, String level, String appender) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BarberiaBackApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:logging_" + label,
+                        "spring.jpa.show-sql=false",
+                        "app.logging.appender=" + appender,
+                        "logging.level.com.juandidev.barberiaback=" + level,
+                        "logging.level.org.springframework.security=WARN",
+                        "logging.level.org.hibernate.SQL=WARN")
+                .run()) {
+
+            List<Long> barberUserIds = ShopFixtures.seedShop(context, BARBERS);
+            String port = context.getEnvironment().getProperty("local.server.port");
+
+            return new HttpLoadDriver(URI.create("http://localhost:" + port), ShopFixtures.publicReadPaths(barberUserIds))
+                    .run(label, CLIENTS, WARMUP, DURATION);
+        }
+    }
+}
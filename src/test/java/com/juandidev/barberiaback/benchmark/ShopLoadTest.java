@@ -0,0 +1,81 @@
+package com.juandidev.barberiaback.benchmark;
+
+import com.juandidev.barberiaback.BarberiaBackApplication;
+import com.juandidev.barberiaback.support.OpenLoopLoadDriver;
+import com.juandidev.barberiaback.support.ShopWorkload;
+import com.juandidev.barberiaback.support.SyntheticShop;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de carga extremo a extremo: arranca la aplicación en un puerto libre, siembra una
+ * {@link SyntheticShop} y la somete a una tasa de llegadas fija con la mezcla de
+ * {@link ShopWorkload}. Informa por operación de throughput, p50/p99/p99.9 y tasa de errores.
+ *
+ * Se ejecuta solo con {@code -Dbenchmark=true}. Parámetros:
+ * <ul>
+ *   <li>{@code -Dload.rate} (req/s, 200), {@code -Dload.warmup-seconds} (10), {@code -Dload.seconds} (60)</li>
+ *   <li>{@code -Dload.mix} (por defecto {@value ShopWorkload#DEFAULT_MIX})</li>
+ *   <li>{@code -Dload.max-in-flight} (2000), {@code -Dload.signed-in-clients} (200)</li>
+ *   <li>tamaño de la barbería: ver {@link SyntheticShop.Spec#fromSystemProperties()}</li>
+ * </ul>
+ * Usa H2 en memoria, así que no necesita red ni servicios externos. Para medir contra un
+ * PostgreSQL local: {@code -Dspring.datasource.url=jdbc:postgresql://localhost:5432/barberia_load
+ * -Dspring.datasource.username=... -Dspring.datasource.password=...
+ * -Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Carga - Barbería sintética con llegadas de bucle abierto")
+class ShopLoadTest {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "200"));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 60));
+    private static final String MIX = System.getProperty("load.mix", ShopWorkload.DEFAULT_MIX);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 2_000);
+    private static final int SIGNED_IN_CLIENTS = Integer.getInteger("load.signed-in-clients", 200);
+
+    @Test
+    void runShopWorkload() throws Exception {
+        SyntheticShop.Spec spec = SyntheticShop.Spec.fromSystemProperties();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BarberiaBackApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:shop_load",
+                        "spring.threads.virtual.enabled=true",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "jwt.expiration=3600000",
+                        "logging.level.com.juandidev.barberiaback=WARN",
+                        "logging.level.org.hibernate.SQL=WARN")
+                .run()) {
+
+            long seedingStarted = System.nanoTime();
+            SyntheticShop shop = SyntheticShop.seed(context, spec);
+            System.out.printf("Barbería sembrada en %d s: %s%n",
+                    Duration.ofNanos(System.nanoTime() - seedingStarted).toSeconds(), shop.summary());
+
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            ShopWorkload workload = ShopWorkload.prepare(baseUri, shop, MIX, SIGNED_IN_CLIENTS);
+
+            OpenLoopLoadDriver.Report report = new OpenLoopLoadDriver(RATE, MAX_IN_FLIGHT, spec.seed())
+                    .run(workload, WARMUP, DURATION);
+            System.out.println(report.summary());
+
+            assertThat(report.errorRate()).as(report.summary()).isLessThan(0.01);
+        }
+    }
+}
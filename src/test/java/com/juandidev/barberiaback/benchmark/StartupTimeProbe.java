@@ -0,0 +1,184 @@
+package com.juandidev.barberiaback.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el tiempo hasta la primera petición servida: lanza el jar de la aplicación, sondea
+ * {@code GET /health} cada 10 ms y anota cuánto tarda en responder 200 desde que se crea el
+ * proceso. Lo ejecuta el perfil Maven {@code startup} tras generar el archivo CDS:
+ *
+ * <pre>
+ * mvn -Pstartup verify -DskipTests
+ * </pre>
+ *
+ * Variantes: {@code jar} (arranque normal), {@code jar-lazy} (inicialización perezosa, como en
+ * producción) y {@code aot-cds-lazy} (además código AOT y archivo CDS). Cada una se repite
+ * {@code runs} veces con el perfil de {@code -Dstartup.profile} (dev por defecto: H2 en memoria, sin
+ * servicios externos), el mismo con el que el perfil Maven genera el código AOT y entrena el archivo
+ * CDS, y se guarda la mediana en {@code target/startup/<commit>.json}; el commit sale de
+ * {@code -Dstartup.commit} o de git.
+ *
+ * Argumentos: jar, archivo CDS, directorio de salida y número de repeticiones.
+ */
+public final class StartupTimeProbe {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final long POLL_INTERVAL_MILLIS = 10;
+
+    private static final String PROFILE = System.getProperty("startup.profile", "dev");
+
+    private static final List<String> QUIET_LOGGING = List.of(
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.juandidev.barberiaback=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.springframework.web=WARN");
+
+    private static final List<String> LAZY = List.of(
+            "--spring.main.lazy-initialization=true",
+            "--spring.mvc.servlet.load-on-startup=1");
+
+    private record Variant(String name, List<String> jvmArgs, List<String> appArgs) {
+    }
+
+    private record VariantResult(long medianMillis, List<Long> runsMillis) {
+    }
+
+    private StartupTimeProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]);
+        Path archive = Path.of(args[1]);
+        Path outputDir = Path.of(args[2]);
+        int runs = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        Files.createDirectories(outputDir);
+
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("jar", List.of(), List.of()));
+        variants.add(new Variant("jar-lazy", List.of(), LAZY));
+        if (Files.exists(archive)) {
+            variants.add(new Variant("aot-cds-lazy",
+                    List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true"), LAZY));
+        } else {
+            System.out.println("Sin archivo CDS en " + archive + ": se omite la variante aot-cds-lazy");
+        }
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        Map<String, VariantResult> results = new LinkedHashMap<>();
+        for (Variant variant : variants) {
+            List<Long> millis = new ArrayList<>();
+            for (int run = 0; run < runs; run++) {
+                millis.add(timeToFirstRequest(httpClient, jar, variant, outputDir.resolve(variant.name() + "-" + run + ".log")));
+            }
+            List<Long> sorted = millis.stream().sorted().toList();
+            results.put(variant.name(), new VariantResult(sorted.get(sorted.size() / 2), millis));
+            System.out.printf("%-14s mediana=%6d ms ejecuciones=%s%n", variant.name(), sorted.get(sorted.size() / 2), millis);
+        }
+
+        String commit = System.getProperty("startup.commit", gitCommit());
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commit", commit);
+        report.put("java", System.getProperty("java.version"));
+        report.put("profile", PROFILE);
+        report.put("runs", runs);
+        report.put("timeToFirstRequest", results);
+        Path output = outputDir.resolve(commit + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.println("Tiempos de arranque en " + output.toAbsolutePath());
+    }
+
+    private static long timeToFirstRequest(HttpClient httpClient, Path jar, Variant variant, Path log)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(variant.jvmArgs());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=" + PROFILE);
+        command.addAll(QUIET_LOGGING);
+        command.addAll(variant.appArgs());
+
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/health"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = started + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " terminó al arrancar; ver " + log);
+                }
+                try {
+                    if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    }
+                } catch (IOException e) {
+                    // Tomcat aún no escucha o cerró la conexión mientras arrancaba
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            throw new IllegalStateException(variant.name() + " no respondió en " + STARTUP_TIMEOUT + "; ver " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String gitCommit() {
+        String commit = git("rev-parse", "--short", "HEAD");
+        if (commit.isEmpty()) {
+            return "unknown";
+        }
+        return git("status", "--porcelain").isEmpty() ? commit : commit + "-dirty";
+    }
+
+    private static String git(String... args) {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            try (InputStream output = process.getInputStream()) {
+                String result = new String(output.readAllBytes(), StandardCharsets.UTF_8).trim();
+                return process.waitFor() == 0 ? result : "";
+            }
+        } catch (IOException e) {
+            return "";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+}
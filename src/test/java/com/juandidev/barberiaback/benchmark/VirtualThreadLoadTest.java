@@ -0,0 +1,66 @@
+package com.juandidev.barberiaback.benchmark;
+
+import com.juandidev.barberiaback.BarberiaBackApplication;
+import com.juandidev.barberiaback.support.HttpLoadDriver;
+import com.juandidev.barberiaback.support.ShopFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara la ejecución de peticiones en hilos de plataforma (pool de Tomcat) con hilos virtuales
+ * a 2000 clientes concurrentes contra endpoints públicos con JDBC bloqueante.
+ *
+ * Se ejecuta solo con {@code -Dbenchmark=true}. Los clientes, el calentamiento y la duración se
+ * ajustan con {@code -Dbenchmark.clients}, {@code -Dbenchmark.warmup-seconds} y
+ * {@code -Dbenchmark.seconds}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Benchmark - Hilos virtuales frente a hilos de plataforma")
+class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 2_000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.seconds", 30));
+    private static final int BARBERS = 20;
+
+    @Test
+    void compareThroughputAndTailLatency() throws Exception {
+        HttpLoadDriver.Result platform = runAgainst("platform", false);
+        HttpLoadDriver.Result virtual = runAgainst("virtual", true);
+
+        System.out.println(platform.summary());
+        System.out.println(virtual.summary());
+
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private HttpLoadDriver.Result runAgainst(String label, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BarberiaBackApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load_" + label,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.juandidev.barberiaback=WARN")
+                .run()) {
+
+            List<Long> barberUserIds = ShopFixtures.seedShop(context, BARBERS);
+            String port = context.getEnvironment().getProperty("local.server.port");
+
+            return new HttpLoadDriver(URI.create("http://localhost:" + port), ShopFixtures.publicReadPaths(barberUserIds))
+                    .run(label, CLIENTS, WARMUP, DURATION);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.juandidev.barberiaback.config;
+
+import com.juandidev.barberiaback.controller.HealthController;
+import com.juandidev.barberiaback.security.JwtAuthenticationFilter;
+import com.juandidev.barberiaback.security.TokenRevocationService;
+import com.juandidev.barberiaback.service.ServiceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StartupConfig - Inicialización perezosa fuera del camino crítico")
+class StartupConfigTest {
+
+    private final LazyInitializationExcludeFilter filter = StartupConfig.criticalPathEagerInitialization();
+
+    @Test
+    @DisplayName("Controladores, filtros y beans con tareas programadas se crean al arrancar")
+    void criticalPathBeansAreEager() {
+        assertThat(filter.isExcluded("healthController", null, HealthController.class)).isTrue();
+        assertThat(filter.isExcluded("jwtAuthenticationFilter", null, JwtAuthenticationFilter.class)).isTrue();
+        assertThat(filter.isExcluded("tokenRevocationService", null, TokenRevocationService.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("El resto de beans quedan perezosos")
+    void otherBeansStayLazy() {
+        assertThat(filter.isExcluded("openApiConfig", null, OpenApiConfig.class)).isFalse();
+        assertThat(filter.isExcluded("serviceService", null, ServiceService.class)).isFalse();
+        assertThat(filter.isExcluded("unknown", null, null)).isFalse();
+    }
+}
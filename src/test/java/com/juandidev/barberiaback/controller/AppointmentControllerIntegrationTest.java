@@ -2,9 +2,11 @@ package com.juandidev.barberiaback.controller;
 
 import com.juandidev.barberiaback.dto.AppointmentCreateRequest;
 import com.juandidev.barberiaback.dto.AppointmentDto;
+import com.juandidev.barberiaback.metrics.BarberiaMetrics;
 import com.juandidev.barberiaback.model.AppointmentStatus;
 import com.juandidev.barberiaback.model.User;
 import com.juandidev.barberiaback.security.JwtUtil;
+import com.juandidev.barberiaback.security.TokenRevocationService;
 import com.juandidev.barberiaback.service.AppointmentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +15,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -24,6 +28,7 @@ import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -40,6 +45,12 @@ class AppointmentControllerIntegrationTest {
     @MockBean
     private JwtUtil jwtUtil;
 
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockBean
+    private BarberiaMetrics barberiaMetrics;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -302,6 +313,32 @@ class AppointmentControllerIntegrationTest {
         verify(appointmentService).getAppointmentsForCurrentUser(eq(2L), eq(User.Role.BARBER), eq(AppointmentStatus.PENDING));
     }
 
+    @Test
+    @DisplayName("GET /appointments/history - Debe paginar las citas archivadas del usuario actual")
+    void shouldPageArchivedAppointments() throws Exception {
+        // Given
+        User client = User.builder().id(1L).username("client").role(User.Role.CLIENT).build();
+        LocalDateTime startDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2024, 1, 31, 23, 59);
+        PageRequest pageable = PageRequest.of(1, 20);
+        when(appointmentService.getArchivedAppointmentsForCurrentUser(1L, User.Role.CLIENT, startDate, endDate, pageable))
+                .thenReturn(new PageImpl<>(List.of(testAppointmentDto), pageable, 21));
+
+        // When & Then
+        mockMvc.perform(get("/appointments/history")
+                .with(user(client))
+                .param("startDate", "2024-01-01T00:00:00")
+                .param("endDate", "2024-01-31T23:59:00")
+                .param("page", "1")
+                .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.page.number").value(1))
+                .andExpect(jsonPath("$.page.totalElements").value(21));
+
+        verify(appointmentService).getArchivedAppointmentsForCurrentUser(1L, User.Role.CLIENT, startDate, endDate, pageable);
+    }
+
     @Test
     @DisplayName("Debe validar campos requeridos en creación de cita")
     @WithMockUser(username = "client", roles = "CLIENT")
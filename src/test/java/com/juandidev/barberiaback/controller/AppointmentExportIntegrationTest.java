@@ -0,0 +1,209 @@
+package com.juandidev.barberiaback.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandidev.barberiaback.exception.ServiceOverloadedException;
+import com.juandidev.barberiaback.model.Appointment;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.model.Barber;
+import com.juandidev.barberiaback.model.Service;
+import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.repository.AppointmentRepository;
+import com.juandidev.barberiaback.repository.UserRepository;
+import com.juandidev.barberiaback.service.AppointmentExportService;
+import com.juandidev.barberiaback.support.ShopFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Exportación de citas - CSV y NDJSON en streaming")
+class AppointmentExportIntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2021, 3, 1);
+    private static final LocalDate ARCHIVED_DAY = DAY.plusDays(4);
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        // El contexto y la base son compartidos: DAY es exclusivo de esta clase y se siembra una vez
+        if (!appointmentRepository.findByDateRange(DAY.atStartOfDay(), DAY.plusDays(2).atStartOfDay()).isEmpty()) {
+            return;
+        }
+        User client = userRepository.save(ShopFixtures.user("export_client", User.Role.CLIENT)
+                .firstName("=García, \"Pepe\"")
+                .lastName("Export")
+                .build());
+        Barber barber = ShopFixtures.barber(context, ShopFixtures.user("export_barber", User.Role.BARBER)
+                .firstName("Barbero")
+                .lastName("Export"));
+        Service service = ShopFixtures.service(context, "Corte export", 12.5);
+
+        ShopFixtures.book(context, client, barber, service, DAY.atTime(11, 0), AppointmentStatus.COMPLETED);
+        ShopFixtures.book(context, client, barber, service, DAY.atTime(9, 0), AppointmentStatus.COMPLETED);
+        ShopFixtures.book(context, client, barber, service, DAY.atTime(10, 0), AppointmentStatus.CANCELLED);
+        ShopFixtures.book(context, client, barber, service, DAY.plusDays(1).atTime(9, 0), AppointmentStatus.COMPLETED);
+
+        // Una cita de un mes ya archivado: solo existe en appointments_history
+        Appointment archived = ShopFixtures.book(context, client, barber, service, ARCHIVED_DAY.atTime(10, 0),
+                AppointmentStatus.COMPLETED);
+        jdbcTemplate.update("INSERT INTO appointments_history (id, client_id, barber_id, service_id, start_time, " +
+                        "end_time, status, total_price, created_at, archived_at) " +
+                        "SELECT id, client_id, barber_id, service_id, start_time, end_time, status, total_price, " +
+                        "created_at, CURRENT_TIMESTAMP FROM appointments WHERE id = ?", archived.getId());
+        appointmentRepository.deleteById(archived.getId());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("CSV filtrado por estado y fechas, en orden de inicio y con los textos escapados")
+    void exportsFilteredCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/appointments/export")
+                        .param("from", DAY.toString())
+                        .param("to", DAY.toString())
+                        .param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"citas_2021-03-01_2021-03-01.csv\""))
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<String> lines = body.substring(1).lines().toList();
+        assertThat(body).startsWith("\uFEFF");
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("id,start_time,end_time,status,total_price");
+        assertThat(lines.get(1)).contains(",2021-03-01T09:00,", ",COMPLETED,12.5,", ",\"'=García, \"\"Pepe\"\" Export\",");
+        assertThat(lines.get(2)).contains(",2021-03-01T11:00,");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("NDJSON comprimido con gzip cuando el cliente lo acepta")
+    void exportsGzippedNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/appointments/export")
+                        .param("from", DAY.toString())
+                        .param("to", DAY.plusDays(1).toString())
+                        .param("format", "NDJSON")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        List<JsonNode> rows = gunzip(result.getResponse().getContentAsByteArray()).lines()
+                .map(this::readJson)
+                .toList();
+        assertThat(rows).hasSize(4);
+        assertThat(rows).extracting(row -> row.path("status").asText())
+                .containsExactly("COMPLETED", "CANCELLED", "COMPLETED", "COMPLETED");
+        assertThat(rows.get(0).path("total_price").asDouble()).isEqualTo(12.5);
+        assertThat(rows.get(0).path("barber_name").asText()).isEqualTo("Barbero Export");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Incluye las citas de los meses archivados")
+    void exportsArchivedAppointments() throws Exception {
+        MvcResult result = mockMvc.perform(get("/appointments/export")
+                        .param("from", DAY.toString())
+                        .param("to", ARCHIVED_DAY.toString())
+                        .param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<String> lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).substring(1).lines().toList();
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(4)).contains(",2021-03-05T10:00,", ",COMPLETED,12.5,", ",Barbero Export,");
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    @DisplayName("Solo ADMIN puede exportar")
+    void rejectsNonAdmins() throws Exception {
+        mockMvc.perform(get("/appointments/export")
+                        .param("from", DAY.toString())
+                        .param("to", DAY.toString()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Sin huecos libres rechaza la exportación antes de abrir la respuesta")
+    void rejectsWhenNoExportSlotIsFree() {
+        AppointmentExportService saturated = new AppointmentExportService(
+                dataSource, transactionManager, objectMapper, 100, 0, 15);
+
+        assertThatThrownBy(() -> saturated.export(DAY, DAY, null, AppointmentExportService.Format.CSV, () -> {
+            throw new AssertionError("No debe abrirse la respuesta");
+        }))
+                .isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    private JsonNode readJson(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed));
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            in.transferTo(out);
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
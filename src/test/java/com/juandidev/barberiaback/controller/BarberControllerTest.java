@@ -3,7 +3,9 @@ package com.juandidev.barberiaback.controller;
 import com.juandidev.barberiaback.dto.BarberCreateRequest;
 import com.juandidev.barberiaback.dto.BarberDto;
 import com.juandidev.barberiaback.dto.BarberUpdateRequest;
+import com.juandidev.barberiaback.metrics.BarberiaMetrics;
 import com.juandidev.barberiaback.security.JwtUtil;
+import com.juandidev.barberiaback.security.TokenRevocationService;
 import com.juandidev.barberiaback.service.BarberService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,6 +42,12 @@ class BarberControllerTest {
     @MockBean
     private JwtUtil jwtUtil;
 
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockBean
+    private BarberiaMetrics barberiaMetrics;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -0,0 +1,190 @@
+package com.juandidev.barberiaback.controller;
+
+import com.juandidev.barberiaback.metrics.QueryCounter.QueryStats;
+import com.juandidev.barberiaback.model.Appointment;
+import com.juandidev.barberiaback.model.Barber;
+import com.juandidev.barberiaback.model.DayOfWeek;
+import com.juandidev.barberiaback.model.Service;
+import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.model.WorkSchedule;
+import com.juandidev.barberiaback.repository.AppointmentRepository;
+import com.juandidev.barberiaback.repository.BarberRepository;
+import com.juandidev.barberiaback.repository.ServiceRepository;
+import com.juandidev.barberiaback.repository.UserRepository;
+import com.juandidev.barberiaback.repository.WorkScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static com.juandidev.barberiaback.support.QueryCountAssertions.assertNoCollectionFetches;
+import static com.juandidev.barberiaback.support.QueryCountAssertions.assertQueryCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presupuestos de consultas de los listados: con varias filas sembradas, un N+1 al mapear a DTO
+ * supera el presupuesto en cuanto aparece.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Presupuestos de consultas - Listados")
+class QueryBudgetIntegrationTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BarberRepository barberRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private WorkScheduleRepository workScheduleRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private MockMvc mockMvc;
+    private Barber barber;
+    private User barberUser;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        Service service = serviceRepository.save(Service.builder()
+                .name("Corte presupuesto")
+                .duration(30)
+                .price(20.0)
+                .build());
+
+        for (int i = 0; i < ROWS; i++) {
+            barberUser = saveUser(User.Role.BARBER);
+            barber = barberRepository.save(Barber.builder()
+                    .user(barberUser)
+                    .startTime(LocalTime.of(9, 0))
+                    .endTime(LocalTime.of(18, 0))
+                    .build());
+        }
+
+        for (DayOfWeek day : DayOfWeek.values()) {
+            workScheduleRepository.save(WorkSchedule.builder()
+                    .barber(barberUser)
+                    .dayOfWeek(day)
+                    .startTime(LocalTime.of(9, 0))
+                    .endTime(LocalTime.of(18, 0))
+                    .build());
+        }
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        for (int i = 0; i < ROWS; i++) {
+            appointmentRepository.save(Appointment.builder()
+                    .client(saveUser(User.Role.CLIENT))
+                    .barber(barber)
+                    .service(service)
+                    .startTime(start.plusMinutes(30L * i))
+                    .endTime(start.plusMinutes(30L * (i + 1)))
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /barbers - Barberos y usuarios en una sola consulta")
+    void barbersListShouldNotLoadUsersOneByOne() throws Exception {
+        assertQueryCount(2, () -> mockMvc.perform(get("/barbers")).andExpect(status().isOk()));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("GET /appointments/barber/{id} - Cliente, barbero y servicio en una sola consulta")
+    void barberAppointmentsShouldFetchParticipantsTogether() throws Exception {
+        assertQueryCount(2, () -> mockMvc.perform(get("/appointments/barber/{barberId}", barber.getId()))
+                .andExpect(status().isOk()));
+        assertNoCollectionFetches(() -> mockMvc.perform(get("/appointments/barber/{barberId}", barber.getId())));
+    }
+
+    @Test
+    @DisplayName("GET /appointments/date-range - Página proyectada a DTO sin cargar entidades")
+    void dateRangePageShouldProjectWithoutLoadingEntities() throws Exception {
+        LocalDateTime day = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        User admin = saveUser(User.Role.ADMIN);
+
+        QueryStats stats = assertQueryCount(2, () -> mockMvc.perform(get("/appointments/date-range")
+                        .with(user(admin))
+                        .param("startDate", day.toString())
+                        .param("endDate", day.plusDays(1).toString())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].barberName").isNotEmpty())
+                .andExpect(jsonPath("$.page.totalElements").value(greaterThanOrEqualTo(ROWS))));
+        assertThat(stats.entitiesLoaded()).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /appointments/status/{status} como BARBER - Solo sus citas, resolviendo antes su barbero")
+    void statusPageShouldOnlyListOwnAppointmentsForBarbers() throws Exception {
+        User otherBarberUser = saveUser(User.Role.BARBER);
+        barberRepository.save(Barber.builder()
+                .user(otherBarberUser)
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(18, 0))
+                .build());
+
+        assertQueryCount(3, () -> mockMvc.perform(get("/appointments/status/{status}", "PENDING")
+                        .with(user(barberUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].barberId").value(everyItem(is(barber.getId().intValue()))))
+                .andExpect(jsonPath("$.page.totalElements").value(ROWS)));
+
+        mockMvc.perform(get("/appointments").with(user(otherBarberUser)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /schedules/barber/{id}/active - Horarios sin consulta adicional del barbero")
+    void activeSchedulesShouldFetchBarberTogether() throws Exception {
+        assertQueryCount(2, () -> mockMvc.perform(get("/schedules/barber/{barberId}/active", barberUser.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    private User saveUser(User.Role role) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .username("budget_" + suffix)
+                .email("budget_" + suffix + "@barberia.com")
+                .password("x")
+                .firstName("Nombre")
+                .lastName(suffix)
+                .role(role)
+                .build());
+    }
+}
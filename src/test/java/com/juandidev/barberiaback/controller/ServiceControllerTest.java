@@ -3,7 +3,9 @@ package com.juandidev.barberiaback.controller;
 import com.juandidev.barberiaback.dto.ServiceCreateRequest;
 import com.juandidev.barberiaback.dto.ServiceDto;
 import com.juandidev.barberiaback.dto.ServiceUpdateRequest;
+import com.juandidev.barberiaback.metrics.BarberiaMetrics;
 import com.juandidev.barberiaback.security.JwtUtil;
+import com.juandidev.barberiaback.security.TokenRevocationService;
 import com.juandidev.barberiaback.service.ServiceService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,6 +41,12 @@ class ServiceControllerTest {
     @MockBean
     private JwtUtil jwtUtil;
 
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockBean
+    private BarberiaMetrics barberiaMetrics;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -0,0 +1,90 @@
+package com.juandidev.barberiaback.datagen;
+
+import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Genera un juego de datos pequeño sobre una base H2 propia y comprueba que es coherente: número
+ * de filas, agendas sin solapes, estados según pasado o futuro y secuencias por encima de los IDs
+ * generados.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:datagen")
+@ActiveProfiles("test")
+@DisplayName("DataGenerator - Juego de datos sintético")
+class DataGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Genera citas sin solapes, en estados coherentes y deja las secuencias listas")
+    void generatesConsistentDataset() {
+        DataGenProperties properties = new DataGenProperties();
+        properties.setAppointments(3_000);
+        properties.setBarbers(8);
+        properties.setClients(200);
+        properties.setServices(10);
+        properties.setMonthsBack(2);
+        properties.setMonthsAhead(1);
+        properties.setBatchSize(250);
+        properties.setExitWhenDone(false);
+
+        LocalDateTime before = LocalDateTime.now();
+        DataGenerator.Result result = new DataGenerator(jdbcTemplate, passwordEncoder, properties).generate();
+        LocalDateTime after = LocalDateTime.now();
+
+        assertThat(count("SELECT COUNT(*) FROM users")).isEqualTo(result.clients() + result.barbers());
+        assertThat(count("SELECT COUNT(*) FROM barbers")).isEqualTo(8);
+        assertThat(count("SELECT COUNT(*) FROM services")).isEqualTo(10);
+        assertThat(count("SELECT COUNT(*) FROM work_schedules")).isEqualTo(8 * 7);
+        assertThat(count("SELECT COUNT(*) FROM appointments")).isEqualTo(result.appointments());
+        assertThat(result.appointments()).isBetween(2_400L, 3_600L);
+
+        assertThat(count("""
+                SELECT COUNT(*) FROM appointments a JOIN appointments b
+                  ON a.barber_id = b.barber_id AND a.id < b.id
+                 AND a.start_time < b.end_time AND b.start_time < a.end_time
+                """)).isZero();
+        assertThat(count("""
+                SELECT COUNT(*) FROM appointments
+                 WHERE start_time < ? AND status IN ('PENDING', 'CONFIRMED')
+                """, before)).isZero();
+        assertThat(count("""
+                SELECT COUNT(*) FROM appointments
+                 WHERE start_time > ? AND status IN ('COMPLETED', 'NO_SHOW')
+                """, after)).isZero();
+
+        long maxUserId = count("SELECT MAX(id) FROM users");
+        User created = userRepository.save(User.builder()
+                .username("after_datagen")
+                .email("after_datagen@barberia.com")
+                .password("x")
+                .firstName("Tras")
+                .lastName("Datagen")
+                .role(User.Role.CLIENT)
+                .build());
+        assertThat(created.getId()).isGreaterThan(maxUserId);
+    }
+
+    private long count(String sql, Object... args) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.juandidev.barberiaback.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ConnectionConcurrencyGuard - Límite de conexiones concurrentes")
+class ConnectionConcurrencyGuardTest {
+
+    private final ConnectionConcurrencyGuard guard = new ConnectionConcurrencyGuard(
+            new DriverManagerDataSource("jdbc:h2:mem:guard;DB_CLOSE_DELAY=-1", "sa", ""),
+            2, Duration.ofMillis(100));
+
+    @Test
+    @DisplayName("Debe rechazar conexiones por encima del límite tras el timeout")
+    void shouldRejectConnectionsAboveLimit() throws Exception {
+        try (Connection first = guard.getConnection(); Connection second = guard.getConnection()) {
+            assertThat(guard.getAvailablePermits()).isZero();
+            assertThatThrownBy(guard::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        }
+        assertThat(guard.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Cerrar dos veces la misma conexión debe liberar un único permiso")
+    void doubleCloseShouldReleaseOnce() throws Exception {
+        Connection connection = guard.getConnection();
+        connection.close();
+        connection.close();
+
+        assertThat(connection.isClosed()).isTrue();
+        assertThat(guard.getAvailablePermits()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,307 @@
+package com.juandidev.barberiaback.datasource;
+
+import com.juandidev.barberiaback.model.Barber;
+import com.juandidev.barberiaback.model.Service;
+import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.repository.BarberRepository;
+import com.juandidev.barberiaback.repository.ServiceRepository;
+import com.juandidev.barberiaback.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Con open-in-view desactivado la conexión se devuelve al pool al terminar la transacción de
+ * solo lectura, antes de serializar la respuesta. Un interceptor comprueba que el hilo ya no la
+ * retiene después de escribir el cuerpo; muestreando el MXBean de Hikari bajo carga se mide qué
+ * parte del tiempo de cada petición ocupa una conexión y, con un pool pequeño y muchos clientes
+ * concurrentes, ninguna petición debe agotar el tiempo de espera de Hikari.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pool_occupancy",
+        "spring.datasource.hikari.maximum-pool-size=" + ConnectionPoolOccupancyTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=2000"
+})
+@ActiveProfiles("test")
+@DisplayName("Pool de conexiones - Ocupación bajo carga")
+class ConnectionPoolOccupancyTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int CLIENTS = 32;
+    private static final int REQUESTS_PER_CLIENT = 25;
+
+    /**
+     * Fracción máxima del tiempo de una petición con una conexión retenida. Con open-in-view la
+     * conexión sigue ocupada mientras se serializa la respuesta y la fracción se acerca a 1.
+     */
+    private static final double MAX_HOLD_RATIO = 0.75;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BarberRepository barberRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private PoolProbe probe;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        if (serviceRepository.count() == 0) {
+            seedCatalog();
+        }
+    }
+
+    @Test
+    @DisplayName("Open-in-view debe estar desactivado")
+    void openInViewShouldBeDisabled() {
+        assertThat(applicationContext.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("La conexión no queda retenida mientras se escribe la respuesta")
+    void connectionShouldBeReleasedBeforeWritingResponse() throws Exception {
+        for (String path : List.of("/barbers", "/services")) {
+            probe.heldAfterBody.clear();
+
+            int status = mockMvc.perform(get(path).requestAttr(PoolProbe.ATTRIBUTE, true))
+                    .andReturn().getResponse().getStatus();
+
+            assertThat(status).isEqualTo(200);
+            assertThat(probe.heldAfterBody).as("conexión retenida tras serializar %s", path).containsExactly(false);
+        }
+    }
+
+    @Test
+    @DisplayName("Cada petición retiene la conexión solo una parte de su duración")
+    void connectionShouldBeHeldForAFractionOfEachRequest() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        // Tantos clientes como conexiones: ninguna petición espera al pool, así que las peticiones en
+        // curso y las conexiones activas miden el tiempo de petición y el de retención de la conexión
+        PoolSampler sampler = new PoolSampler(pool, inFlight);
+        List<Integer> statuses = runClients(POOL_SIZE, inFlight, sampler);
+
+        assertThat(statuses).hasSize(POOL_SIZE * REQUESTS_PER_CLIENT).containsOnly(200);
+        assertThat(sampler.peakActive).isLessThanOrEqualTo(POOL_SIZE);
+        assertThat(sampler.averageInFlight()).isGreaterThan(0);
+        assertThat(sampler.averageActive() / sampler.averageInFlight())
+                .as("conexiones activas por petición en curso (media activas %.2f, en curso %.2f)",
+                        sampler.averageActive(), sampler.averageInFlight())
+                .isLessThan(MAX_HOLD_RATIO);
+    }
+
+    @Test
+    @DisplayName("Las lecturas concurrentes no deben agotar el pool")
+    void concurrentReadsShouldNotExhaustPool() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        PoolSampler sampler = new PoolSampler(pool, inFlight);
+        List<Integer> statuses = runClients(CLIENTS, inFlight, sampler);
+
+        assertThat(statuses).hasSize(CLIENTS * REQUESTS_PER_CLIENT).containsOnly(200);
+        assertThat(sampler.peakActive).isLessThanOrEqualTo(POOL_SIZE);
+        // Con el pool saturado la mayoría de las peticiones en curso esperan conexión o serializan
+        assertThat(sampler.averageActive()).isLessThan(sampler.averageInFlight());
+        assertThat(pool.getActiveConnections()).isZero();
+    }
+
+    private List<Integer> runClients(int clientCount, AtomicInteger inFlight, PoolSampler sampler)
+            throws Exception {
+        Thread samplerThread = Thread.ofPlatform().daemon().start(sampler);
+        ExecutorService clients = Executors.newFixedThreadPool(clientCount);
+        List<Future<List<Integer>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < clientCount; i++) {
+                results.add(clients.submit(client(inFlight)));
+            }
+
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<List<Integer>> result : results) {
+                statuses.addAll(result.get());
+            }
+            return statuses;
+        } finally {
+            clients.shutdownNow();
+            sampler.stop();
+            samplerThread.join();
+        }
+    }
+
+    private Callable<List<Integer>> client(AtomicInteger inFlight) {
+        return () -> {
+            List<Integer> statuses = new ArrayList<>(REQUESTS_PER_CLIENT);
+            for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                String path = i % 2 == 0 ? "/barbers" : "/services";
+                inFlight.incrementAndGet();
+                try {
+                    statuses.add(mockMvc.perform(get(path)).andReturn().getResponse().getStatus());
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+            return statuses;
+        };
+    }
+
+    private void seedCatalog() {
+        for (int i = 0; i < 20; i++) {
+            User user = userRepository.save(User.builder()
+                    .username("pool_barber" + i)
+                    .email("pool_barber" + i + "@barberia.com")
+                    .password("x")
+                    .firstName("Barbero")
+                    .lastName(String.valueOf(i))
+                    .role(User.Role.BARBER)
+                    .build());
+            barberRepository.save(Barber.builder()
+                    .user(user)
+                    .specialties("Corte, Barba")
+                    .experienceYears(i % 10)
+                    .startTime(LocalTime.of(9, 0))
+                    .endTime(LocalTime.of(18, 0))
+                    .build());
+            serviceRepository.save(Service.builder()
+                    .name("Servicio pool " + i)
+                    .duration(30)
+                    .price(20.0)
+                    .build());
+        }
+    }
+
+    /**
+     * Anota en postHandle, cuando el cuerpo de un @RestController ya se escribió pero open-in-view
+     * aún no habría cerrado el EntityManager, si el hilo de la petición sigue atado a un
+     * EntityManager o a una conexión. Se mira el hilo y no el pool porque las tareas programadas
+     * también piden conexiones. Solo cuenta las peticiones marcadas con {@link #ATTRIBUTE}.
+     */
+    @TestConfiguration
+    static class PoolProbe implements WebMvcConfigurer {
+
+        static final String ATTRIBUTE = PoolProbe.class.getName();
+
+        private final List<Boolean> heldAfterBody = new CopyOnWriteArrayList<>();
+
+        @Autowired
+        private DataSource dataSource;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new HandlerInterceptor() {
+                @Override
+                public void postHandle(HttpServletRequest request, HttpServletResponse response,
+                                       Object handler, ModelAndView modelAndView) {
+                    if (request.getAttribute(ATTRIBUTE) != null) {
+                        heldAfterBody.add(TransactionSynchronizationManager.hasResource(entityManagerFactory)
+                                || TransactionSynchronizationManager.hasResource(dataSource));
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Muestrea cada 0,1 ms las conexiones activas y las peticiones en curso. Por la ley de Little,
+     * el cociente de sus medias es la fracción del tiempo de petición con una conexión retenida.
+     * Los campos se leen tras {@code join()}, que ya publica lo escrito por el hilo del muestreo.
+     */
+    private static final class PoolSampler implements Runnable {
+
+        private final HikariPoolMXBean pool;
+        private final AtomicInteger inFlight;
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private long samples;
+        private long activeSum;
+        private long inFlightSum;
+        private int peakActive;
+
+        private PoolSampler(HikariPoolMXBean pool, AtomicInteger inFlight) {
+            this.pool = pool;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public void run() {
+            while (running.get()) {
+                int active = pool.getActiveConnections();
+                samples++;
+                activeSum += active;
+                inFlightSum += inFlight.get();
+                peakActive = Math.max(peakActive, active);
+                LockSupport.parkNanos(100_000);
+            }
+        }
+
+        private void stop() {
+            running.set(false);
+        }
+
+        private double averageActive() {
+            return samples == 0 ? 0 : (double) activeSum / samples;
+        }
+
+        private double averageInFlight() {
+            return samples == 0 ? 0 : (double) inFlightSum / samples;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.juandidev.barberiaback.datasource;
+
+import com.juandidev.barberiaback.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReplicaRoutingDataSource - Enrutamiento de lecturas")
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = markedDatabase("primary");
+        DataSource replica = markedDatabase("replica");
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica),
+                Duration.ofSeconds(5));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Las transacciones de solo lectura van a la réplica")
+    void readOnlyTransactionsShouldUseReplica() {
+        assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Las transacciones de escritura y el código sin transacción van al primario")
+    void writesShouldUsePrimary() {
+        assertThat(writeTransaction.execute(status -> currentNode())).isEqualTo("primary");
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Sin réplicas sanas las lecturas vuelven al primario")
+    void shouldFallBackToPrimaryWhenReplicaIsUnhealthy() {
+        routingDataSource.markReplicaUnhealthy("replica-0");
+        assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("primary");
+
+        routingDataSource.markReplicaHealthy("replica-0");
+        assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("El monitor excluye la réplica cuando supera el retraso máximo")
+    void lagMonitorShouldExcludeLaggingReplica() {
+        new ReplicaLagMonitor(routingDataSource, "SELECT 30", Duration.ofSeconds(5)).checkReplicas();
+        assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("primary");
+
+        new ReplicaLagMonitor(routingDataSource, "SELECT 0", Duration.ofSeconds(5)).checkReplicas();
+        assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Un usuario que acaba de escribir lee del primario")
+    void userShouldReadOwnWritesFromPrimary() {
+        authenticate(1L);
+        assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("replica");
+
+        writeTransaction.executeWithoutResult(status -> currentNode());
+        assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("primary");
+
+        authenticate(2L);
+        assertThat(readOnlyTransaction.execute(status -> currentNode())).isEqualTo("replica");
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private void authenticate(Long userId) {
+        User user = User.builder()
+                .id(userId)
+                .username("user" + userId)
+                .role(User.Role.CLIENT)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private DataSource markedDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE node (name VARCHAR(20))");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,86 @@
+package com.juandidev.barberiaback.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JFR - Eventos de la aplicación")
+class BarberiaEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Debe registrar reserva, etapas, disponibilidad y JWT con sus campos")
+    void shouldRecordEventsWithFields() throws Exception {
+        Path file = tempDir.resolve("barberia.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(BookingEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(BookingStageEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(AvailabilityEvent.NAME).withThreshold(Duration.ZERO);
+            recording.enable(JwtAuthenticationEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+
+            BookingEvent booking = BookingEvent.start(7L, 3L);
+            BookingStageEvent.start(BookingStageEvent.CONFLICT_CHECK, 7L).commit();
+            booking.finish("conflict");
+
+            AvailabilityEvent.start(7L, LocalDate.of(2030, 1, 15), 30).finish(18, 12, 6);
+
+            JwtAuthenticationEvent jwt = JwtAuthenticationEvent.start();
+            jwt.setPrincipalSource("claims");
+            jwt.finish("authenticated");
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        assertThat(single(events, BookingEvent.NAME).getString("outcome")).isEqualTo("conflict");
+        assertThat(single(events, BookingEvent.NAME).getLong("clientId")).isEqualTo(3L);
+        assertThat(single(events, BookingStageEvent.NAME).getString("stage")).isEqualTo(BookingStageEvent.CONFLICT_CHECK);
+        assertThat(single(events, AvailabilityEvent.NAME).getString("date")).isEqualTo("2030-01-15");
+        assertThat(single(events, AvailabilityEvent.NAME).getInt("slotsReturned")).isEqualTo(12);
+        assertThat(single(events, JwtAuthenticationEvent.NAME).getString("principalSource")).isEqualTo("claims");
+        assertThat(single(events, JwtAuthenticationEvent.NAME).getString("result")).isEqualTo("authenticated");
+    }
+
+    @Test
+    @DisplayName("Debe descartar las reservas por debajo del umbral anotado")
+    void shouldApplyAnnotatedThreshold() throws Exception {
+        Path file = tempDir.resolve("default.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(BookingEvent.NAME);
+            recording.start();
+
+            BookingEvent.start(1L, 1L).finish("created");
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertThat(RecordingFile.readAllEvents(file))
+                .noneMatch(event -> event.getEventType().getName().equals(BookingEvent.NAME));
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertThat(matching).as(name).hasSize(1);
+        return matching.get(0);
+    }
+}
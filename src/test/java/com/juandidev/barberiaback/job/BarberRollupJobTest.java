@@ -0,0 +1,67 @@
+package com.juandidev.barberiaback.job;
+
+import com.juandidev.barberiaback.repository.AppointmentRepository;
+import com.juandidev.barberiaback.repository.BarberRepository;
+import com.juandidev.barberiaback.service.BarberRollupService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BarberRollupJob - Relleno del histórico")
+class BarberRollupJobTest {
+
+    @Mock
+    private BarberRollupService rollupService;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private BarberRepository barberRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SchedulerLeaderElection leaderElection;
+
+    @Test
+    @DisplayName("Un backfill-from anterior a la primera cita sin archivar empieza en esa cita")
+    void backfillNeverStartsBeforeEarliestLiveAppointment() {
+        LocalDate earliest = LocalDate.now().minusDays(3);
+        when(appointmentRepository.findEarliestStartTime()).thenReturn(earliest.atTime(10, 0));
+        when(barberRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+
+        BarberRollupJob job = new BarberRollupJob(rollupService, appointmentRepository, barberRepository,
+                transactionTemplate, leaderElection, false, "2000-01-01");
+
+        // Tres días (de hace tres días a ayer) por dos barberos
+        assertThat(job.backfill()).isEqualTo(6);
+        verify(transactionTemplate, times(3)).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Un backfill-from posterior a la primera cita se respeta")
+    void backfillHonoursLaterStart() {
+        when(appointmentRepository.findEarliestStartTime()).thenReturn(LocalDate.now().minusYears(1).atStartOfDay());
+        when(barberRepository.findAllIds()).thenReturn(List.of(1L));
+
+        BarberRollupJob job = new BarberRollupJob(rollupService, appointmentRepository, barberRepository,
+                transactionTemplate, leaderElection, false, LocalDate.now().minusDays(2).toString());
+
+        assertThat(job.backfill()).isEqualTo(2);
+    }
+}
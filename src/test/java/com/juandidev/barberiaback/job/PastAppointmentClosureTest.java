@@ -0,0 +1,136 @@
+package com.juandidev.barberiaback.job;
+
+import com.juandidev.barberiaback.metrics.BarberiaMetrics;
+import com.juandidev.barberiaback.model.Appointment;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.model.Barber;
+import com.juandidev.barberiaback.model.Service;
+import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.repository.AppointmentRepository;
+import com.juandidev.barberiaback.service.BarberRollupService;
+import com.juandidev.barberiaback.support.ShopFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * El job cierra cualquier CONFIRMED terminada de la base compartida, así que las citas de estos
+ * tests se colocan en torno a {@link #NOW}, un mes que no usa ninguna otra clase, y el margen se
+ * alarga hasta él: el job solo ve las citas de esta clase y no toca las de los demás.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("PastAppointmentClosure - Cierre por lotes de citas terminadas")
+class PastAppointmentClosureTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2020, 6, 15, 12, 0);
+    private static final Duration GRACE = Duration.ofMinutes(30);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BarberiaMetrics metrics;
+
+    @Autowired
+    private BarberRollupService rollupService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Solo cierra las CONFIRMED terminadas hace más del margen")
+    void closesOnlyConfirmedPastTheGracePeriod() {
+        Fixture fixture = fixture("closure_single");
+        Appointment ended = book(fixture, NOW.minusHours(3), AppointmentStatus.CONFIRMED);
+        Appointment withinGrace = book(fixture, NOW.minusMinutes(40), AppointmentStatus.CONFIRMED);
+        Appointment upcoming = book(fixture, NOW.plusHours(2), AppointmentStatus.CONFIRMED);
+        Appointment pending = book(fixture, NOW.minusHours(3).plusMinutes(30), AppointmentStatus.PENDING);
+        Appointment cancelled = book(fixture, NOW.minusHours(4), AppointmentStatus.CANCELLED);
+        double before = closedCounter(AppointmentStatus.COMPLETED);
+
+        assertThat(closure(AppointmentStatus.COMPLETED, 100).closeEnded()).isEqualTo(1);
+
+        assertThat(status(ended)).isEqualTo(AppointmentStatus.COMPLETED);
+        assertThat(status(withinGrace)).isEqualTo(AppointmentStatus.CONFIRMED);
+        assertThat(status(upcoming)).isEqualTo(AppointmentStatus.CONFIRMED);
+        assertThat(status(pending)).isEqualTo(AppointmentStatus.PENDING);
+        assertThat(status(cancelled)).isEqualTo(AppointmentStatus.CANCELLED);
+        assertThat(closedCounter(AppointmentStatus.COMPLETED) - before).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Dos nodos en paralelo cierran cada cita una sola vez")
+    void concurrentNodesCountEachAppointmentOnce() {
+        Fixture fixture = fixture("closure_parallel");
+        LocalDateTime firstStart = NOW.minusDays(2).withHour(9).withMinute(0);
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            appointments.add(book(fixture, firstStart.plusMinutes(30L * i), AppointmentStatus.CONFIRMED));
+        }
+        double before = closedCounter(AppointmentStatus.NO_SHOW);
+
+        PastAppointmentClosure nodeA = closure(AppointmentStatus.NO_SHOW, 7);
+        PastAppointmentClosure nodeB = closure(AppointmentStatus.NO_SHOW, 7);
+        CompletableFuture<Integer> closedByA = CompletableFuture.supplyAsync(nodeA::closeEnded);
+        CompletableFuture<Integer> closedByB = CompletableFuture.supplyAsync(nodeB::closeEnded);
+
+        assertThat(closedByA.join() + closedByB.join()).isEqualTo(appointments.size());
+        assertThat(appointments).allSatisfy(appointment ->
+                assertThat(status(appointment)).isEqualTo(AppointmentStatus.NO_SHOW));
+        assertThat(closedCounter(AppointmentStatus.NO_SHOW) - before).isEqualTo(appointments.size());
+    }
+
+    private PastAppointmentClosure closure(AppointmentStatus closedStatus, int batchSize) {
+        return new PastAppointmentClosure(appointmentRepository, transactionTemplate, metrics, rollupService,
+                Duration.between(NOW, LocalDateTime.now()).plus(GRACE), closedStatus, batchSize, 1_000);
+    }
+
+    private record Fixture(User client, Barber barber, Service service) {
+    }
+
+    private Fixture fixture(String prefix) {
+        return new Fixture(ShopFixtures.client(context, prefix + "_client"),
+                ShopFixtures.barber(context, prefix + "_barber"),
+                ShopFixtures.service(context, "Corte " + prefix, 15.0));
+    }
+
+    private Appointment book(Fixture fixture, LocalDateTime startTime, AppointmentStatus status) {
+        return ShopFixtures.book(context, fixture.client(), fixture.barber(), fixture.service(), startTime, status);
+    }
+
+    private AppointmentStatus status(Appointment appointment) {
+        return AppointmentStatus.valueOf(jdbcTemplate.queryForObject(
+                "SELECT status FROM appointments WHERE id = ?", String.class, appointment.getId()));
+    }
+
+    private double closedCounter(AppointmentStatus status) {
+        return meterRegistry.get("barberia.appointments.closed")
+                .tag("status", status.name().toLowerCase())
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,148 @@
+package com.juandidev.barberiaback.job;
+
+import com.juandidev.barberiaback.exception.InvalidAppointmentStatusException;
+import com.juandidev.barberiaback.metrics.BarberiaMetrics;
+import com.juandidev.barberiaback.model.Appointment;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.model.Barber;
+import com.juandidev.barberiaback.model.Service;
+import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.repository.AppointmentRepository;
+import com.juandidev.barberiaback.service.AppointmentService;
+import com.juandidev.barberiaback.support.ShopFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cada test corre en una transacción que se deshace al terminar: los lotes del job se unen a ella,
+ * así que las PENDING de otras clases que expire no quedan cambiadas. Como el job no distingue de
+ * quién son las citas, las comprobaciones miran solo las del barbero que crea cada test.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@RecordApplicationEvents
+@DisplayName("PendingAppointmentExpiry - Expiración de citas sin confirmar")
+class PendingAppointmentExpiryTest {
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SchedulerLeaderElection leaderElection;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BarberiaMetrics metrics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    @DisplayName("Expira por lotes las PENDING antiguas o ya empezadas y libera sus huecos")
+    void expiresStaleAndStartedPendingInBatches() {
+        User client = ShopFixtures.client(context, "expiry_client");
+        Barber barber = ShopFixtures.barber(context, "expiry_barber");
+        Service service = ShopFixtures.service(context, "Corte expiración", 15.0);
+
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        Appointment stale = book(client, barber, service, tomorrow.atTime(10, 0), AppointmentStatus.PENDING);
+        Appointment started = book(client, barber, service, yesterday.atTime(10, 0), AppointmentStatus.PENDING);
+        Appointment fresh = book(client, barber, service, tomorrow.atTime(11, 0), AppointmentStatus.PENDING);
+        Appointment confirmed = book(client, barber, service, tomorrow.atTime(12, 0), AppointmentStatus.CONFIRMED);
+        jdbcTemplate.update("UPDATE appointments SET created_at = ? WHERE id IN (?, ?)",
+                LocalDateTime.now().minusDays(3), stale.getId(), confirmed.getId());
+
+        PendingAppointmentExpiry expiry = new PendingAppointmentExpiry(appointmentRepository, transactionTemplate,
+                leaderElection, eventPublisher, metrics, Duration.ofHours(48), 1, 1_000);
+
+        assertThat(expiry.expirePending()).isGreaterThanOrEqualTo(2);
+
+        assertThat(status(stale)).isEqualTo(AppointmentStatus.EXPIRED);
+        assertThat(status(started)).isEqualTo(AppointmentStatus.EXPIRED);
+        assertThat(status(fresh)).isEqualTo(AppointmentStatus.PENDING);
+        assertThat(status(confirmed)).isEqualTo(AppointmentStatus.CONFIRMED);
+
+        // Un lote por cita (batch-size 1), cada uno con el día que libera
+        List<AppointmentsReleasedEvent> released = releasedFor(barber);
+        assertThat(released).hasSize(2);
+        assertThat(released).flatExtracting(event -> event.datesByBarber().get(barber.getId()))
+                .containsExactlyInAnyOrder(yesterday, tomorrow);
+
+        assertThat(appointmentService.getAppointmentsByBarberAndDate(barber.getId(), tomorrow))
+                .extracting("id")
+                .containsExactlyInAnyOrder(fresh.getId(), confirmed.getId());
+
+        assertThat(expiry.expirePending()).isZero();
+        assertThat(releasedFor(barber)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Confirmar una cita que expiró tras leerla falla y no la devuelve a CONFIRMED")
+    void confirmDoesNotOverwriteConcurrentExpiry() {
+        User client = ShopFixtures.client(context, "expiry_race_client");
+        Barber barber = ShopFixtures.barber(context, "expiry_race_barber");
+        Service service = ShopFixtures.service(context, "Corte carrera", 15.0);
+        Appointment pending = book(client, barber, service, LocalDate.now().plusDays(2).atTime(10, 0),
+                AppointmentStatus.PENDING);
+
+        // La confirmación ya tiene la cita cargada como PENDING cuando el job la expira
+        appointmentRepository.findById(pending.getId()).orElseThrow();
+        jdbcTemplate.update("UPDATE appointments SET status = 'EXPIRED' WHERE id = ?", pending.getId());
+
+        assertThatThrownBy(() -> appointmentService.confirmAppointment(pending.getId(), 1L, User.Role.ADMIN))
+                .isInstanceOf(InvalidAppointmentStatusException.class);
+        assertThatThrownBy(() -> appointmentService.cancelAppointment(pending.getId(), 1L, User.Role.ADMIN))
+                .isInstanceOf(InvalidAppointmentStatusException.class);
+        assertThat(status(pending)).isEqualTo(AppointmentStatus.EXPIRED);
+    }
+
+    private List<AppointmentsReleasedEvent> releasedFor(Barber barber) {
+        return events.stream(AppointmentsReleasedEvent.class)
+                .filter(event -> event.datesByBarber().containsKey(barber.getId()))
+                .toList();
+    }
+
+    private Appointment book(User client, Barber barber, Service service, LocalDateTime startTime,
+                             AppointmentStatus status) {
+        return ShopFixtures.book(context, client, barber, service, startTime, status);
+    }
+
+    private AppointmentStatus status(Appointment appointment) {
+        return AppointmentStatus.valueOf(jdbcTemplate.queryForObject(
+                "SELECT status FROM appointments WHERE id = ?", String.class, appointment.getId()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.juandidev.barberiaback.job;
+
+import com.juandidev.barberiaback.support.LocalPostgres;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dos "nodos" sobre el mismo PostgreSQL ({@link LocalPostgres}): mientras uno ejecuta la tarea,
+ * el otro la omite; al terminar, el lock queda libre.
+ */
+@EnabledIf("com.juandidev.barberiaback.support.LocalPostgres#available")
+@DisplayName("SchedulerLeaderElection - Advisory locks de PostgreSQL")
+class SchedulerLeaderElectionTest {
+
+    @Test
+    @DisplayName("Solo un nodo ejecuta la tarea a la vez")
+    void onlyOneNodeRunsTheTask() {
+        LocalPostgres postgres = LocalPostgres.shared();
+        SchedulerLeaderElection nodeA = node(postgres);
+        SchedulerLeaderElection nodeB = node(postgres);
+
+        AtomicBoolean ranOnB = new AtomicBoolean();
+        boolean ranOnA = nodeA.runIfLeader("leader-election-test", () ->
+                ranOnB.set(nodeB.runIfLeader("leader-election-test", () -> { })));
+
+        assertThat(ranOnA).isTrue();
+        assertThat(ranOnB).isFalse();
+        assertThat(nodeB.runIfLeader("leader-election-test", () -> { })).isTrue();
+        assertThat(nodeB.runIfLeader("other-task", () -> { })).isTrue();
+    }
+
+    private static SchedulerLeaderElection node(LocalPostgres postgres) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(postgres.url(), postgres.user(), postgres.password());
+        return new SchedulerLeaderElection(new JdbcTemplate(dataSource), true);
+    }
+}
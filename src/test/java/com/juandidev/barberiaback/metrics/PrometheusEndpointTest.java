@@ -0,0 +1,66 @@
+package com.juandidev.barberiaback.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)
+@DisplayName("Métricas - Endpoint Prometheus")
+class PrometheusEndpointTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Debe exponer sin autenticación los histogramas de las rutas calientes")
+    void shouldExposeHotPathHistograms() throws Exception {
+        mockMvc.perform(get("/services").header("Authorization", "Bearer token-invalido"));
+
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body)
+                .contains("barberia_jwt_parse_seconds_bucket")
+                .containsPattern("barberia_jwt_parse_seconds_count\\{[^}]*result=\"invalid\"[^}]*} [1-9]")
+                .contains("barberia_booking_create_seconds_bucket")
+                .contains("barberia_availability_calculation_seconds_bucket")
+                .contains("barberia_auth_verification_queue")
+                .contains("barberia_auth_verification_duration_seconds_bucket")
+                .contains("barberia_auth_verification_pool_size")
+                .contains("http_server_requests_seconds_bucket");
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    @DisplayName("Debe exigir rol ADMIN para el resto de endpoints de Actuator")
+    void shouldProtectOtherActuatorEndpoints() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+    }
+}
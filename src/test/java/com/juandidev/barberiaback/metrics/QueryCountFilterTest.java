@@ -0,0 +1,74 @@
+package com.juandidev.barberiaback.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("QueryCountFilter - Conteo de consultas por petición")
+class QueryCountFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Debe devolver en cabeceras solo la actividad de la petición")
+    void shouldExposeRequestActivityAsHeaders() throws Exception {
+        QueryCounter.statementPrepared(); // actividad previa del mismo hilo, no debe contarse
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryCountFilter(meterRegistry, true, 20, List.of()).doFilter(request(), response, (req, res) -> {
+            QueryCounter.statementPrepared();
+            QueryCounter.statementPrepared();
+            QueryCounter.entityLoaded();
+            QueryCounter.collectionFetched();
+            res.getWriter().write("[]");
+        });
+
+        assertThat(response.getHeader(QueryCountFilter.STATEMENTS_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(QueryCountFilter.ENTITIES_HEADER)).isEqualTo("1");
+        assertThat(response.getHeader(QueryCountFilter.COLLECTIONS_HEADER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Debe publicar métricas por patrón de URI sin añadir cabeceras")
+    void shouldRecordMetricsWithoutHeaders() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryCountFilter(meterRegistry, false, 20, List.of()).doFilter(request(), response,
+                (req, res) -> QueryCounter.statementPrepared());
+
+        assertThat(response.getHeader(QueryCountFilter.STATEMENTS_HEADER)).isNull();
+        assertThat(meterRegistry.get("barberia.request.statements").tag("uri", "/barbers/{id}")
+                .summary().totalAmount()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("No debe almacenar en memoria las respuestas en streaming")
+    void shouldNotBufferStreamingResponses() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/appointments/export");
+
+        new QueryCountFilter(meterRegistry, true, 20, List.of("/appointments/export")).doFilter(request, response,
+                (req, res) -> {
+                    assertThat(res).isSameAs(response);
+                    QueryCounter.statementPrepared();
+                });
+
+        assertThat(response.getHeader(QueryCountFilter.STATEMENTS_HEADER)).isNull();
+        assertThat(meterRegistry.get("barberia.request.statements").tag("uri", "UNKNOWN")
+                .summary().totalAmount()).isEqualTo(1.0);
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/barbers/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/barbers/{id}");
+        return request;
+    }
+}
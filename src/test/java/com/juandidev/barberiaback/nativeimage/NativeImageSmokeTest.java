@@ -0,0 +1,241 @@
+package com.juandidev.barberiaback.nativeimage;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de humo del ejecutable nativo: lo arranca contra una base H2 en fichero, siembra un
+ * barbero con horario y un servicio por JDBC (AUTO_SERVER permite conectarse a la vez que la
+ * aplicación) y recorre registro, inicio de sesión, disponibilidad y reserva por HTTP.
+ *
+ * Solo se ejecuta con {@code -Dnative.executable=target/barberia-back}; el perfil Maven native lo
+ * hace tras compilar el binario. Informa del tiempo hasta la primera respuesta y de la memoria
+ * residente (VmRSS, solo en Linux).
+ */
+@Tag("native")
+@EnabledIfSystemProperty(named = "native.executable", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Imagen nativa - Prueba de humo")
+class NativeImageSmokeTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+    private static final long MAX_STARTUP_MILLIS = Long.getLong("native.max-startup-ms", 2_000);
+
+    private static final long BARBER_USER_ID = 1_000;
+    private static final long BARBER_ID = 1_000;
+    private static final long SERVICE_ID = 1_000;
+    private static final String PASSWORD = "smoke-password";
+    private static final String DB_USER = "sa";
+    private static final String DB_PASSWORD = "smoke";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    private Path workDir;
+    private String jdbcUrl;
+    private URI baseUri;
+    private Process process;
+    private long startupMillis;
+
+    @BeforeAll
+    void startExecutable() throws Exception {
+        workDir = Files.createTempDirectory("barberia-native");
+        jdbcUrl = "jdbc:h2:file:" + workDir.resolve("smoke") + ";AUTO_SERVER=TRUE";
+        int port = freePort();
+        baseUri = URI.create("http://localhost:" + port);
+
+        long started = System.nanoTime();
+        process = new ProcessBuilder(
+                System.getProperty("native.executable"),
+                "--server.port=" + port,
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + DB_USER,
+                "--spring.datasource.password=" + DB_PASSWORD,
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN")
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve("app.log").toFile())
+                .start();
+        awaitHealthy();
+        startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        seedBarberAndService();
+    }
+
+    @AfterAll
+    void stopExecutable() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Arranca rápido y atiende registro, inicio de sesión, disponibilidad y reserva")
+    void servesSigninAvailabilityAndBooking() throws Exception {
+        System.out.printf("Imagen nativa: primera respuesta en %d ms, RSS %s%n", startupMillis, residentMemory());
+        assertThat(startupMillis).as("tiempo hasta la primera respuesta").isLessThan(MAX_STARTUP_MILLIS);
+
+        HttpResponse<String> signup = post("/auth/signup", null, Map.of(
+                "username", "smoke_client",
+                "email", "smoke_client@barberia.com",
+                "password", PASSWORD,
+                "firstName", "Humo",
+                "lastName", "Nativo"));
+        assertThat(signup.statusCode()).as(signup.body()).isEqualTo(201);
+
+        HttpResponse<String> signin = post("/auth/signin", null,
+                Map.of("username", "smoke_client", "password", PASSWORD));
+        assertThat(signin.statusCode()).as(signin.body()).isEqualTo(200);
+        String token = objectMapper.readTree(signin.body()).path("token").asText();
+        assertThat(token).isNotBlank();
+
+        LocalDate date = LocalDate.now().plusDays(7);
+        HttpResponse<String> availability = get("/availability/barber/" + BARBER_USER_ID
+                + "?date=" + date + "&duration=30", null);
+        assertThat(availability.statusCode()).as(availability.body()).isEqualTo(200);
+        assertThat(objectMapper.readTree(availability.body()).size()).isPositive();
+
+        Map<String, Object> booking = new LinkedHashMap<>();
+        booking.put("clientId", clientId("smoke_client"));
+        booking.put("barberId", BARBER_ID);
+        booking.put("serviceId", SERVICE_ID);
+        booking.put("startTime", date.atTime(10, 0).toString());
+        HttpResponse<String> created = post("/appointments", token, booking);
+        assertThat(created.statusCode()).as(created.body()).isEqualTo(201);
+
+        // La lectura mapea cliente, barbero y servicio: las asociaciones LAZY de Appointment
+        long appointmentId = objectMapper.readTree(created.body()).path("id").asLong();
+        HttpResponse<String> fetched = get("/appointments/" + appointmentId, token);
+        assertThat(fetched.statusCode()).as(fetched.body()).isEqualTo(200);
+        JsonNode appointment = objectMapper.readTree(fetched.body());
+        assertThat(appointment.path("barberName").asText()).isNotBlank();
+        assertThat(LocalDateTime.parse(appointment.path("startTime").asText())).isEqualTo(date.atTime(10, 0));
+    }
+
+    private void awaitHealthy() throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(baseUri.resolve("/health")).timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("El ejecutable terminó al arrancar; ver " + workDir.resolve("app.log"));
+            }
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Aún arrancando
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("El ejecutable no respondió en " + STARTUP_TIMEOUT);
+    }
+
+    /**
+     * Barbero con horario de 9 a 18 todos los días y un servicio de 30 minutos. Los IDs quedan
+     * lejos de los que reparten las secuencias (bloques de 50 desde 1).
+     */
+    private void seedBarberAndService() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, DB_USER, DB_PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, username, email, password, first_name, last_name, role, " +
+                    "is_enabled, created_at, updated_at) VALUES (" + BARBER_USER_ID + ", 'smoke_barber', " +
+                    "'smoke_barber@barberia.com', 'x', 'Barbero', 'Nativo', 'BARBER', true, " +
+                    "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+            statement.execute("INSERT INTO barbers (id, user_id, start_time, end_time, is_available, is_active, " +
+                    "created_at, updated_at) VALUES (" + BARBER_ID + ", " + BARBER_USER_ID + ", '09:00', '18:00', " +
+                    "true, true, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+            statement.execute("INSERT INTO services (id, name, duration, price, is_active, created_at, updated_at) " +
+                    "VALUES (" + SERVICE_ID + ", 'Corte nativo', 30, 15.0, true, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+            long scheduleId = 1_000;
+            for (String day : List.of("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY")) {
+                statement.execute("INSERT INTO work_schedules (id, barber_id, day_of_week, start_time, end_time, " +
+                        "is_active, created_at, updated_at) VALUES (" + scheduleId++ + ", " + BARBER_USER_ID +
+                        ", '" + day + "', '09:00', '18:00', true, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+            }
+        }
+    }
+
+    private long clientId(String username) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, DB_USER, DB_PASSWORD);
+             PreparedStatement statement = connection.prepareStatement("SELECT id FROM users WHERE username = ?")) {
+            statement.setString(1, username);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private HttpResponse<String> post(String path, String token, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        return send(request, token);
+    }
+
+    private HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(baseUri.resolve(path)).GET(), token);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request, String token) throws IOException, InterruptedException {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(request.timeout(Duration.ofSeconds(10)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String residentMemory() {
+        Path status = Path.of("/proc", String.valueOf(process.pid()), "status");
+        try {
+            return Files.readAllLines(status).stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.substring("VmRSS:".length()).trim())
+                    .findFirst()
+                    .orElse("desconocida");
+        } catch (IOException e) {
+            return "desconocida";
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
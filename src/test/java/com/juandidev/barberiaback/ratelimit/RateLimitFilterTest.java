@@ -0,0 +1,170 @@
+package com.juandidev.barberiaback.ratelimit;
+
+import com.juandidev.barberiaback.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitFilter - Limitación por cliente y ruta")
+class RateLimitFilterTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private final AtomicLong clock = new AtomicLong();
+    private TokenBucketRegistry registry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenBucketRegistry(8, 1_000, clock::get);
+        filter = new RateLimitFilter(registry, jwtUtil, List.of(
+                new RateLimitProperties.Policy("auth", List.of("/auth/signin"), 2, 1.0 / 30),
+                new RateLimitProperties.Policy("availability", List.of("/availability/**"), 3, 1)));
+    }
+
+    @Test
+    @DisplayName("Debe responder 429 con Retry-After al agotar la ráfaga")
+    void shouldRejectWhenBucketIsEmpty() throws Exception {
+        assertThat(send("/auth/signin", "10.0.0.1", null).getStatus()).isEqualTo(200);
+        assertThat(send("/auth/signin", "10.0.0.1", null).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse limited = send("/auth/signin", "10.0.0.1", null);
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isIn("30", "31");
+        assertThat(limited.getContentAsString()).contains("RATE_LIMITED");
+    }
+
+    @Test
+    @DisplayName("Debe reponer tokens con el paso del tiempo")
+    void shouldRefillOverTime() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            send("/availability/barber/1", "10.0.0.1", null);
+        }
+        assertThat(send("/availability/barber/1", "10.0.0.1", null).getStatus()).isEqualTo(429);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(send("/availability/barber/1", "10.0.0.1", null).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Cada IP anónima y cada usuario tienen su propio bucket")
+    void shouldKeyByUserOrIp() throws Exception {
+        when(jwtUtil.extractAllClaims("valid")).thenReturn(claims("juan", 7L));
+        when(jwtUtil.extractAllClaims("forged")).thenThrow(new MalformedJwtException("firma inválida"));
+
+        send("/auth/signin", "10.0.0.1", null);
+        send("/auth/signin", "10.0.0.1", null);
+        assertThat(send("/auth/signin", "10.0.0.1", null).getStatus()).isEqualTo(429);
+        assertThat(send("/auth/signin", "10.0.0.2", null).getStatus()).isEqualTo(200);
+
+        // Un token válido usa el bucket del usuario aunque la IP esté limitada
+        assertThat(send("/auth/signin", "10.0.0.1", "valid").getStatus()).isEqualTo(200);
+        // Un token no verificable no evita el límite de la IP
+        assertThat(send("/auth/signin", "10.0.0.1", "forged").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("El bucket de un usuario es por id, no por nombre de usuario")
+    void shouldKeyUsersById() throws Exception {
+        when(jwtUtil.extractAllClaims("before-rename")).thenReturn(claims("juan", 7L));
+        when(jwtUtil.extractAllClaims("after-rename")).thenReturn(claims("juan.perez", 7L));
+
+        assertThat(send("/auth/signin", "10.0.0.1", "before-rename").getStatus()).isEqualTo(200);
+        assertThat(send("/auth/signin", "10.0.0.2", "before-rename").getStatus()).isEqualTo(200);
+        assertThat(send("/auth/signin", "10.0.0.3", "after-rename").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Con el mapa lleno los clientes nuevos comparten un bucket en lugar de pasar sin límite")
+    void shouldShareOverflowBucketWhenFull() throws Exception {
+        registry = new TokenBucketRegistry(8, 2, clock::get);
+        filter = new RateLimitFilter(registry, jwtUtil, List.of(
+                new RateLimitProperties.Policy("auth", List.of("/auth/signin"), 2, 1.0 / 30)));
+        send("/auth/signin", "10.0.0.1", null);
+        send("/auth/signin", "10.0.0.2", null);
+
+        // Cada IP nueva gastaría una ráfaga completa; con el mapa lleno gastan la misma
+        assertThat(send("/auth/signin", "10.0.1.1", null).getStatus()).isEqualTo(200);
+        assertThat(send("/auth/signin", "10.0.1.2", null).getStatus()).isEqualTo(200);
+        assertThat(send("/auth/signin", "10.0.1.3", null).getStatus()).isEqualTo(429);
+        assertThat(registry.size()).isEqualTo(3);
+
+        // Los clientes que ya tenían bucket siguen con el suyo
+        assertThat(send("/auth/signin", "10.0.0.1", null).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Las rutas sin política no se limitan")
+    void shouldNotLimitUnmatchedRoutes() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(send("/appointments", "10.0.0.1", null).getStatus()).isEqualTo(200);
+        }
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe expulsar los buckets que ya estarían llenos")
+    void shouldEvictIdleBuckets() throws Exception {
+        send("/availability/barber/1", "10.0.0.1", null);
+        send("/auth/signin", "10.0.0.1", null);
+        assertThat(registry.size()).isEqualTo(2);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        assertThat(registry.evictIdle()).isEqualTo(1);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertThat(registry.evictIdle()).isEqualTo(1);
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deja los claims verificados en la petición para no volver a verificar el token")
+    void shouldShareVerifiedClaims() throws Exception {
+        Claims claims = claims("juan", 7L);
+        when(jwtUtil.extractAllClaims("valid")).thenReturn(claims);
+
+        MockHttpServletRequest request = request("/auth/signin", "10.0.0.1", "valid");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(request.getAttribute(JwtUtil.CLAIMS_ATTRIBUTE)).isSameAs(claims);
+    }
+
+    private static Claims claims(String username, long userId) {
+        Claims claims = Jwts.claims().setSubject(username);
+        claims.put(JwtUtil.CLAIM_USER_ID, userId);
+        return claims;
+    }
+
+    private MockHttpServletResponse send(String path, String remoteAddr, String token) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path, remoteAddr, token), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String remoteAddr, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddr);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,137 @@
+package com.juandidev.barberiaback.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandidev.barberiaback.support.LargeDataset;
+import com.juandidev.barberiaback.support.LocalPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica con EXPLAIN que cada consulta caliente de los repositorios está respaldada por un índice.
+ *
+ * Corre sobre un PostgreSQL desechable ({@link LocalPostgres}). El esquema se limpia y se recrea
+ * con las migraciones de Flyway, se siembra {@link LargeDataset} y se desactiva
+ * {@code enable_seqscan}: si aun así aparece un Seq Scan, o un escaneo de índice sin condición de
+ * índice, ningún índice puede atender el predicado. QueryPlanRegressionTest comprueba en cambio el
+ * plan real de cada consulta de los repositorios.
+ */
+@EnabledIf("com.juandidev.barberiaback.support.LocalPostgres#available")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Índices - Cobertura de consultas de repositorios")
+class QueryIndexCoverageTest {
+
+    private static final Set<String> CHECKED_TABLES = Set.of(
+            "appointments", "users", "barbers", "services", "work_schedules");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Connection connection;
+
+    @BeforeAll
+    void setUpDatabase() throws SQLException {
+        LocalPostgres postgres = LocalPostgres.shared();
+        postgres.resetSchema();
+
+        connection = postgres.connect();
+        LargeDataset.seed(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+        }
+    }
+
+    @AfterAll
+    void closeConnection() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("AppointmentRepository.findByClientIdAndStatus",
+                        "SELECT * FROM appointments WHERE client_id = 4242 AND status = 'CONFIRMED'"),
+                Arguments.of("AppointmentRepository.findByClientIdAndDateRange",
+                        "SELECT * FROM appointments WHERE client_id = 4242 " +
+                        "AND start_time BETWEEN '2025-03-01' AND '2025-03-31' ORDER BY start_time"),
+                Arguments.of("AppointmentRepository.findByBarberIdAndStatus",
+                        "SELECT * FROM appointments WHERE barber_id = 77 AND status = 'PENDING'"),
+                Arguments.of("AppointmentRepository.findByBarberIdAndDateRange",
+                        "SELECT * FROM appointments WHERE barber_id = 77 " +
+                        "AND start_time BETWEEN '2025-03-01' AND '2025-03-01 23:59:59' ORDER BY start_time"),
+                Arguments.of("AppointmentRepository.findByStatusAndDateRange",
+                        "SELECT * FROM appointments WHERE status = 'COMPLETED' " +
+                        "AND start_time BETWEEN '2025-03-01' AND '2025-03-08' ORDER BY start_time"),
+                Arguments.of("AppointmentRepository.findByDateRange",
+                        "SELECT * FROM appointments " +
+                        "WHERE start_time BETWEEN '2025-03-01' AND '2025-03-02' ORDER BY start_time"),
+                Arguments.of("WorkScheduleRepository.findByDayOfWeekAndActiveTrueOrderByStartTime",
+                        "SELECT * FROM work_schedules WHERE day_of_week = 'MONDAY' AND is_active = true " +
+                        "ORDER BY start_time"),
+                Arguments.of("UserRepository.findByRoleAndEnabledTrue",
+                        "SELECT * FROM users WHERE role = 'BARBER' AND is_enabled = true"),
+                Arguments.of("BarberRepository.findByUserId",
+                        "SELECT * FROM barbers WHERE user_id = 2000")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void queryShouldBeServedByAnIndex(String queryName, String sql) throws Exception {
+        JsonNode plan = explain(sql);
+        List<String> offendingNodes = new ArrayList<>();
+        collectUnindexedScans(plan, offendingNodes);
+
+        assertTrue(offendingNodes.isEmpty(),
+                queryName + " no usa un índice: " + offendingNodes + "\nPlan: " + plan.toPrettyString());
+    }
+
+    private JsonNode explain(String sql) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+            resultSet.next();
+            return objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan");
+        }
+    }
+
+    private void collectUnindexedScans(JsonNode node, List<String> offendingNodes) {
+        String nodeType = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText();
+
+        if (isCheckedRelation(relation)) {
+            boolean seqScan = "Seq Scan".equals(nodeType);
+            boolean fullIndexScan = nodeType.startsWith("Index") && !node.has("Index Cond");
+            if (seqScan || fullIndexScan) {
+                offendingNodes.add(nodeType + " on " + relation);
+            }
+        }
+
+        for (JsonNode child : node.path("Plans")) {
+            collectUnindexedScans(child, offendingNodes);
+        }
+    }
+
+    /**
+     * Las particiones mensuales (appointments_2025_03, appointments_default) cuentan como appointments.
+     */
+    private boolean isCheckedRelation(String relation) {
+        return CHECKED_TABLES.contains(relation)
+                || (relation.startsWith("appointments_") && !relation.equals("appointments_history"));
+    }
+}
@@ -0,0 +1,314 @@
+package com.juandidev.barberiaback.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.model.Barber;
+import com.juandidev.barberiaback.model.DayOfWeek;
+import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.support.CapturingDataSource;
+import com.juandidev.barberiaback.support.CapturingDataSource.CapturedStatement;
+import com.juandidev.barberiaback.support.LargeDataset;
+import com.juandidev.barberiaback.support.LocalPostgres;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regresiones de plan de las consultas de AppointmentRepository y WorkScheduleRepository.
+ *
+ * Cada caso llama al método real del repositorio contra un PostgreSQL local ({@link LocalPostgres})
+ * con el esquema de Flyway y {@link LargeDataset}. {@link CapturingDataSource} recoge el SQL que
+ * genera Hibernate con sus parámetros, y cada sentencia se vuelve a ejecutar con
+ * {@code EXPLAIN (ANALYZE, BUFFERS)}. El caso falla si:
+ * <ul>
+ *   <li>aparece un Seq Scan sobre una tabla o partición de al menos {@value #LARGE_TABLE_ROWS} filas,
+ *   salvo en las consultas que por diseño devuelven una fracción grande de la tabla;</li>
+ *   <li>la suma de bloques compartidos (hit + read) de todas sus sentencias supera su presupuesto.</li>
+ * </ul>
+ * Los presupuestos están calculados para LargeDataset con margen de sobra: un Seq Scan de
+ * appointments cuesta unos 7k bloques, así que las consultas por índice quedan muy por debajo.
+ * Quedan fuera {@code findAll} (heredado y sin filtro) y {@code deleteByBarberId} (modifica datos).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIf("com.juandidev.barberiaback.support.LocalPostgres#available")
+@DisplayName("Planes de ejecución - Consultas de repositorios sobre PostgreSQL")
+class QueryPlanRegressionTest {
+
+    private static final long LARGE_TABLE_ROWS = 10_000;
+
+    private static final long CLIENT_ID = 4242;
+    private static final long BARBER_ID = 77;
+    private static final long BARBER_USER_ID = 20 * BARBER_ID;
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 3, 0, 0);
+    private static final PageRequest PAGE = PageRequest.of(0, 50);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private WorkScheduleRepository workScheduleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TestConfiguration
+    static class CapturingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return new CapturingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> LocalPostgres.shared().url());
+        registry.add("spring.datasource.username", () -> LocalPostgres.shared().user());
+        registry.add("spring.datasource.password", () -> LocalPostgres.shared().password());
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        // El esquema lo crea Flyway en setUpDatabase
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        LocalPostgres postgres = LocalPostgres.shared();
+        postgres.resetSchema();
+        try (Connection connection = postgres.connect()) {
+            LargeDataset.seed(connection);
+        }
+    }
+
+    /**
+     * Repositorios y referencias a entidades para los casos; se usa dentro de la transacción.
+     */
+    private record Repositories(AppointmentRepository appointments, WorkScheduleRepository schedules,
+                                EntityManager entityManager) {
+
+        User user(long id) {
+            return entityManager.getReference(User.class, id);
+        }
+
+        Barber barber(long id) {
+            return entityManager.getReference(Barber.class, id);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RepositoryCall {
+        Object invoke(Repositories repositories);
+    }
+
+    private record PlanCase(String name, boolean seqScanAllowed, long maxBuffers, RepositoryCall call) {
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static PlanCase indexed(String name, long maxBuffers, RepositoryCall call) {
+        return new PlanCase(name, false, maxBuffers, call);
+    }
+
+    /**
+     * Consultas que devuelven una fracción grande de la tabla: un Seq Scan es legítimo y solo se
+     * vigila el presupuesto de bloques.
+     */
+    private static PlanCase broad(String name, long maxBuffers, RepositoryCall call) {
+        return new PlanCase(name, true, maxBuffers, call);
+    }
+
+    static Stream<PlanCase> repositoryQueries() {
+        List<AppointmentStatus> active = List.of(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED);
+        return Stream.of(
+                indexed("AppointmentRepository.findByClient", 500,
+                        r -> r.appointments().findByClient(r.user(CLIENT_ID))),
+                indexed("AppointmentRepository.findByClientId", 500,
+                        r -> r.appointments().findByClientId(CLIENT_ID)),
+                indexed("AppointmentRepository.findByClientAndStatus", 500,
+                        r -> r.appointments().findByClientAndStatus(r.user(CLIENT_ID), AppointmentStatus.CONFIRMED)),
+                indexed("AppointmentRepository.findByClientIdAndStatus", 500,
+                        r -> r.appointments().findByClientIdAndStatus(CLIENT_ID, AppointmentStatus.CONFIRMED)),
+                indexed("AppointmentRepository.findByClientIdAndDateRange", 500,
+                        r -> r.appointments().findByClientIdAndDateRange(CLIENT_ID,
+                                DAY.minusYears(3), DAY.plusYears(2))),
+                indexed("AppointmentRepository.findByBarber", 4_000,
+                        r -> r.appointments().findByBarber(r.barber(BARBER_ID))),
+                indexed("AppointmentRepository.findByBarberId", 4_000,
+                        r -> r.appointments().findByBarberId(BARBER_ID)),
+                indexed("AppointmentRepository.findByBarberAndStatus", 2_000,
+                        r -> r.appointments().findByBarberAndStatus(r.barber(BARBER_ID), AppointmentStatus.PENDING)),
+                indexed("AppointmentRepository.findByBarberIdAndStatus", 2_000,
+                        r -> r.appointments().findByBarberIdAndStatus(BARBER_ID, AppointmentStatus.PENDING)),
+                indexed("AppointmentRepository.findByBarberIdAndDateRange", 1_000,
+                        r -> r.appointments().findByBarberIdAndDateRange(BARBER_ID, DAY, DAY.plusMonths(1))),
+                indexed("AppointmentRepository.findConflictingAppointments", 1_000,
+                        r -> r.appointments().findConflictingAppointments(BARBER_ID,
+                                DAY.withHour(10), DAY.withHour(10).withMinute(30), active)),
+                indexed("AppointmentRepository.findByDateRange", 2_000,
+                        r -> r.appointments().findByDateRange(DAY.withHour(10), DAY.withHour(11))),
+                indexed("AppointmentRepository.findByStatusAndDateRange", 2_000,
+                        r -> r.appointments().findByStatusAndDateRange(AppointmentStatus.COMPLETED,
+                                DAY, DAY.plusDays(1))),
+                indexed("AppointmentRepository.countCompletedAppointmentsByBarberAndDateRange", 1_000,
+                        r -> r.appointments().countCompletedAppointmentsByBarberAndDateRange(BARBER_ID,
+                                DAY.minusMonths(6), DAY.plusMonths(6))),
+                broad("AppointmentRepository.findByStatus", 20_000,
+                        r -> r.appointments().findByStatus(AppointmentStatus.NO_SHOW)),
+                indexed("AppointmentRepository.findByDateRangeAsDto", 2_000,
+                        r -> r.appointments().findByDateRangeAsDto(DAY, DAY.plusDays(1), PAGE)),
+                indexed("AppointmentRepository.findByBarberIdAndDateRangeAsDto", 1_000,
+                        r -> r.appointments().findByBarberIdAndDateRangeAsDto(BARBER_ID,
+                                DAY, DAY.plusMonths(1), PAGE)),
+                indexed("AppointmentRepository.findByBarberIdAsDto", 4_000,
+                        r -> r.appointments().findByBarberIdAsDto(BARBER_ID, PAGE)),
+                indexed("AppointmentRepository.findByBarberIdAndStatusAsDto", 2_000,
+                        r -> r.appointments().findByBarberIdAndStatusAsDto(BARBER_ID, AppointmentStatus.PENDING, PAGE)),
+                broad("AppointmentRepository.findByStatusAsDto", 20_000,
+                        r -> r.appointments().findByStatusAsDto(AppointmentStatus.NO_SHOW, PAGE)),
+
+                indexed("WorkScheduleRepository.findByBarberIdOrderByDayOfWeek", 200,
+                        r -> r.schedules().findByBarberIdOrderByDayOfWeek(BARBER_USER_ID)),
+                indexed("WorkScheduleRepository.findByBarberIdAndActiveTrueOrderByDayOfWeek", 200,
+                        r -> r.schedules().findByBarberIdAndActiveTrueOrderByDayOfWeek(BARBER_USER_ID)),
+                indexed("WorkScheduleRepository.findByBarberIdAndDayOfWeek", 100,
+                        r -> r.schedules().findByBarberIdAndDayOfWeek(BARBER_USER_ID, DayOfWeek.MONDAY)),
+                indexed("WorkScheduleRepository.existsByBarberIdAndDayOfWeek", 100,
+                        r -> r.schedules().existsByBarberIdAndDayOfWeek(BARBER_USER_ID, DayOfWeek.MONDAY)),
+                indexed("WorkScheduleRepository.findOverlappingSchedules", 100,
+                        r -> r.schedules().findOverlappingSchedules(BARBER_USER_ID, DayOfWeek.MONDAY,
+                                LocalTime.of(10, 0), LocalTime.of(11, 0))),
+                indexed("WorkScheduleRepository.countActiveSchedulesByBarberId", 100,
+                        r -> r.schedules().countActiveSchedulesByBarberId(BARBER_USER_ID)),
+                indexed("WorkScheduleRepository.findByBarberOrderByDayOfWeek", 100,
+                        r -> r.schedules().findByBarberOrderByDayOfWeek(r.user(BARBER_USER_ID))),
+                broad("WorkScheduleRepository.findByDayOfWeekAndActiveTrueOrderByStartTime", 5_000,
+                        r -> r.schedules().findByDayOfWeekAndActiveTrueOrderByStartTime(DayOfWeek.MONDAY)),
+                broad("WorkScheduleRepository.findAvailableBarbersAtTime", 5_000,
+                        r -> r.schedules().findAvailableBarbersAtTime(DayOfWeek.MONDAY, LocalTime.of(10, 0))),
+                broad("WorkScheduleRepository.findAllActiveBarberSchedules", 5_000,
+                        r -> r.schedules().findAllActiveBarberSchedules()),
+                broad("WorkScheduleRepository.findByTimeRange", 5_000,
+                        r -> r.schedules().findByTimeRange(LocalTime.of(9, 0), LocalTime.of(18, 0)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQueryStaysWithinPlanBudget(PlanCase planCase) throws Exception {
+        Repositories repositories = new Repositories(appointmentRepository, workScheduleRepository, entityManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<CapturedStatement> statements = CapturingDataSource.capture(() ->
+                readOnly.execute(status -> planCase.call().invoke(repositories)));
+        assertThat(statements).as(planCase.name() + " no ejecutó ninguna consulta").isNotEmpty();
+
+        long buffers = 0;
+        List<String> seqScans = new ArrayList<>();
+        StringBuilder plans = new StringBuilder();
+        try (Connection connection = LocalPostgres.shared().connect()) {
+            Map<String, Long> tableRows = new HashMap<>();
+            for (CapturedStatement statement : statements) {
+                JsonNode plan = explainAnalyze(connection, statement);
+                buffers += plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+                collectLargeSeqScans(connection, plan, tableRows, seqScans);
+                plans.append('\n').append(statement.sql()).append('\n').append(plan.toPrettyString());
+            }
+        }
+
+        if (!planCase.seqScanAllowed()) {
+            assertThat(seqScans)
+                    .as("%s recorre tablas grandes secuencialmente%s", planCase.name(), plans)
+                    .isEmpty();
+        }
+        assertThat(buffers)
+                .as("%s lee %d bloques (presupuesto %d)%s", planCase.name(), buffers, planCase.maxBuffers(), plans)
+                .isLessThanOrEqualTo(planCase.maxBuffers());
+    }
+
+    private JsonNode explainAnalyze(Connection connection, CapturedStatement statement) throws Exception {
+        try (PreparedStatement explain = connection.prepareStatement(
+                "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + statement.sql())) {
+            statement.bind(explain);
+            try (ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan");
+            }
+        }
+    }
+
+    private void collectLargeSeqScans(Connection connection, JsonNode node, Map<String, Long> tableRows,
+                                      List<String> seqScans) throws SQLException {
+        if (node.path("Node Type").asText().endsWith("Seq Scan")) {
+            String relation = node.path("Relation Name").asText();
+            long rows = tableRows.containsKey(relation) ? tableRows.get(relation) : estimatedRows(connection, relation);
+            tableRows.put(relation, rows);
+            if (rows >= LARGE_TABLE_ROWS) {
+                seqScans.add(node.path("Node Type").asText() + " on " + relation + " (" + rows + " filas)");
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectLargeSeqScans(connection, child, tableRows, seqScans);
+        }
+    }
+
+    /**
+     * Filas según las estadísticas de ANALYZE; las particiones vacías quedan en 0.
+     */
+    private static long estimatedRows(Connection connection, String relation) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT reltuples::bigint FROM pg_class WHERE relname = ?")) {
+            statement.setString(1, relation);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Math.max(0, resultSet.getLong(1)) : 0;
+            }
+        }
+    }
+}
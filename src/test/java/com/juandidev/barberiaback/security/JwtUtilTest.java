@@ -1,10 +1,14 @@
 package com.juandidev.barberiaback.security;
 
 import com.juandidev.barberiaback.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Date;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class JwtUtilTest {
@@ -65,4 +69,31 @@ class JwtUtilTest {
         assertNotNull(jwtUtil.extractExpiration(token));
         assertTrue(jwtUtil.extractExpiration(token).getTime() > System.currentTimeMillis());
     }
+
+    @Test
+    void shouldIncludeUserIdRoleAndTokenId() {
+        testUser.setId(7L);
+        Claims claims = jwtUtil.extractAllClaims(jwtUtil.generateToken(testUser));
+
+        assertEquals(7L, claims.get(JwtUtil.CLAIM_USER_ID, Long.class));
+        assertEquals("CLIENT", claims.get(JwtUtil.CLAIM_ROLE, String.class));
+        assertNotNull(claims.getId());
+    }
+
+    @Test
+    void shouldIncludeIssuedAtWithMillis() {
+        Claims claims = jwtUtil.extractAllClaims(jwtUtil.generateToken(testUser));
+
+        Long issuedAtMillis = claims.get(JwtUtil.CLAIM_ISSUED_AT_MILLIS, Long.class);
+        assertNotNull(issuedAtMillis);
+        assertEquals(issuedAtMillis / 1000, claims.getIssuedAt().getTime() / 1000);
+        assertEquals(issuedAtMillis, JwtUtil.issuedAt(claims).getTime());
+    }
+
+    @Test
+    void shouldFallBackToIssuedAtWithoutMillisClaim() {
+        Claims claims = Jwts.claims().setIssuedAt(new Date(1_700_000_000_000L));
+
+        assertEquals(claims.getIssuedAt(), JwtUtil.issuedAt(claims));
+    }
 }
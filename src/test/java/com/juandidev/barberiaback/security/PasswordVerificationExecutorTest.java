@@ -0,0 +1,83 @@
+package com.juandidev.barberiaback.security;
+
+import com.juandidev.barberiaback.exception.ServiceOverloadedException;
+import com.juandidev.barberiaback.metrics.BarberiaMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PasswordVerificationExecutor - Control de admisión")
+class PasswordVerificationExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordVerificationExecutor executor =
+            new PasswordVerificationExecutor(new BarberiaMetrics(meterRegistry), 1, 1, 3);
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("Debe devolver el resultado de la verificación")
+    void shouldReturnVerificationResult() {
+        assertThat(executor.execute(() -> "ok")).isEqualTo("ok");
+        assertThat(executor.getCompletedCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("barberia.auth.verification.duration").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("barberia.auth.verification.queue.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe relanzar las credenciales inválidas en el hilo llamante")
+    void shouldPropagateBadCredentials() {
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw new BadCredentialsException("Credenciales inválidas");
+        })).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar con Retry-After cuando el pool y la cola están llenos")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            started.countDown();
+            await(release);
+            return "running";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> "queued"));
+        while (executor.getQueueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> executor.execute(() -> "rejected"))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .extracting(e -> ((ServiceOverloadedException) e).getRetryAfterSeconds())
+                .isEqualTo(3L);
+        assertThat(executor.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
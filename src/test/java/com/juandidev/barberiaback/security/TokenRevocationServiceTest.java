@@ -0,0 +1,123 @@
+package com.juandidev.barberiaback.security;
+
+import com.juandidev.barberiaback.model.RevokedToken;
+import com.juandidev.barberiaback.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService - Conjunto de tokens revocados")
+class TokenRevocationServiceTest {
+
+    private static final LocalDateTime REVOKED_AT = LocalDateTime.of(2026, 3, 2, 10, 0, 5, 300_000_000);
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, 900000L, 1000, 0.01);
+    }
+
+    @Test
+    @DisplayName("No debe consultar la base de datos si el filtro descarta el token")
+    void shouldSkipDatabaseWhenFilterIsNegative() {
+        boolean revoked = tokenRevocationService.isRevoked("jti-1", 1L, new Date());
+
+        assertThat(revoked).isFalse();
+        verify(revokedTokenRepository, never()).existsByJti(anyString());
+        verify(revokedTokenRepository, never()).existsByUserIdAndRevokedAtAfter(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Debe confirmar en base de datos un token revocado")
+    void shouldConfirmRevokedToken() {
+        tokenRevocationService.revokeAccessToken("jti-1", new Date(System.currentTimeMillis() + 900000L));
+        when(revokedTokenRepository.existsByJti("jti-1")).thenReturn(true);
+
+        assertThat(tokenRevocationService.isRevoked("jti-1", 1L, new Date())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe revocar los tokens de un usuario emitidos antes de la revocación")
+    void shouldRevokeTokensOfUser() {
+        tokenRevocationService.revokeAllForUser(1L);
+        when(revokedTokenRepository.existsByUserIdAndRevokedAtAfter(any(), any())).thenReturn(true);
+
+        assertThat(tokenRevocationService.isRevoked("jti-2", 1L, new Date())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe revocar un token emitido en el mismo segundo, antes de la revocación")
+    void shouldRevokeTokenIssuedInSameSecondBeforeRevocation() {
+        revokeAllForUserAt(1L, REVOKED_AT);
+
+        assertThat(tokenRevocationService.isRevoked("jti-3", 1L, issuedAt(REVOKED_AT.minusNanos(200_000_000))))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("No debe revocar un token emitido en el mismo segundo, después de la revocación")
+    void shouldNotRevokeTokenIssuedInSameSecondAfterRevocation() {
+        revokeAllForUserAt(1L, REVOKED_AT);
+
+        assertThat(tokenRevocationService.isRevoked("jti-4", 1L, issuedAt(REVOKED_AT.plusNanos(400_000_000))))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe incorporar las revocaciones de otros nodos al refrescar")
+    void shouldPickUpRevocationsFromOtherNodes() {
+        when(revokedTokenRepository.findByRevokedAtGreaterThanEqual(any(LocalDateTime.class)))
+                .thenReturn(List.of(RevokedToken.builder()
+                        .jti("jti-remote")
+                        .revokedAt(LocalDateTime.now())
+                        .expiresAt(LocalDateTime.now().plusMinutes(15))
+                        .build()));
+        when(revokedTokenRepository.existsByJti("jti-remote")).thenReturn(true);
+
+        tokenRevocationService.refresh();
+
+        assertThat(tokenRevocationService.isRevoked("jti-remote", null, null)).isTrue();
+    }
+
+    /**
+     * Registra, como si viniera de otro nodo, una revocación de todos los tokens del usuario en un
+     * instante fijo, y hace que el repositorio compare como la consulta real (revokedAt > iat).
+     */
+    private void revokeAllForUserAt(Long userId, LocalDateTime revokedAt) {
+        when(revokedTokenRepository.findByRevokedAtGreaterThanEqual(any(LocalDateTime.class)))
+                .thenReturn(List.of(RevokedToken.builder()
+                        .userId(userId)
+                        .revokedAt(revokedAt)
+                        .expiresAt(revokedAt.plusMinutes(15))
+                        .build()));
+        when(revokedTokenRepository.existsByUserIdAndRevokedAtAfter(eq(userId), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> revokedAt.isAfter(invocation.<LocalDateTime>getArgument(1)));
+        tokenRevocationService.refresh();
+    }
+
+    private static Date issuedAt(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
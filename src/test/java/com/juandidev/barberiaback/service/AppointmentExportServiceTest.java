@@ -0,0 +1,118 @@
+package com.juandidev.barberiaback.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandidev.barberiaback.exception.ExportInterruptedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AppointmentExportService - Fallos a mitad de exportación")
+class AppointmentExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2021, 3, 1);
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AppointmentExportService exportService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        exportService = new AppointmentExportService(dataSource, transactionManager, new ObjectMapper(), 100, 1, 30);
+
+        // Dos filas y después se cae la conexión en mitad del cursor
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true).thenThrow(new SQLException("Conexión perdida"));
+        when(resultSet.getObject(anyString(), eq(LocalDateTime.class))).thenReturn(DAY.atTime(9, 0));
+        when(resultSet.getString(anyString())).thenReturn("COMPLETED");
+    }
+
+    @Test
+    @DisplayName("CSV: termina con una línea de error y no cierra el flujo")
+    void failedCsvEndsWithErrorLine() {
+        TrackingOutputStream out = new TrackingOutputStream();
+
+        assertThatThrownBy(() -> exportService.export(DAY, DAY, null, AppointmentExportService.Format.CSV, () -> out))
+                .isInstanceOfSatisfying(ExportInterruptedException.class, e -> {
+                    assertThat(e.getExportedRows()).isEqualTo(2);
+                    assertThat(e.getCause()).isInstanceOf(DataAccessException.class);
+                });
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(3)).isEqualTo("# ERROR: exportación incompleta, interrumpida tras 2 filas");
+        assertThat(out.closed).isFalse();
+    }
+
+    @Test
+    @DisplayName("NDJSON con gzip: la línea de error llega pero el fichero queda sin final")
+    void failedGzipExportIsNotAValidFile() throws IOException {
+        TrackingOutputStream out = new TrackingOutputStream();
+
+        assertThatThrownBy(() -> exportService.export(DAY, DAY, null, AppointmentExportService.Format.NDJSON,
+                () -> new GZIPOutputStream(out, 1024, true)))
+                .isInstanceOf(ExportInterruptedException.class);
+
+        assertThat(out.closed).isFalse();
+        ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThatThrownBy(() -> in.transferTo(inflated)).isInstanceOf(EOFException.class);
+        }
+        assertThat(inflated.toString(StandardCharsets.UTF_8).lines().toList())
+                .hasSize(3)
+                .last()
+                .isEqualTo("{\"error\":\"exportación incompleta, interrumpida tras 2 filas\"}");
+    }
+
+    private static final class TrackingOutputStream extends ByteArrayOutputStream {
+
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
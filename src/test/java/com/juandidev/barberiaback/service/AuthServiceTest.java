@@ -2,27 +2,41 @@ package com.juandidev.barberiaback.service;
 
 import com.juandidev.barberiaback.dto.JwtAuthenticationResponse;
 import com.juandidev.barberiaback.dto.LoginRequest;
+import com.juandidev.barberiaback.dto.RefreshTokenRequest;
 import com.juandidev.barberiaback.dto.UserCreateRequest;
+import com.juandidev.barberiaback.exception.ServiceOverloadedException;
 import com.juandidev.barberiaback.exception.UserAlreadyExistsException;
 import com.juandidev.barberiaback.model.User;
 import com.juandidev.barberiaback.repository.UserRepository;
 import com.juandidev.barberiaback.security.JwtUtil;
+import com.juandidev.barberiaback.security.PasswordVerificationExecutor;
+import com.juandidev.barberiaback.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
+import java.util.Date;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +54,15 @@ class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private PasswordVerificationExecutor passwordVerificationExecutor;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -75,10 +98,8 @@ class AuthServiceTest {
     @Test
     void signup_ShouldCreateUserSuccessfully() {
         // Given
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
         when(jwtUtil.generateToken(any(User.class))).thenReturn("jwt-token");
         when(jwtUtil.getExpirationTime()).thenReturn(86400000L);
 
@@ -96,50 +117,64 @@ class AuthServiceTest {
         assertEquals("Cliente registrado exitosamente", response.getMessage());
         assertEquals(86400000L, response.getExpiresIn());
 
-        verify(userRepository).existsByUsername("testuser");
-        verify(userRepository).existsByEmail("test@example.com");
         verify(passwordEncoder).encode("password123");
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
         verify(jwtUtil).generateToken(any(User.class));
     }
 
     @Test
     void signup_ShouldThrowException_WhenUsernameExists() {
         // Given
-        when(userRepository.existsByUsername(anyString())).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.UK_USERNAME));
 
         // When & Then
-        assertThrows(UserAlreadyExistsException.class, () -> {
+        UserAlreadyExistsException exception = assertThrows(UserAlreadyExistsException.class, () -> {
             authService.signup(userCreateRequest);
         });
 
-        verify(userRepository).existsByUsername("testuser");
-        verify(userRepository, never()).save(any(User.class));
+        assertEquals("Ya existe un usuario con username: testuser", exception.getMessage());
+        verify(jwtUtil, never()).generateToken(any(User.class));
     }
 
     @Test
     void signup_ShouldThrowException_WhenEmailExists() {
         // Given
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation(User.UK_EMAIL));
 
         // When & Then
-        assertThrows(UserAlreadyExistsException.class, () -> {
+        UserAlreadyExistsException exception = assertThrows(UserAlreadyExistsException.class, () -> {
             authService.signup(userCreateRequest);
         });
 
-        verify(userRepository).existsByUsername("testuser");
-        verify(userRepository).existsByEmail("test@example.com");
-        verify(userRepository, never()).save(any(User.class));
+        assertEquals("Ya existe un usuario con email: test@example.com", exception.getMessage());
+        verify(jwtUtil, never()).generateToken(any(User.class));
+    }
+
+    @Test
+    void signup_ShouldPropagateOtherIntegrityViolations() {
+        // Given
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("users_pkey"));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            authService.signup(userCreateRequest);
+        });
     }
 
     @Test
     void signin_ShouldAuthenticateSuccessfully() {
         // Given
+        runVerificationInline();
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(null); // Authentication successful
         when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(jwtUtil.generateToken(any(User.class))).thenReturn("jwt-token");
+        when(refreshTokenService.issue(user)).thenReturn("refresh-token");
         when(jwtUtil.getExpirationTime()).thenReturn(86400000L);
 
         // When
@@ -148,6 +183,7 @@ class AuthServiceTest {
         // Then
         assertNotNull(response);
         assertEquals("jwt-token", response.getToken());
+        assertEquals("refresh-token", response.getRefreshToken());
         assertEquals("testuser", response.getUsername());
         assertEquals("test@example.com", response.getEmail());
         assertEquals("Test", response.getFirstName());
@@ -164,6 +200,7 @@ class AuthServiceTest {
     @Test
     void signin_ShouldThrowException_WhenUserNotFound() {
         // Given
+        runVerificationInline();
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(null); // Authentication successful
         when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
@@ -177,4 +214,80 @@ class AuthServiceTest {
         verify(userRepository).findByUsername("testuser");
         verify(jwtUtil, never()).generateToken(any(User.class));
     }
+
+    @Test
+    void signin_ShouldPropagateOverload_WhenVerificationPoolIsFull() {
+        // Given
+        when(passwordVerificationExecutor.execute(any()))
+                .thenThrow(new ServiceOverloadedException("Demasiados inicios de sesión", 2));
+
+        // When & Then
+        assertThrows(ServiceOverloadedException.class, () -> {
+            authService.signin(loginRequest);
+        });
+
+        verify(authenticationManager, never()).authenticate(any());
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void refresh_ShouldIssueNewTokensFromRotation() {
+        // Given
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(new RefreshTokenService.Rotation(user, "new-refresh"));
+        when(jwtUtil.generateToken(user)).thenReturn("new-jwt");
+        when(jwtUtil.getExpirationTime()).thenReturn(900000L);
+
+        // When
+        JwtAuthenticationResponse response = authService.refresh(new RefreshTokenRequest("old-refresh"));
+
+        // Then
+        assertEquals("new-jwt", response.getToken());
+        assertEquals("new-refresh", response.getRefreshToken());
+        assertEquals("testuser", response.getUsername());
+    }
+
+    @Test
+    void logout_ShouldRevokeAccessTokenAndRefreshSession() {
+        // Given
+        Claims claims = Jwts.claims().setSubject("testuser");
+        claims.setId("jti-1");
+        claims.setExpiration(new Date(System.currentTimeMillis() + 900000L));
+        claims.put(JwtUtil.CLAIM_USER_ID, 1L);
+        when(jwtUtil.extractAllClaims("access")).thenReturn(claims);
+
+        // When
+        authService.logout("access", "refresh", false);
+
+        // Then
+        verify(tokenRevocationService).revokeAccessToken(eq("jti-1"), any(Date.class));
+        verify(refreshTokenService).revoke("refresh");
+        verify(tokenRevocationService, never()).revokeAllForUser(anyLong());
+    }
+
+    @Test
+    void logout_ShouldRevokeEverySession_WhenAllSessionsRequested() {
+        // Given
+        Claims claims = Jwts.claims().setSubject("testuser");
+        claims.put(JwtUtil.CLAIM_USER_ID, 1L);
+        when(jwtUtil.extractAllClaims("access")).thenReturn(claims);
+
+        // When
+        authService.logout("access", null, true);
+
+        // Then
+        verify(tokenRevocationService).revokeAllForUser(1L);
+        verify(refreshTokenService).revokeAllForUser(1L);
+    }
+
+    private void runVerificationInline() {
+        when(passwordVerificationExecutor.execute(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key", "23505"),
+                        constraintName));
+    }
 }
@@ -0,0 +1,159 @@
+package com.juandidev.barberiaback.service;
+
+import com.juandidev.barberiaback.dto.BarberRollupDto;
+import com.juandidev.barberiaback.job.BarberRollupJob;
+import com.juandidev.barberiaback.model.Appointment;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.model.Barber;
+import com.juandidev.barberiaback.model.BarberDailyRollup;
+import com.juandidev.barberiaback.model.DayOfWeek;
+import com.juandidev.barberiaback.model.Service;
+import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.model.WorkSchedule;
+import com.juandidev.barberiaback.repository.BarberDailyRollupRepository;
+import com.juandidev.barberiaback.repository.WorkScheduleRepository;
+import com.juandidev.barberiaback.support.ShopFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Cada test se deshace al terminar: el cierre diario recalcula todos los barberos con citas en el
+ * rango, y así los agregados de las citas de otras clases no quedan escritos.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("BarberRollupService - Agregados diarios de ingresos y ocupación")
+class BarberRollupServiceTest {
+
+    @Autowired
+    private BarberRollupService rollupService;
+
+    @Autowired
+    private BarberRollupJob rollupJob;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private BarberDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private WorkScheduleRepository workScheduleRepository;
+
+    @Test
+    @DisplayName("Completar y cancelar citas recalcula el agregado del día y el panel suma la semana")
+    void statusTransitionsMaintainRollups() {
+        Barber barber = barber("rollup_week");
+        User client = ShopFixtures.client(context, "rollup_week_client");
+        Service service = ShopFixtures.service(context, "Corte rollup", 15.0);
+        schedule(barber, DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 0));
+        schedule(barber, DayOfWeek.TUESDAY, LocalTime.of(9, 0), LocalTime.of(13, 0));
+
+        LocalDate monday = LocalDate.now().minusWeeks(1).with(TemporalAdjusters.previousOrSame(java.time.DayOfWeek.MONDAY));
+        Appointment first = book(client, barber, service, monday.atTime(10, 0), AppointmentStatus.CONFIRMED);
+        Appointment second = book(client, barber, service, monday.atTime(11, 0), AppointmentStatus.CONFIRMED);
+        Appointment cancelled = book(client, barber, service, monday.atTime(12, 0), AppointmentStatus.PENDING);
+        book(client, barber, service, monday.atTime(13, 0), AppointmentStatus.CONFIRMED);
+
+        appointmentService.completeAppointment(first.getId(), 1L, User.Role.ADMIN);
+        appointmentService.completeAppointment(second.getId(), 1L, User.Role.ADMIN);
+        appointmentService.cancelAppointment(cancelled.getId(), 1L, User.Role.ADMIN);
+
+        BarberDailyRollup rollup = rollupRepository.findById(new BarberDailyRollup.Key(barber.getId(), monday)).orElseThrow();
+        assertThat(rollup.getCompletedCount()).isEqualTo(2);
+        assertThat(rollup.getCancelledCount()).isEqualTo(1);
+        assertThat(rollup.getNoShowCount()).isZero();
+        assertThat(rollup.getRevenue()).isEqualTo(30.0);
+        assertThat(rollup.getCompletedMinutes()).isEqualTo(60);
+        assertThat(rollup.getCapacityMinutes()).isEqualTo(480);
+
+        // El martes no hubo citas: solo el cierre diario registra su capacidad
+        rollupJob.refreshDays(monday, monday.plusDays(1));
+
+        List<BarberRollupDto> weekly = rollupService.getRollups(barber.getId(), monday, monday.plusDays(6),
+                BarberRollupService.Granularity.WEEK);
+        assertThat(weekly).singleElement().satisfies(week -> {
+            assertThat(week.getPeriodStart()).isEqualTo(monday);
+            assertThat(week.getPeriodEnd()).isEqualTo(monday.plusDays(6));
+            assertThat(week.getCompletedCount()).isEqualTo(2);
+            assertThat(week.getCancelledCount()).isEqualTo(1);
+            assertThat(week.getRevenue()).isEqualTo(30.0);
+            assertThat(week.getCapacityMinutes()).isEqualTo(720);
+            assertThat(week.getUtilization()).isCloseTo(60.0 / 720, within(1e-9));
+        });
+    }
+
+    @Test
+    @DisplayName("Recalcular un día ya agregado no duplica los totales")
+    void refreshingTwiceIsIdempotent() {
+        Barber barber = barber("rollup_idem");
+        User client = ShopFixtures.client(context, "rollup_idem_client");
+        Service service = ShopFixtures.service(context, "Barba rollup", 10.0);
+        LocalDate day = LocalDate.now().minusDays(3);
+        book(client, barber, service, day.atTime(9, 0), AppointmentStatus.COMPLETED);
+        book(client, barber, service, day.atTime(10, 0), AppointmentStatus.NO_SHOW);
+
+        rollupJob.refreshDays(day, day);
+        rollupJob.refreshDays(day, day);
+
+        List<BarberRollupDto> daily = rollupService.getRollups(barber.getId(), day, day, BarberRollupService.Granularity.DAY);
+        assertThat(daily).singleElement().satisfies(rollup -> {
+            assertThat(rollup.getCompletedCount()).isEqualTo(1);
+            assertThat(rollup.getNoShowCount()).isEqualTo(1);
+            assertThat(rollup.getRevenue()).isEqualTo(10.0);
+            assertThat(rollup.getCapacityMinutes()).isZero();
+            assertThat(rollup.getUtilization()).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Un horario desactivado no aporta capacidad")
+    void inactiveScheduleHasNoCapacity() {
+        Barber barber = barber("rollup_inactive");
+        LocalDate day = LocalDate.now().minusDays(2);
+        WorkSchedule schedule = schedule(barber, DayOfWeek.valueOf(day.getDayOfWeek().name()),
+                LocalTime.of(9, 0), LocalTime.of(17, 0));
+        schedule.setActive(false);
+        workScheduleRepository.save(schedule);
+
+        rollupJob.refreshDays(day, day);
+
+        assertThat(rollupRepository.findById(new BarberDailyRollup.Key(barber.getId(), day)))
+                .hasValueSatisfying(rollup -> assertThat(rollup.getCapacityMinutes()).isZero());
+    }
+
+    private Barber barber(String prefix) {
+        return ShopFixtures.barber(context, prefix + "_barber");
+    }
+
+    private WorkSchedule schedule(Barber barber, DayOfWeek day, LocalTime start, LocalTime end) {
+        return workScheduleRepository.save(WorkSchedule.builder()
+                .barber(barber.getUser())
+                .dayOfWeek(day)
+                .startTime(start)
+                .endTime(end)
+                .build());
+    }
+
+    private Appointment book(User client, Barber barber, Service service, LocalDateTime startTime, AppointmentStatus status) {
+        return ShopFixtures.book(context, client, barber, service, startTime, status);
+    }
+}
@@ -0,0 +1,136 @@
+package com.juandidev.barberiaback.service;
+
+import com.juandidev.barberiaback.exception.InvalidRefreshTokenException;
+import com.juandidev.barberiaback.model.RefreshToken;
+import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService - Rotación de refresh tokens")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, 2592000000L);
+        user = User.builder()
+                .id(1L)
+                .username("testuser")
+                .role(User.Role.CLIENT)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Debe guardar solo el hash del token emitido")
+    void shouldStoreOnlyHashOfIssuedToken() {
+        String rawToken = refreshTokenService.issue(user);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getTokenHash())
+                .isEqualTo(RefreshTokenService.hash(rawToken))
+                .isNotEqualTo(rawToken);
+        assertThat(captor.getValue().getFamilyId()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Debe emitir un sucesor de la misma familia al rotar")
+    void shouldRotateWithinSameFamily() {
+        RefreshToken current = storedToken("family-1", LocalDateTime.now().plusDays(1), null);
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(eq(10L), any(LocalDateTime.class))).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw");
+
+        assertThat(rotation.user()).isSameAs(user);
+        assertThat(rotation.refreshToken()).isNotEqualTo("raw");
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getFamilyId()).isEqualTo("family-1");
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Debe revocar la familia completa si se reutiliza un token ya rotado")
+    void shouldRevokeFamilyOnReuse() {
+        RefreshToken reused = storedToken("family-1", LocalDateTime.now().plusDays(1), LocalDateTime.now().minusMinutes(5));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(reused));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any(LocalDateTime.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Debe tratar como reutilización perder la carrera de marcado")
+    void shouldRevokeFamilyWhenConcurrentRotationWins() {
+        RefreshToken current = storedToken("family-1", LocalDateTime.now().plusDays(1), null);
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(eq(10L), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un token caducado")
+    void shouldRejectExpiredToken() {
+        RefreshToken expired = storedToken("family-1", LocalDateTime.now().minusMinutes(1), null);
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(expired));
+        when(refreshTokenRepository.markUsed(eq(10L), any(LocalDateTime.class))).thenReturn(1);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw"))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessageContaining("caducado");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un token desconocido")
+    void shouldRejectUnknownToken() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("unknown"))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any());
+    }
+
+    private RefreshToken storedToken(String familyId, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        return RefreshToken.builder()
+                .id(10L)
+                .user(user)
+                .tokenHash(RefreshTokenService.hash("raw"))
+                .familyId(familyId)
+                .expiresAt(expiresAt)
+                .revokedAt(revokedAt)
+                .build();
+    }
+}
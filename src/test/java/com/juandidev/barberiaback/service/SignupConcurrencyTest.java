@@ -0,0 +1,102 @@
+package com.juandidev.barberiaback.service;
+
+import com.juandidev.barberiaback.dto.UserCreateRequest;
+import com.juandidev.barberiaback.exception.UserAlreadyExistsException;
+import com.juandidev.barberiaback.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("AuthService - Registros concurrentes duplicados")
+class SignupConcurrencyTest {
+
+    private static final int CONCURRENT_SIGNUPS = 8;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Solo un registro con el mismo username debe prosperar")
+    void shouldAcceptOnlyOneSignupPerUsername() throws Exception {
+        String username = "dup_" + UUID.randomUUID().toString().substring(0, 8);
+
+        List<Throwable> failures = signupConcurrently(i -> request(username, username + "_" + i + "@example.com"));
+
+        assertThat(failures).hasSize(CONCURRENT_SIGNUPS - 1)
+                .allSatisfy(failure -> assertThat(failure)
+                        .isInstanceOf(UserAlreadyExistsException.class)
+                        .hasMessageContaining("username"));
+        assertThat(userRepository.findByUsername(username)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Solo un registro con el mismo email debe prosperar")
+    void shouldAcceptOnlyOneSignupPerEmail() throws Exception {
+        String prefix = "mail_" + UUID.randomUUID().toString().substring(0, 8);
+        String email = prefix + "@example.com";
+
+        List<Throwable> failures = signupConcurrently(i -> request(prefix + "_" + i, email));
+
+        assertThat(failures).hasSize(CONCURRENT_SIGNUPS - 1)
+                .allSatisfy(failure -> assertThat(failure)
+                        .isInstanceOf(UserAlreadyExistsException.class)
+                        .hasMessageContaining("email"));
+    }
+
+    private List<Throwable> signupConcurrently(IntFunction<UserCreateRequest> requests) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_SIGNUPS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_SIGNUPS; i++) {
+                UserCreateRequest request = requests.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return authService.signup(request);
+                }));
+            }
+            start.countDown();
+
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static UserCreateRequest request(String username, String email) {
+        UserCreateRequest request = new UserCreateRequest();
+        request.setUsername(username);
+        request.setEmail(email);
+        request.setPassword("password123");
+        request.setFirstName("Test");
+        request.setLastName("User");
+        return request;
+    }
+}
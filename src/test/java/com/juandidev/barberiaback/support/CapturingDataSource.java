@@ -0,0 +1,115 @@
+package com.juandidev.barberiaback.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * DataSource que, dentro de {@link #capture(Supplier)}, registra cada consulta preparada que se
+ * ejecuta en el hilo actual junto con las llamadas {@code setXxx} de sus parámetros. Con
+ * {@link CapturedStatement#bind(PreparedStatement)} esas llamadas se repiten sobre otra sentencia,
+ * p. ej. un {@code EXPLAIN} del mismo SQL, con exactamente los tipos y valores que usó Hibernate.
+ */
+public class CapturingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+    public CapturingDataSource(DataSource target) {
+        super(target);
+    }
+
+    /**
+     * Una llamada {@code setXxx(index, ...)} sobre la sentencia original.
+     */
+    private record Binding(Method method, Object[] args) {
+    }
+
+    public record CapturedStatement(String sql, List<Binding> bindings) {
+
+        public void bind(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.method().invoke(statement, binding.args());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                } catch (InvocationTargetException e) {
+                    if (e.getCause() instanceof SQLException sqlException) {
+                        throw sqlException;
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+    }
+
+    public static <T> List<CapturedStatement> capture(Supplier<T> action) {
+        List<CapturedStatement> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.get();
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return capturing(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return capturing(super.getConnection(username, password));
+    }
+
+    private static Connection capturing(Connection connection) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                return capturing(statement, (String) args[0]);
+            }
+            return result;
+        };
+        return (Connection) Proxy.newProxyInstance(CapturingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static PreparedStatement capturing(PreparedStatement statement, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if (name.equals("executeQuery") || (name.equals("execute") && args == null)) {
+                List<CapturedStatement> captured = CAPTURED.get();
+                if (captured != null) {
+                    captured.add(new CapturedStatement(sql, List.copyOf(bindings)));
+                }
+            }
+            return invoke(statement, method, args);
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(CapturingDataSource.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.juandidev.barberiaback.support;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generador de carga HTTP de bucle cerrado: cada cliente virtual envía una petición, espera la
+ * respuesta y envía la siguiente, recorriendo las rutas en orden. Las latencias del periodo de
+ * calentamiento se descartan.
+ */
+public final class HttpLoadDriver {
+
+    private final URI baseUri;
+    private final List<String> paths;
+    private final HttpClient httpClient;
+
+    public HttpLoadDriver(URI baseUri, List<String> paths) {
+        this.baseUri = baseUri;
+        this.paths = List.copyOf(paths);
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public Result run(String label, int clients, Duration warmup, Duration duration) throws Exception {
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+
+        List<Future<ClientStats>> futures = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int offset = i;
+                futures.add(executor.submit(() -> runClient(offset, warmupEnd, end)));
+            }
+
+            long[] latencies = new long[0];
+            long errors = 0;
+            for (Future<ClientStats> future : futures) {
+                ClientStats stats = future.get();
+                latencies = concat(latencies, stats.latencies());
+                errors += stats.errors();
+            }
+            Arrays.sort(latencies);
+            return new Result(label, clients, latencies.length, errors, duration, latencies);
+        }
+    }
+
+    private ClientStats runClient(int offset, long warmupEnd, long end) {
+        long[] latencies = new long[256];
+        int count = 0;
+        long errors = 0;
+
+        for (int i = offset; System.nanoTime() < end; i++) {
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(paths.get(i % paths.size())))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long finished = System.nanoTime();
+
+            if (start < warmupEnd) {
+                continue;
+            }
+            if (!ok) {
+                errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = finished - start;
+        }
+        return new ClientStats(Arrays.copyOf(latencies, count), errors);
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private record ClientStats(long[] latencies, long errors) {
+    }
+
+    /**
+     * Resultado de una ejecución. Las latencias están ordenadas y en nanosegundos.
+     */
+    public record Result(String label, int clients, long requests, long errors, Duration duration,
+                         long[] sortedLatencies) {
+
+        public double throughput() {
+            return requests / (duration.toMillis() / 1000.0);
+        }
+
+        public Duration percentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Duration.ZERO;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return Duration.ofNanos(sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))]);
+        }
+
+        public String summary() {
+            return String.format("%-10s clientes=%d peticiones=%d errores=%d throughput=%.0f req/s " +
+                            "p50=%d ms p99=%d ms p99.9=%d ms",
+                    label, clients, requests, errors, throughput(),
+                    percentile(50).toMillis(), percentile(99).toMillis(), percentile(99.9).toMillis());
+        }
+    }
+}
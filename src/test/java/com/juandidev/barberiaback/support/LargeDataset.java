@@ -0,0 +1,74 @@
+package com.juandidev.barberiaback.support;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Volumen grande de datos para las pruebas de planes sobre PostgreSQL, generado en el servidor con
+ * generate_series: 100k usuarios (5% barberos, 2% deshabilitados), 5k barberos con horario semanal,
+ * 200 servicios y 500k citas repartidas en cinco años desde 2022 en una rejilla de 30 minutos.
+ *
+ * El barbero con id {@code n} tiene como usuario el {@code 20 * n}. Antes de las citas se crean sus
+ * particiones mensuales, como en producción (si no, irían todas a appointments_default), y tras
+ * sembrar se ejecuta ANALYZE para que el planificador vea el volumen real.
+ */
+public final class LargeDataset {
+
+    public static final int USERS = 100_000;
+    public static final int BARBERS = 5_000;
+    public static final int SERVICES = 200;
+    public static final int APPOINTMENTS = 500_000;
+
+    private LargeDataset() {
+    }
+
+    public static void seed(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO users (id, username, email, password, first_name, last_name, role, is_enabled,
+                                       created_at, updated_at)
+                    SELECT g, 'user' || g, 'user' || g || '@barberia.test', 'x', 'Nombre', 'Apellido',
+                           CASE WHEN g % 20 = 0 THEN 'BARBER' ELSE 'CLIENT' END, g % 50 <> 0, now(), now()
+                    FROM generate_series(1, 100000) g
+                    """);
+            statement.execute("""
+                    INSERT INTO barbers (id, user_id, start_time, end_time, is_available, is_active,
+                                         created_at, updated_at)
+                    SELECT g / 20, g, '09:00', '18:00', true, true, now(), now()
+                    FROM generate_series(20, 100000, 20) g
+                    """);
+            statement.execute("""
+                    INSERT INTO services (id, name, duration, price, is_active, created_at, updated_at)
+                    SELECT g, 'Servicio ' || g, 30, 20.0, g % 10 <> 0, now(), now()
+                    FROM generate_series(1, 200) g
+                    """);
+            statement.execute("""
+                    INSERT INTO work_schedules (id, barber_id, day_of_week, start_time, end_time, is_active,
+                                                created_at, updated_at)
+                    SELECT row_number() OVER (), b, d, '09:00', '18:00', true, now(), now()
+                    FROM generate_series(20, 100000, 20) b
+                    CROSS JOIN unnest(ARRAY['MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY',
+                                            'FRIDAY', 'SATURDAY', 'SUNDAY']) d
+                    """);
+            statement.execute("""
+                    SELECT create_appointment_partition(m::date)
+                    FROM generate_series(DATE '2022-01-01', DATE '2026-12-01', INTERVAL '1 month') m
+                    """);
+            statement.execute("""
+                    INSERT INTO appointments (id, client_id, barber_id, service_id, start_time, end_time, status,
+                                              total_price, created_at, updated_at)
+                    SELECT g,
+                           (g % 100000) + 1,
+                           (g % 5000) + 1,
+                           (g % 200) + 1,
+                           TIMESTAMP '2022-01-01 09:00' + (g % 1825) * INTERVAL '1 day' + (g % 18) * INTERVAL '30 minutes',
+                           TIMESTAMP '2022-01-01 09:30' + (g % 1825) * INTERVAL '1 day' + (g % 18) * INTERVAL '30 minutes',
+                           (ARRAY['PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED', 'NO_SHOW'])[(g % 5) + 1],
+                           20.0, now(), now()
+                    FROM generate_series(1, 500000) g
+                    """);
+            statement.execute("ANALYZE");
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.juandidev.barberiaback.support;
+
+import org.flywaydb.core.Flyway;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * PostgreSQL desechable para las pruebas de planes de ejecución.
+ *
+ * Si está definida {@code PG_TEST_URL} (con {@code PG_TEST_USER} y {@code PG_TEST_PASSWORD}) se usa
+ * esa base. Si no, se lanza un proceso local con los binarios de {@code PG_BIN}, del PATH o de
+ * /usr/lib/postgresql/*&#47;bin: {@code initdb} en un directorio temporal, {@code pg_ctl start} en un
+ * puerto libre solo en localhost y sin fsync, y {@code pg_ctl stop} más borrado del directorio al
+ * cerrar. initdb no se deja ejecutar como root.
+ *
+ * {@link #shared()} arranca una única instancia por JVM que se para al salir.
+ */
+public final class LocalPostgres implements AutoCloseable {
+
+    private static final long COMMAND_TIMEOUT_SECONDS = 120;
+
+    private static LocalPostgres shared;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final Path binDir;
+    private final Path baseDir;
+
+    private LocalPostgres(String url, String user, String password, Path binDir, Path baseDir) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.binDir = binDir;
+        this.baseDir = baseDir;
+    }
+
+    /**
+     * Condición para {@code @EnabledIf}: hay una base externa configurada o binarios para lanzar una.
+     */
+    public static boolean available() {
+        return externalUrl() != null || findBinDir() != null;
+    }
+
+    public static synchronized LocalPostgres shared() {
+        if (shared == null) {
+            shared = start();
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "local-postgres-stop"));
+        }
+        return shared;
+    }
+
+    public static LocalPostgres start() {
+        String external = externalUrl();
+        if (external != null) {
+            return new LocalPostgres(external,
+                    System.getenv().getOrDefault("PG_TEST_USER", "postgres"),
+                    System.getenv().getOrDefault("PG_TEST_PASSWORD", ""),
+                    null, null);
+        }
+        Path binDir = findBinDir();
+        if (binDir == null) {
+            throw new IllegalStateException("No hay PG_TEST_URL ni binarios de PostgreSQL (initdb, pg_ctl)");
+        }
+        return launch(binDir);
+    }
+
+    private static LocalPostgres launch(Path binDir) {
+        try {
+            Path baseDir = Files.createTempDirectory("barberia-pg");
+            Path dataDir = baseDir.resolve("data");
+            run(binDir.resolve("initdb").toString(), "-D", dataDir.toString(), "-U", "postgres",
+                    "-A", "trust", "-E", "UTF8", "--no-sync");
+
+            int port = freePort();
+            String options = String.join(" ",
+                    "-p " + port,
+                    "-k " + baseDir,
+                    "-c listen_addresses=localhost",
+                    "-c fsync=off",
+                    "-c synchronous_commit=off",
+                    "-c full_page_writes=off",
+                    "-c shared_buffers=256MB");
+            run(binDir.resolve("pg_ctl").toString(), "-D", dataDir.toString(),
+                    "-l", baseDir.resolve("postgres.log").toString(), "-w", "-o", options, "start");
+
+            return new LocalPostgres("jdbc:postgresql://localhost:" + port + "/postgres", "postgres", "",
+                    binDir, baseDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String url() {
+        return url;
+    }
+
+    public String user() {
+        return user;
+    }
+
+    public String password() {
+        return password;
+    }
+
+    public Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    /**
+     * Borra el esquema y lo recrea con las migraciones de Flyway, como en producción.
+     */
+    public void resetSchema() {
+        Flyway flyway = Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration")
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Override
+    public void close() {
+        if (baseDir == null) {
+            return;
+        }
+        try {
+            run(binDir.resolve("pg_ctl").toString(), "-D", baseDir.resolve("data").toString(),
+                    "-m", "immediate", "-w", "stop");
+        } finally {
+            deleteRecursively(baseDir);
+        }
+    }
+
+    private static String externalUrl() {
+        String url = System.getenv("PG_TEST_URL");
+        return url == null || url.isBlank() ? null : url;
+    }
+
+    private static Path findBinDir() {
+        List<Path> candidates = new ArrayList<>();
+        String pgBin = System.getenv("PG_BIN");
+        if (pgBin != null && !pgBin.isBlank()) {
+            candidates.add(Paths.get(pgBin));
+        }
+        String path = System.getenv("PATH");
+        if (path != null) {
+            for (String entry : path.split(java.io.File.pathSeparator)) {
+                candidates.add(Paths.get(entry));
+            }
+        }
+        Path debianRoot = Paths.get("/usr/lib/postgresql");
+        if (Files.isDirectory(debianRoot)) {
+            try (Stream<Path> versions = Files.list(debianRoot)) {
+                versions.sorted(Comparator.reverseOrder()).forEach(version -> candidates.add(version.resolve("bin")));
+            } catch (IOException ignored) {
+                // Sin permisos de lectura: se siguen probando el resto de rutas
+            }
+        }
+        return candidates.stream()
+                .filter(dir -> Files.isExecutable(dir.resolve("initdb")) && Files.isExecutable(dir.resolve("pg_ctl")))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static void run(String... command) {
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            // pg_ctl deja el postmaster con la salida propia en -l; aquí solo queda la del comando
+            byte[] output = process.getInputStream().readAllBytes();
+            if (!process.waitFor(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("Tiempo agotado ejecutando " + String.join(" ", command));
+            }
+            if (process.exitValue() != 0) {
+                throw new IllegalStateException(String.join(" ", command) + " terminó con código "
+                        + process.exitValue() + ":\n" + new String(output, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException ignored) {
+            // Directorio temporal: si queda algo lo limpiará el sistema
+        }
+    }
+}
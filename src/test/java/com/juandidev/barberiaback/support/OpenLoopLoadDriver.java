@@ -0,0 +1,206 @@
+package com.juandidev.barberiaback.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga de bucle abierto: las llegadas siguen un proceso de Poisson a la tasa
+ * indicada, independientemente de lo que tarde el servidor, y cada una se ejecuta en su propio
+ * hilo virtual. A diferencia de {@link HttpLoadDriver}, un servidor lento no frena la carga.
+ *
+ * La latencia se mide desde el instante en que la petición debía salir, no desde que sale de
+ * verdad, para no ocultar las esperas (coordinated omission). Si hay más de {@code maxInFlight}
+ * peticiones pendientes la llegada se descarta y cuenta como error de la operación "dropped".
+ */
+public final class OpenLoopLoadDriver {
+
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final long seed;
+
+    public OpenLoopLoadDriver(double ratePerSecond, int maxInFlight, long seed) {
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        this.seed = seed;
+    }
+
+    /**
+     * Una llamada de la carga. Devuelve el resultado; una excepción cuenta como {@link Outcome#ERROR}.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        Outcome call() throws Exception;
+    }
+
+    /**
+     * Elige la siguiente operación (nombre para el informe más la llamada).
+     */
+    @FunctionalInterface
+    public interface Workload {
+        NamedOperation next(Random random);
+    }
+
+    public record NamedOperation(String name, Operation operation) {
+    }
+
+    /**
+     * OK: respuesta esperada. REJECTED: rechazo de negocio previsto (p. ej. 409 por un hueco ya
+     * reservado). ERROR: cualquier otra respuesta o fallo de red.
+     */
+    public enum Outcome {
+        OK, REJECTED, ERROR
+    }
+
+    public Report run(Workload workload, Duration warmup, Duration duration) throws InterruptedException {
+        Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Random random = new Random(seed);
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+
+        long start = System.nanoTime();
+        long warmupEnd = start + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long intended = start;
+            while (intended < end) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                boolean measured = intended >= warmupEnd;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        recorders.computeIfAbsent("dropped", name -> new Recorder()).record(0, Outcome.ERROR);
+                    }
+                } else {
+                    NamedOperation next = workload.next(random);
+                    long scheduledAt = intended;
+                    executor.execute(() -> {
+                        try {
+                            Outcome outcome;
+                            try {
+                                outcome = next.operation().call();
+                            } catch (Exception e) {
+                                outcome = Outcome.ERROR;
+                            }
+                            if (measured) {
+                                recorders.computeIfAbsent(next.name(), name -> new Recorder())
+                                        .record(System.nanoTime() - scheduledAt, outcome);
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+
+                // Intervalos exponenciales: llegadas de Poisson con media 1/rate
+                intended += (long) (-Math.log(1.0 - random.nextDouble()) * meanIntervalNanos);
+            }
+        }
+
+        Map<String, EndpointResult> results = new TreeMap<>();
+        recorders.forEach((name, recorder) -> results.put(name, recorder.result(name, duration)));
+        return new Report(ratePerSecond, duration, results);
+    }
+
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long ok;
+        private long rejected;
+        private long errors;
+
+        synchronized void record(long latencyNanos, Outcome outcome) {
+            switch (outcome) {
+                case OK -> ok++;
+                case REJECTED -> rejected++;
+                case ERROR -> errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        synchronized EndpointResult result(String name, Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new EndpointResult(name, ok, rejected, errors, duration, sorted);
+        }
+    }
+
+    /**
+     * Resultado de una operación. Las latencias están ordenadas y en nanosegundos.
+     */
+    public record EndpointResult(String name, long ok, long rejected, long errors, Duration duration,
+                                 long[] sortedLatencies) {
+
+        public long requests() {
+            return ok + rejected + errors;
+        }
+
+        public double throughput() {
+            return requests() / (duration.toMillis() / 1000.0);
+        }
+
+        public double errorRate() {
+            return requests() == 0 ? 0 : (double) errors / requests();
+        }
+
+        public Duration percentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return Duration.ZERO;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return Duration.ofNanos(sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))]);
+        }
+
+        public String summary() {
+            return String.format("%-14s peticiones=%7d rechazos=%6d errores=%6d (%.2f%%) throughput=%8.1f req/s " +
+                            "p50=%6.1f ms p99=%7.1f ms p99.9=%7.1f ms",
+                    name, requests(), rejected, errors, errorRate() * 100, throughput(),
+                    millis(percentile(50)), millis(percentile(99)), millis(percentile(99.9)));
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1_000_000.0;
+        }
+    }
+
+    public record Report(double ratePerSecond, Duration duration, Map<String, EndpointResult> endpoints) {
+
+        public long errors() {
+            return endpoints.values().stream().mapToLong(EndpointResult::errors).sum();
+        }
+
+        public long requests() {
+            return endpoints.values().stream().mapToLong(EndpointResult::requests).sum();
+        }
+
+        public double errorRate() {
+            return requests() == 0 ? 0 : (double) errors() / requests();
+        }
+
+        public String summary() {
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("Tasa objetivo=%.0f req/s duración=%ds peticiones=%d errores=%d (%.2f%%)",
+                    ratePerSecond, duration.toSeconds(), requests(), errors(), errorRate() * 100));
+            endpoints.values().forEach(result -> lines.add("  " + result.summary()));
+            return String.join(System.lineSeparator(), lines);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.juandidev.barberiaback.support;
+
+import com.juandidev.barberiaback.metrics.QueryCounter;
+import com.juandidev.barberiaback.metrics.QueryCounter.QueryStats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Presupuestos de consultas para tests de integración.
+ *
+ * Mide lo que Hibernate hace en el hilo actual mientras corre la acción; con MockMvc la petición
+ * completa (seguridad, servicio y serialización) se ejecuta en ese hilo:
+ *
+ * <pre>
+ * assertQueryCount(3, () -&gt; mockMvc.perform(get("/barbers")).andExpect(status().isOk()));
+ * </pre>
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    /**
+     * Ejecuta la acción y devuelve lo que ha costado en sentencias, entidades y colecciones.
+     */
+    public static QueryStats measure(ThrowingRunnable action) throws Exception {
+        QueryStats before = QueryCounter.current();
+        action.run();
+        return QueryCounter.current().since(before);
+    }
+
+    /**
+     * Falla si la acción ejecuta más de {@code maxStatements} sentencias SQL.
+     */
+    public static QueryStats assertQueryCount(int maxStatements, ThrowingRunnable action) throws Exception {
+        QueryStats stats = measure(action);
+        assertThat(stats.statements())
+                .as("Presupuesto de %d sentencias superado: %s", maxStatements, stats)
+                .isLessThanOrEqualTo(maxStatements);
+        return stats;
+    }
+
+    /**
+     * Falla si la acción inicializa alguna colección perezosa, el origen habitual de los N+1 al mapear a DTO.
+     */
+    public static QueryStats assertNoCollectionFetches(ThrowingRunnable action) throws Exception {
+        QueryStats stats = measure(action);
+        assertThat(stats.collectionsFetched())
+                .as("Colecciones inicializadas: %s", stats)
+                .isZero();
+        return stats;
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,153 @@
+package com.juandidev.barberiaback.support;
+
+import com.juandidev.barberiaback.model.Appointment;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.model.Barber;
+import com.juandidev.barberiaback.model.DayOfWeek;
+import com.juandidev.barberiaback.model.Service;
+import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.model.WorkSchedule;
+import com.juandidev.barberiaback.repository.AppointmentRepository;
+import com.juandidev.barberiaback.repository.BarberRepository;
+import com.juandidev.barberiaback.repository.ServiceRepository;
+import com.juandidev.barberiaback.repository.UserRepository;
+import com.juandidev.barberiaback.repository.WorkScheduleRepository;
+import org.springframework.context.ApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Barbería mínima para benchmarks contra la aplicación arrancada: barberos con horario de 9 a 18
+ * todos los días y un servicio de 30 minutos por barbero.
+ *
+ * También las piezas sueltas (usuarios, barberos, servicios y citas) de los tests de integración
+ * que comparten contexto y base de datos: los nombres de usuario llevan un sufijo aleatorio para
+ * no chocar entre clases, y cada test usa sus propias fechas o filtra por sus propios barberos.
+ */
+public final class ShopFixtures {
+
+    private ShopFixtures() {
+    }
+
+    /**
+     * Siembra {@code barbers} barberos y devuelve los IDs de sus usuarios.
+     */
+    public static List<Long> seedShop(ApplicationContext context, int barbers) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        BarberRepository barberRepository = context.getBean(BarberRepository.class);
+        ServiceRepository serviceRepository = context.getBean(ServiceRepository.class);
+        WorkScheduleRepository workScheduleRepository = context.getBean(WorkScheduleRepository.class);
+
+        List<Long> barberUserIds = new ArrayList<>();
+        for (int i = 0; i < barbers; i++) {
+            User user = userRepository.save(User.builder()
+                    .username("load_barber" + i)
+                    .email("load_barber" + i + "@barberia.com")
+                    .password("x")
+                    .firstName("Barbero")
+                    .lastName(String.valueOf(i))
+                    .role(User.Role.BARBER)
+                    .build());
+            barberRepository.save(Barber.builder()
+                    .user(user)
+                    .startTime(LocalTime.of(9, 0))
+                    .endTime(LocalTime.of(18, 0))
+                    .build());
+            for (DayOfWeek day : DayOfWeek.values()) {
+                workScheduleRepository.save(WorkSchedule.builder()
+                        .barber(user)
+                        .dayOfWeek(day)
+                        .startTime(LocalTime.of(9, 0))
+                        .endTime(LocalTime.of(18, 0))
+                        .build());
+            }
+            serviceRepository.save(Service.builder()
+                    .name("Servicio carga " + i)
+                    .duration(30)
+                    .price(20.0)
+                    .build());
+            barberUserIds.add(user.getId());
+        }
+        return barberUserIds;
+    }
+
+    /**
+     * Usuario con nombre y email únicos a partir de {@code prefix}; sin guardar, para poder
+     * ajustar nombre y apellidos.
+     */
+    public static User.UserBuilder user(String prefix, User.Role role) {
+        String username = prefix + "_" + UUID.randomUUID().toString().substring(0, 8);
+        return User.builder()
+                .username(username)
+                .email(username + "@barberia.com")
+                .password("x")
+                .firstName("Nombre")
+                .lastName(prefix)
+                .role(role);
+    }
+
+    public static User client(ApplicationContext context, String prefix) {
+        return context.getBean(UserRepository.class).save(user(prefix, User.Role.CLIENT).build());
+    }
+
+    public static Barber barber(ApplicationContext context, String prefix) {
+        return barber(context, user(prefix, User.Role.BARBER));
+    }
+
+    /**
+     * Guarda el usuario y su barbero, con jornada de 9 a 18.
+     */
+    public static Barber barber(ApplicationContext context, User.UserBuilder user) {
+        return context.getBean(BarberRepository.class).save(Barber.builder()
+                .user(context.getBean(UserRepository.class).save(user.role(User.Role.BARBER).build()))
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(18, 0))
+                .build());
+    }
+
+    /**
+     * Servicio de 30 minutos.
+     */
+    public static Service service(ApplicationContext context, String name, double price) {
+        return context.getBean(ServiceRepository.class).save(Service.builder()
+                .name(name)
+                .duration(30)
+                .price(price)
+                .build());
+    }
+
+    /**
+     * Cita de 30 minutos guardada directamente, sin las validaciones de la reserva.
+     */
+    public static Appointment book(ApplicationContext context, User client, Barber barber, Service service,
+                                   LocalDateTime startTime, AppointmentStatus status) {
+        return context.getBean(AppointmentRepository.class).save(Appointment.builder()
+                .client(client)
+                .barber(barber)
+                .service(service)
+                .startTime(startTime)
+                .endTime(startTime.plusMinutes(30))
+                .status(status)
+                .build());
+    }
+
+    /**
+     * Rutas públicas de lectura: listados y la disponibilidad de mañana de cada barbero.
+     */
+    public static List<String> publicReadPaths(List<Long> barberUserIds) {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+        List<String> paths = new ArrayList<>();
+        paths.add("/barbers");
+        paths.add("/services");
+        for (Long barberUserId : barberUserIds) {
+            paths.add("/availability/barber/" + barberUserId + "?date=" + tomorrow + "&duration=30");
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,196 @@
+package com.juandidev.barberiaback.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandidev.barberiaback.support.OpenLoopLoadDriver.NamedOperation;
+import com.juandidev.barberiaback.support.OpenLoopLoadDriver.Outcome;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+
+/**
+ * Mezcla de tráfico de una barbería sobre una {@link SyntheticShop}: inicio de sesión, consulta de
+ * disponibilidad, reserva, confirmación por el barbero y cancelación por el cliente.
+ *
+ * Los pesos se indican como {@code signin:10,availability:60,book:20,confirm:5,cancel:5}. Las
+ * reservas caen entre 8 y 35 días vista, fuera de las citas sembradas; las citas creadas pasan a
+ * una cola de la que salen las confirmaciones y cancelaciones (si está vacía se consulta
+ * disponibilidad en su lugar). Un 409 al reservar es un rechazo previsto, no un error.
+ */
+public final class ShopWorkload implements OpenLoopLoadDriver.Workload {
+
+    public static final String DEFAULT_MIX = "signin:10,availability:60,book:20,confirm:5,cancel:5";
+
+    private static final LocalTime OPENING = LocalTime.of(9, 0);
+    private static final int SLOTS_PER_DAY = 18;
+    private static final int SLOT_MINUTES = 30;
+
+    private final URI baseUri;
+    private final SyntheticShop shop;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Integer> weights;
+    private final int totalWeight;
+    private final List<Session> clients = new ArrayList<>();
+    private final List<String> barberTokens = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Booked> booked = new ConcurrentLinkedQueue<>();
+
+    private record Session(Long userId, String token) {
+    }
+
+    private record Booked(Long appointmentId, String clientToken, String barberToken) {
+    }
+
+    private ShopWorkload(URI baseUri, SyntheticShop shop, Map<String, Integer> weights) {
+        this.baseUri = baseUri;
+        this.shop = shop;
+        this.weights = weights;
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Inicia sesión con todos los barberos y con hasta {@code signedInClients} clientes para que
+     * las operaciones autenticadas no dependan del inicio de sesión medido.
+     */
+    public static ShopWorkload prepare(URI baseUri, SyntheticShop shop, String mix, int signedInClients)
+            throws IOException, InterruptedException {
+        ShopWorkload workload = new ShopWorkload(baseUri, shop, parseMix(mix));
+        for (String barber : shop.barberUsernames()) {
+            workload.barberTokens.add(workload.signin(barber).path("token").asText());
+        }
+        int clients = Math.min(signedInClients, shop.clientUsernames().size());
+        for (int i = 0; i < clients; i++) {
+            JsonNode response = workload.signin(shop.clientUsernames().get(i));
+            workload.clients.add(new Session(shop.clientIds().get(i), response.path("token").asText()));
+        }
+        return workload;
+    }
+
+    @Override
+    public NamedOperation next(Random random) {
+        int roll = random.nextInt(totalWeight);
+        String name = null;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                name = entry.getKey();
+                break;
+            }
+        }
+
+        int barber = random.nextInt(shop.barberIds().size());
+        int client = random.nextInt(clients.size());
+        int clientUsername = random.nextInt(shop.clientUsernames().size());
+        int service = random.nextInt(shop.serviceIds().size());
+        int daysAhead = random.nextInt(35);
+        int bookingDay = 8 + random.nextInt(28);
+        int slot = random.nextInt(SLOTS_PER_DAY);
+
+        return switch (name) {
+            case "signin" -> new NamedOperation(name, () -> signinOutcome(shop.clientUsernames().get(clientUsername)));
+            case "book" -> new NamedOperation(name, () -> book(clients.get(client), barber, service, bookingDay, slot));
+            case "confirm" -> pendingOrBrowse(name, barber, daysAhead, true);
+            case "cancel" -> pendingOrBrowse(name, barber, daysAhead, false);
+            default -> new NamedOperation("availability", () -> availability(barber, daysAhead));
+        };
+    }
+
+    private NamedOperation pendingOrBrowse(String name, int barber, int daysAhead, boolean confirm) {
+        Booked appointment = booked.poll();
+        if (appointment == null) {
+            return new NamedOperation("availability", () -> availability(barber, daysAhead));
+        }
+        String action = confirm ? "confirm" : "cancel";
+        String token = confirm ? appointment.barberToken() : appointment.clientToken();
+        return new NamedOperation(name, () -> status(send(HttpRequest.newBuilder(
+                        baseUri.resolve("/appointments/" + appointment.appointmentId() + "/" + action))
+                .header("Authorization", "Bearer " + token)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())), 204));
+    }
+
+    private Outcome availability(int barber, int daysAhead) throws IOException, InterruptedException {
+        LocalDate date = LocalDate.now().plusDays(daysAhead);
+        return status(send(HttpRequest.newBuilder(baseUri.resolve(
+                "/availability/barber/" + shop.barberUserIds().get(barber) + "?date=" + date + "&duration=" + SLOT_MINUTES))
+                .GET()), 200);
+    }
+
+    private Outcome book(Session client, int barber, int service, int daysAhead, int slot)
+            throws IOException, InterruptedException {
+        LocalDateTime start = LocalDate.now().plusDays(daysAhead).atTime(OPENING).plusMinutes((long) SLOT_MINUTES * slot);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("clientId", client.userId());
+        body.put("barberId", shop.barberIds().get(barber));
+        body.put("serviceId", shop.serviceIds().get(service));
+        body.put("startTime", start.toString());
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(baseUri.resolve("/appointments"))
+                .header("Authorization", "Bearer " + client.token())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))));
+
+        if (response.statusCode() == 201) {
+            Long id = objectMapper.readTree(response.body()).path("id").asLong();
+            booked.add(new Booked(id, client.token(), barberTokens.get(barber)));
+            return Outcome.OK;
+        }
+        return response.statusCode() == 409 ? Outcome.REJECTED : Outcome.ERROR;
+    }
+
+    private Outcome signinOutcome(String username) throws IOException, InterruptedException {
+        return status(send(signinRequest(username)), 200);
+    }
+
+    private JsonNode signin(String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(signinRequest(username));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("No se pudo iniciar sesión con " + username + ": " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest.Builder signinRequest(String username) throws IOException {
+        String body = objectMapper.writeValueAsString(Map.of("username", username, "password", SyntheticShop.PASSWORD));
+        return HttpRequest.newBuilder(baseUri.resolve("/auth/signin"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Outcome status(HttpResponse<String> response, int expected) {
+        return response.statusCode() == expected ? Outcome.OK : Outcome.ERROR;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mezcla sin peso: " + mix);
+        }
+        return weights;
+    }
+}
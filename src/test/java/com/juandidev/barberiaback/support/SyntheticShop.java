@@ -0,0 +1,240 @@
+package com.juandidev.barberiaback.support;
+
+import com.juandidev.barberiaback.model.Appointment;
+import com.juandidev.barberiaback.model.AppointmentStatus;
+import com.juandidev.barberiaback.model.Barber;
+import com.juandidev.barberiaback.model.DayOfWeek;
+import com.juandidev.barberiaback.model.Service;
+import com.juandidev.barberiaback.model.User;
+import com.juandidev.barberiaback.model.WorkSchedule;
+import com.juandidev.barberiaback.repository.BarberRepository;
+import com.juandidev.barberiaback.repository.ServiceRepository;
+import com.juandidev.barberiaback.repository.UserRepository;
+import com.juandidev.barberiaback.repository.WorkScheduleRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Barbería sintética para pruebas de carga: N barberos con horario semanal de 9 a 18, M servicios,
+ * K clientes y un año de citas (las 51 semanas anteriores y la siguiente) en una rejilla de 30
+ * minutos con la ocupación indicada. Las citas pasadas quedan COMPLETED o CANCELLED y las futuras
+ * PENDING o CONFIRMED, sin solapes por barbero.
+ *
+ * Las citas se insertan con el EntityManager por bloques, así que conviene arrancar la aplicación
+ * con {@code hibernate.jdbc.batch_size} y {@code hibernate.order_inserts}. Todos los usuarios
+ * comparten la contraseña {@link #PASSWORD}.
+ */
+public final class SyntheticShop {
+
+    public static final String PASSWORD = "load-password";
+
+    private static final LocalTime OPENING = LocalTime.of(9, 0);
+    private static final LocalTime CLOSING = LocalTime.of(18, 0);
+    private static final int SLOT_MINUTES = 30;
+    private static final int CHUNK_SIZE = 1_000;
+
+    private final List<Long> barberIds = new ArrayList<>();
+    private final List<Long> barberUserIds = new ArrayList<>();
+    private final List<String> barberUsernames = new ArrayList<>();
+    private final List<Long> serviceIds = new ArrayList<>();
+    private final List<Long> clientIds = new ArrayList<>();
+    private final List<String> clientUsernames = new ArrayList<>();
+    private long appointments;
+
+    private SyntheticShop() {
+    }
+
+    /**
+     * Tamaño de la barbería. {@link #fromSystemProperties()} lo lee de {@code -Dload.barbers},
+     * {@code -Dload.services}, {@code -Dload.clients}, {@code -Dload.occupancy} y {@code -Dload.seed}.
+     */
+    public record Spec(int barbers, int services, int clients, double occupancy, long seed) {
+
+        public static Spec fromSystemProperties() {
+            return new Spec(
+                    Integer.getInteger("load.barbers", 10),
+                    Integer.getInteger("load.services", 5),
+                    Integer.getInteger("load.clients", 500),
+                    Double.parseDouble(System.getProperty("load.occupancy", "0.6")),
+                    Long.getLong("load.seed", 42L));
+        }
+    }
+
+    public static SyntheticShop seed(ApplicationContext context, Spec spec) {
+        SyntheticShop shop = new SyntheticShop();
+        shop.seedCatalog(context, spec);
+        shop.seedAppointments(context, spec);
+        return shop;
+    }
+
+    private void seedCatalog(ApplicationContext context, Spec spec) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        BarberRepository barberRepository = context.getBean(BarberRepository.class);
+        ServiceRepository serviceRepository = context.getBean(ServiceRepository.class);
+        WorkScheduleRepository workScheduleRepository = context.getBean(WorkScheduleRepository.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        for (int i = 0; i < spec.barbers(); i++) {
+            User user = userRepository.save(user("shop_barber" + i, passwordHash, User.Role.BARBER));
+            Barber barber = barberRepository.save(Barber.builder()
+                    .user(user)
+                    .startTime(OPENING)
+                    .endTime(CLOSING)
+                    .build());
+            List<WorkSchedule> week = new ArrayList<>();
+            for (DayOfWeek day : DayOfWeek.values()) {
+                week.add(WorkSchedule.builder()
+                        .barber(user)
+                        .dayOfWeek(day)
+                        .startTime(OPENING)
+                        .endTime(CLOSING)
+                        .build());
+            }
+            workScheduleRepository.saveAll(week);
+            barberIds.add(barber.getId());
+            barberUserIds.add(user.getId());
+            barberUsernames.add(user.getUsername());
+        }
+
+        for (int i = 0; i < spec.services(); i++) {
+            Service service = serviceRepository.save(Service.builder()
+                    .name("Servicio sintético " + i)
+                    .duration(SLOT_MINUTES)
+                    .price(15.0 + i)
+                    .build());
+            serviceIds.add(service.getId());
+        }
+
+        List<User> clients = new ArrayList<>(spec.clients());
+        for (int i = 0; i < spec.clients(); i++) {
+            clients.add(user("shop_client" + i, passwordHash, User.Role.CLIENT));
+        }
+        for (User client : userRepository.saveAll(clients)) {
+            clientIds.add(client.getId());
+            clientUsernames.add(client.getUsername());
+        }
+    }
+
+    private void seedAppointments(ApplicationContext context, Spec spec) {
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        Random random = new Random(spec.seed());
+
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusWeeks(51);
+        LocalDate to = today.plusWeeks(1);
+        int slotsPerDay = (int) (Duration.between(OPENING, CLOSING).toMinutes() / SLOT_MINUTES);
+
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int b = 0; b < barberIds.size(); b++) {
+            Long barberId = barberIds.get(b);
+            for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+                for (int slot = 0; slot < slotsPerDay; slot++) {
+                    if (random.nextDouble() >= spec.occupancy()) {
+                        continue;
+                    }
+                    LocalDateTime start = day.atTime(OPENING).plusMinutes((long) SLOT_MINUTES * slot);
+                    boolean past = start.isBefore(LocalDateTime.now());
+                    chunk.add(new Row(pick(clientIds, random), barberId, pick(serviceIds, random),
+                            start, status(past, random)));
+                    if (chunk.size() == CHUNK_SIZE) {
+                        persist(transactionTemplate, entityManager, chunk);
+                    }
+                }
+            }
+        }
+        persist(transactionTemplate, entityManager, chunk);
+    }
+
+    private void persist(TransactionTemplate transactionTemplate, EntityManager entityManager, List<Row> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // Las referencias se piden dentro de la transacción para que pertenezcan a su sesión
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Row row : chunk) {
+                entityManager.persist(Appointment.builder()
+                        .client(entityManager.getReference(User.class, row.clientId()))
+                        .barber(entityManager.getReference(Barber.class, row.barberId()))
+                        .service(entityManager.getReference(Service.class, row.serviceId()))
+                        .startTime(row.start())
+                        .endTime(row.start().plusMinutes(SLOT_MINUTES))
+                        .status(row.status())
+                        .totalPrice(20.0)
+                        .build());
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        appointments += chunk.size();
+        chunk.clear();
+    }
+
+    private record Row(Long clientId, Long barberId, Long serviceId, LocalDateTime start, AppointmentStatus status) {
+    }
+
+    private static AppointmentStatus status(boolean past, Random random) {
+        if (past) {
+            return random.nextInt(10) == 0 ? AppointmentStatus.CANCELLED : AppointmentStatus.COMPLETED;
+        }
+        return random.nextBoolean() ? AppointmentStatus.CONFIRMED : AppointmentStatus.PENDING;
+    }
+
+    private static Long pick(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static User user(String username, String passwordHash, User.Role role) {
+        return User.builder()
+                .username(username)
+                .email(username + "@barberia.com")
+                .password(passwordHash)
+                .firstName("Carga")
+                .lastName(username)
+                .role(role)
+                .build();
+    }
+
+    public List<Long> barberIds() {
+        return barberIds;
+    }
+
+    public List<Long> barberUserIds() {
+        return barberUserIds;
+    }
+
+    public List<String> barberUsernames() {
+        return barberUsernames;
+    }
+
+    public List<Long> serviceIds() {
+        return serviceIds;
+    }
+
+    public List<Long> clientIds() {
+        return clientIds;
+    }
+
+    public List<String> clientUsernames() {
+        return clientUsernames;
+    }
+
+    public long appointments() {
+        return appointments;
+    }
+
+    public String summary() {
+        return String.format("barberos=%d servicios=%d clientes=%d citas=%d",
+                barberIds.size(), serviceIds.size(), clientIds.size(), appointments);
+    }
+}